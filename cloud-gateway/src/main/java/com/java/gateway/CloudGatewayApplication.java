@@ -1,15 +1,43 @@
 package com.java.gateway;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.java.gateway.loadbalancer.PeakEwmaLoadBalancerConfiguration;
 
 @SpringBootApplication
 @EnableEurekaClient
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
 public class CloudGatewayApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(CloudGatewayApplication.class, args);
 	}
 
+	/**
+	 * WebClient Builder Bean Configuration
+	 * 
+	 * Load-balanced WebClient.Builder for calls the gateway makes itself
+	 * (response cache revalidation), so http://order-service/... is resolved
+	 * through Eureka and the peak EWMA load balancer like routed requests.
+	 * Spring Boot's WebClient customizers are applied for tracing and codecs.
+	 * 
+	 * @param customizers Spring Boot WebClient customizers (tracing, codecs)
+	 * @return WebClient.Builder with load balancing capability
+	 */
+	@Bean
+	@LoadBalanced  // Enable client-side load balancing
+	public WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+		WebClient.Builder builder = WebClient.builder();
+		customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+		return builder;
+	}
+
 }
\ No newline at end of file
@@ -2,14 +2,21 @@ package com.java.gateway;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Fallback Controller - Circuit Breaker Fallback Endpoints
@@ -18,6 +25,8 @@ import java.util.Map;
  * are unavailable or experiencing issues. It's part of the resilience
  * pattern implementation using Circuit Breaker.
  * 
+ * Metrics: gateway.fallback.invocations{service, reason=circuit-open|timeout|error}
+ * 
  * @author Learning Project
  * @version 1.0
  */
@@ -26,9 +35,16 @@ public class FallbackController {
 
     private static final Logger logger = LoggerFactory.getLogger(FallbackController.class);
 
+    private final MeterRegistry meterRegistry;
+
+    public FallbackController(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @GetMapping("/fallback/order")
-    public ResponseEntity<Map<String, Object>> orderFallback() {
-        logger.warn("Order service fallback activated");
+    public ResponseEntity<Map<String, Object>> orderFallback(ServerWebExchange exchange) {
+        String reason = record("order-service", exchange);
+        logger.warn("Order service fallback activated ({})", reason);
         
         Map<String, Object> response = new HashMap<>();
         response.put("service", "order-service");
@@ -40,8 +56,9 @@ public class FallbackController {
     }
 
     @GetMapping("/fallback/payment")
-    public ResponseEntity<Map<String, Object>> paymentFallback() {
-        logger.warn("Payment service fallback activated");
+    public ResponseEntity<Map<String, Object>> paymentFallback(ServerWebExchange exchange) {
+        String reason = record("payment-service", exchange);
+        logger.warn("Payment service fallback activated ({})", reason);
         
         Map<String, Object> response = new HashMap<>();
         response.put("service", "payment-service");
@@ -51,4 +68,21 @@ public class FallbackController {
         
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts the fallback by service and by why the circuit breaker gave up
+     * on the call (the CircuitBreaker filter passes the exception along).
+     */
+    private String record(String service, ServerWebExchange exchange) {
+        Throwable error = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        String reason = error instanceof CallNotPermittedException ? "circuit-open"
+                : error instanceof TimeoutException ? "timeout"
+                : "error";
+        Counter.builder("gateway.fallback.invocations")
+                .description("Circuit breaker fallback responses")
+                .tags("service", service, "reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return reason;
+    }
+}
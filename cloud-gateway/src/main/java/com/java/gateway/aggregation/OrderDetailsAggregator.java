@@ -0,0 +1,170 @@
+package com.java.gateway.aggregation;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Order Details Aggregator - One document for the order page
+ *
+ * Calls order-service (GET /order/{id}) and payment-service
+ * (GET /payment/by-order/{orderId}) at the same time and merges the two
+ * answers, so the client pays one round-trip through the gateway and the
+ * latency of the slower call instead of both.
+ *
+ * Each call has its own timeout and runs through the same circuit breaker
+ * as the service's route (order-service, payment-service). A call that
+ * fails, times out or finds its breaker open is reported in "parts" and
+ * left null; the document is then marked partial:
+ * - 200: order found (payments may be missing)
+ * - 404: order not found
+ * - 503: neither service answered
+ *
+ * Metrics: gateway.order-details.requests{result}, gateway.order-details.parts{part, outcome}
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class OrderDetailsAggregator {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderDetailsAggregator.class);
+
+	private final WebClient webClient;
+
+	private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+	private final OrderDetailsProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	public OrderDetailsAggregator(WebClient webClient, ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+			OrderDetailsProperties properties, MeterRegistry meterRegistry) {
+		this.webClient = webClient;
+		this.circuitBreakerFactory = circuitBreakerFactory;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Order and its payments, fetched in parallel
+	 *
+	 * @param orderId Order ID
+	 * @return Merged document with the outcome of each part
+	 */
+	public Mono<ResponseEntity<Map<String, Object>>> getOrderDetails(Long orderId) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Mono<Part> order = fetch("order", "order-service",
+				properties.getOrderServiceUri() + "/order/{id}", orderId, properties.getOrderTimeout());
+		Mono<Part> payments = fetch("payments", "payment-service",
+				properties.getPaymentServiceUri() + "/payment/by-order/{orderId}", orderId,
+				properties.getPaymentsTimeout());
+
+		return Mono.zip(order, payments).map(parts -> {
+			Part orderPart = parts.getT1();
+			Part paymentsPart = parts.getT2();
+
+			Map<String, Object> outcomes = new LinkedHashMap<>();
+			outcomes.put(orderPart.name(), orderPart.outcome());
+			outcomes.put(paymentsPart.name(), paymentsPart.outcome());
+
+			Map<String, Object> details = new LinkedHashMap<>();
+			details.put("orderId", String.valueOf(orderId));  // A string like the services' IDs (too large for JavaScript numbers)
+			details.put("order", orderPart.body());
+			details.put("payments", paymentsPart.body());
+			details.put("partial", !orderPart.answered() || !paymentsPart.answered());
+			details.put("parts", outcomes);
+
+			String result;
+			HttpStatus status;
+			if (!orderPart.answered() && !paymentsPart.answered()) {
+				result = "failed";
+				status = HttpStatus.SERVICE_UNAVAILABLE;
+			}
+			else if (Part.NOT_FOUND.equals(orderPart.outcome())) {
+				result = "not-found";
+				status = HttpStatus.NOT_FOUND;
+			}
+			else {
+				result = orderPart.answered() && paymentsPart.answered() ? "complete" : "partial";
+				status = HttpStatus.OK;
+			}
+			sample.stop(Timer.builder("gateway.order-details.requests")
+					.description("Order details aggregation latency")
+					.tag("result", result)
+					.register(meterRegistry));
+			return ResponseEntity.status(status).body(details);
+		});
+	}
+
+	/**
+	 * One part of the document; never fails, the outcome says what happened.
+	 */
+	private Mono<Part> fetch(String name, String circuitBreaker, String uri, Long orderId, Duration timeout) {
+		Mono<Part> call = webClient.get()
+				.uri(uri, orderId)
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				// order-service answers an unknown id with an empty body
+				.onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.empty())
+				.map(body -> new Part(name, body, Part.OK))
+				.defaultIfEmpty(new Part(name, null, Part.NOT_FOUND))
+				.timeout(timeout);
+
+		return circuitBreakerFactory.create(circuitBreaker)
+				.run(call, error -> {
+					String outcome = outcome(error);
+					logger.warn("Order details: {} unavailable for order {} ({})", name, orderId, outcome);
+					return Mono.just(new Part(name, null, outcome));
+				})
+				.doOnNext(part -> Counter.builder("gateway.order-details.parts")
+						.description("Order details parts by outcome")
+						.tags("part", name, "outcome", part.outcome())
+						.register(meterRegistry)
+						.increment());
+	}
+
+	private static String outcome(Throwable error) {
+		if (error instanceof CallNotPermittedException) {
+			return "circuit-open";
+		}
+		if (error instanceof TimeoutException) {
+			return "timeout";
+		}
+		if (error instanceof WebClientResponseException response) {
+			return "http-" + response.getStatusCode().value();
+		}
+		return "error";
+	}
+
+	/**
+	 * Answer of one service call
+	 */
+	private record Part(String name, JsonNode body, String outcome) {
+
+		static final String OK = "ok";
+
+		static final String NOT_FOUND = "not-found";
+
+		// The service answered (found or not); otherwise the part is missing
+		boolean answered() {
+			return OK.equals(outcome) || NOT_FOUND.equals(outcome);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.java.gateway.aggregation;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Order Details Configuration - Aggregation of order and payment lookups
+ *
+ * The aggregator calls the services through the load-balanced
+ * WebClient.Builder, so instances are picked by the peak EWMA load balancer
+ * like routed requests and trace headers are passed on.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(OrderDetailsProperties.class)
+public class OrderDetailsConfiguration {
+
+	@Bean
+	public OrderDetailsAggregator orderDetailsAggregator(WebClient.Builder webClientBuilder,
+			ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory, OrderDetailsProperties properties,
+			MeterRegistry meterRegistry) {
+		return new OrderDetailsAggregator(webClientBuilder.build(), circuitBreakerFactory, properties, meterRegistry);
+	}
+}
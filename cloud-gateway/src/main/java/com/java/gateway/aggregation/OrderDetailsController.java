@@ -0,0 +1,42 @@
+package com.java.gateway.aggregation;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Order Details Controller - Aggregated order page data
+ *
+ * Served by the gateway itself (not routed): controller mappings are
+ * matched before gateway routes.
+ *
+ * Endpoint: GET /api/order-details/{id}
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@RestController
+public class OrderDetailsController {
+
+	private final OrderDetailsAggregator aggregator;
+
+	public OrderDetailsController(OrderDetailsAggregator aggregator) {
+		this.aggregator = aggregator;
+	}
+
+	/**
+	 * Get Order Details
+	 *
+	 * @param id Order ID
+	 * @return Order and its payments in one document, partial if a service did not answer
+	 */
+	@GetMapping("/api/order-details/{id}")
+	public Mono<ResponseEntity<Map<String, Object>>> getOrderDetails(@PathVariable Long id) {
+		return aggregator.getOrderDetails(id);
+	}
+}
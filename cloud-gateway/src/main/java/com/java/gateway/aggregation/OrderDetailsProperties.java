@@ -0,0 +1,62 @@
+package com.java.gateway.aggregation;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Order Details Properties - Fan-out settings of /api/order-details
+ *
+ * Bound from the "gateway.order-details" prefix. Each part of the merged
+ * document has its own timeout; a part that does not answer in time is left
+ * out and the rest is returned.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "gateway.order-details")
+public class OrderDetailsProperties {
+
+	// Base URLs, resolved through Eureka by the load-balanced WebClient
+	private String orderServiceUri = "http://order-service";
+
+	private String paymentServiceUri = "http://payment-service";
+
+	// Max wait for GET /order/{id}; the circuit breaker's time limiter (1s by default) also applies
+	private Duration orderTimeout = Duration.ofSeconds(1);
+
+	// Max wait for GET /payment/by-order/{orderId}
+	private Duration paymentsTimeout = Duration.ofSeconds(1);
+
+	public String getOrderServiceUri() {
+		return orderServiceUri;
+	}
+
+	public void setOrderServiceUri(String orderServiceUri) {
+		this.orderServiceUri = orderServiceUri;
+	}
+
+	public String getPaymentServiceUri() {
+		return paymentServiceUri;
+	}
+
+	public void setPaymentServiceUri(String paymentServiceUri) {
+		this.paymentServiceUri = paymentServiceUri;
+	}
+
+	public Duration getOrderTimeout() {
+		return orderTimeout;
+	}
+
+	public void setOrderTimeout(Duration orderTimeout) {
+		this.orderTimeout = orderTimeout;
+	}
+
+	public Duration getPaymentsTimeout() {
+		return paymentsTimeout;
+	}
+
+	public void setPaymentsTimeout(Duration paymentsTimeout) {
+		this.paymentsTimeout = paymentsTimeout;
+	}
+}
@@ -0,0 +1,43 @@
+package com.java.gateway.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Response Cache Configuration - Gateway response cache beans
+ *
+ * Registers the ResponseCacheFilter as a global filter unless
+ * gateway.response-cache.enabled is false. Background revalidation uses
+ * the load-balanced WebClient.Builder, so lb:// routes are resolved
+ * through Eureka like the proxied requests.
+ *
+ * Metrics: gateway.cache.size (cached responses)
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "gateway.response-cache", name = "enabled", matchIfMissing = true)
+public class ResponseCacheConfiguration {
+
+	@Bean
+	public ResponseCacheFilter responseCacheFilter(ResponseCacheProperties properties,
+			WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+		return new ResponseCacheFilter(properties, webClientBuilder.build(), meterRegistry);
+	}
+
+	@Bean
+	public MeterBinder responseCacheMetrics(ResponseCacheFilter responseCacheFilter) {
+		return registry -> Gauge.builder("gateway.cache.size", responseCacheFilter, ResponseCacheFilter::size)
+				.description("Responses held in the gateway response cache")
+				.register(registry);
+	}
+}
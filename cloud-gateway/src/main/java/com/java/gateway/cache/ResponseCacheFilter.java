@@ -0,0 +1,375 @@
+package com.java.gateway.cache;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.java.gateway.coalescing.RequestCoalescingFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response Cache Filter - Route-aware cache for GET responses
+ *
+ * Runs for every routed request, just before the response is written
+ * (NettyWriteResponseFilter), so it sees both the service's response and
+ * the circuit breaker's fallback response. It runs ahead of request
+ * coalescing: a cache hit never waits for an in-flight call. Only GET requests on the routes
+ * and paths configured under gateway.response-cache are cached, and only
+ * 200 responses up to max-body-size.
+ *
+ * For a cached request:
+ * - fresh entry: answered from the cache (X-Cache: HIT)
+ * - stale entry within stale-while-revalidate: answered from the cache
+ *   (X-Cache: STALE); one background request per entry refreshes it
+ * - otherwise the request goes to the service (X-Cache: MISS). If the
+ *   service fails (5xx, circuit breaker fallback, connection error) and the
+ *   entry is within stale-if-error, the stale entry is returned instead
+ *   (X-Cache: STALE-IF-ERROR)
+ *
+ * Every cached response carries an ETag (MD5 of the body, as in Spring's
+ * ShallowEtagHeaderFilter) and an Age header. A matching If-None-Match
+ * is answered with 304 Not Modified and no body. A request with
+ * "Cache-Control: no-cache" always goes to the service.
+ *
+ * Background revalidation calls the service through the load-balanced
+ * WebClient with the request path as received, so it is only done for
+ * lb:// routes without path rewriting filters.
+ *
+ * Metrics: gateway.cache.requests{route, result=hit|stale|miss|stale-if-error|bypass}
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+	// Just before the response body is written, ahead of request coalescing so cache hits never wait
+	public static final int ORDER = RequestCoalescingFilter.ORDER - 1;
+
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+	private final Map<String, RoutePolicy> policies;
+
+	private final Cache<String, CachedResponse> cache;
+
+	private final WebClient webClient;
+
+	private final Duration revalidateTimeout;
+
+	private final long maxBodySize;
+
+	private final MeterRegistry meterRegistry;
+
+	private final LongSupplier nanoClock;
+
+	// Keys with a background revalidation in flight
+	private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+	public ResponseCacheFilter(ResponseCacheProperties properties, WebClient webClient, MeterRegistry meterRegistry) {
+		this(properties, webClient, meterRegistry, System::nanoTime);
+	}
+
+	ResponseCacheFilter(ResponseCacheProperties properties, WebClient webClient, MeterRegistry meterRegistry,
+			LongSupplier nanoClock) {
+		this.policies = properties.getRoutes().entrySet().stream()
+				.collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+						route -> RoutePolicy.of(route.getKey(), route.getValue())));
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxEntries())
+				.expireAfter(new RetentionExpiry())
+				.build();
+		this.webClient = webClient;
+		this.revalidateTimeout = properties.getRevalidateTimeout();
+		this.maxBodySize = properties.getMaxBodySize().toBytes();
+		this.meterRegistry = meterRegistry;
+		this.nanoClock = nanoClock;
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!HttpMethod.GET.equals(request.getMethod()) || route == null) {
+			return chain.filter(exchange);
+		}
+		RoutePolicy policy = policies.get(route.getId());
+		if (policy == null || !policy.matches(request)) {
+			return chain.filter(exchange);
+		}
+
+		String key = route.getId() + ":" + request.getURI().getRawPath()
+				+ (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+		long now = nanoClock.getAsLong();
+		CachedResponse cached = cache.getIfPresent(key);
+		long age = cached != null ? now - cached.storedAt() : Long.MAX_VALUE;
+
+		if (cached != null && !isNoCache(request)) {
+			if (age < policy.ttlNanos()) {
+				count(policy, "hit");
+				return write(exchange.getResponse(), request, cached, "HIT", now);
+			}
+			if (age < policy.ttlNanos() + policy.staleWhileRevalidateNanos() && isRevalidatable(route)) {
+				count(policy, "stale");
+				revalidate(key, route, request, policy);
+				return write(exchange.getResponse(), request, cached, "STALE", now);
+			}
+		}
+		count(policy, isNoCache(request) ? "bypass" : "miss");
+
+		CachedResponse fallback = age < policy.ttlNanos() + policy.staleIfErrorNanos() ? cached : null;
+		ServerHttpResponse response = exchange.getResponse();
+		CachingResponse caching = new CachingResponse(response, request, key, policy, fallback, now);
+		return chain.filter(exchange.mutate().response(caching).build())
+				.onErrorResume(error -> {
+					if (fallback == null || response.isCommitted()) {
+						return Mono.error(error);
+					}
+					logger.warn("Serving stale {} after error: {}", key, error.toString());
+					count(policy, "stale-if-error");
+					return write(response, request, fallback, "STALE-IF-ERROR", nanoClock.getAsLong());
+				});
+	}
+
+	/**
+	 * Number of cached responses (approximate).
+	 */
+	public long size() {
+		return cache.estimatedSize();
+	}
+
+	private Mono<Void> write(ServerHttpResponse response, ServerHttpRequest request, CachedResponse cached,
+			String cacheStatus, long now) {
+		HttpHeaders headers = response.getHeaders();
+		headers.remove(HttpHeaders.TRANSFER_ENCODING);
+		headers.setETag(cached.etag());
+		headers.set(HttpHeaders.AGE, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(Math.max(0, now - cached.storedAt()))));
+		headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+		if (isNotModified(request, cached.etag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			headers.remove(HttpHeaders.CONTENT_LENGTH);
+			return response.setComplete();
+		}
+		response.setStatusCode(HttpStatus.OK);
+		if (cached.contentType() != null) {
+			headers.setContentType(cached.contentType());
+		}
+		headers.setContentLength(cached.body().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+	}
+
+	private void revalidate(String key, Route route, ServerHttpRequest request, RoutePolicy policy) {
+		if (!revalidating.add(key)) {
+			return;
+		}
+		URI uri = UriComponentsBuilder.fromUri(request.getURI())
+				.scheme("http")
+				.host(route.getUri().getHost())
+				.port(-1)
+				.build(true)
+				.toUri();
+		webClient.get()
+				.uri(uri)
+				.headers(headers -> headers.setAccept(request.getHeaders().getAccept()))
+				.exchangeToMono(response -> response.statusCode().value() == HttpStatus.OK.value()
+						? response.bodyToMono(byte[].class)
+								.defaultIfEmpty(new byte[0])
+								.map(body -> new CachedResponse(body, response.headers().contentType().orElse(null),
+										etag(body), nanoClock.getAsLong(), policy.retentionNanos()))
+						: response.releaseBody().then(Mono.empty()))
+				.timeout(revalidateTimeout)
+				.doFinally(signal -> revalidating.remove(key))
+				.subscribe(
+						refreshed -> cache.put(key, refreshed),
+						error -> logger.debug("Revalidation of {} failed: {}", key, error.toString()));
+	}
+
+	private void count(RoutePolicy policy, String result) {
+		Counter.builder("gateway.cache.requests")
+				.description("Cacheable GET requests by cache result")
+				.tags("route", policy.routeId(), "result", result)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	private static boolean isRevalidatable(Route route) {
+		return "lb".equals(route.getUri().getScheme());
+	}
+
+	private static boolean isNoCache(ServerHttpRequest request) {
+		String cacheControl = request.getHeaders().getCacheControl();
+		return cacheControl != null && cacheControl.contains("no-cache");
+	}
+
+	private static boolean isNoStore(HttpHeaders headers) {
+		String cacheControl = headers.getCacheControl();
+		return cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("private"));
+	}
+
+	private static boolean isNotModified(ServerHttpRequest request, String etag) {
+		for (String candidate : request.getHeaders().getIfNoneMatch()) {
+			if ("*".equals(candidate) || etag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String etag(byte[] body) {
+		return "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+	}
+
+	/**
+	 * Captures 200 responses into the cache and swaps a failed response for
+	 * the stale entry (stale-if-error).
+	 */
+	private class CachingResponse extends ServerHttpResponseDecorator {
+
+		private final ServerHttpRequest request;
+
+		private final String key;
+
+		private final RoutePolicy policy;
+
+		private final CachedResponse fallback;
+
+		private final long now;
+
+		CachingResponse(ServerHttpResponse delegate, ServerHttpRequest request, String key, RoutePolicy policy,
+				CachedResponse fallback, long now) {
+			super(delegate);
+			this.request = request;
+			this.key = key;
+			this.policy = policy;
+			this.fallback = fallback;
+			this.now = now;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpStatusCode status = getStatusCode();
+			if (fallback != null && status != null && status.is5xxServerError()) {
+				logger.warn("Serving stale {} instead of {}", key, status.value());
+				count(policy, "stale-if-error");
+				return Flux.from(body)
+						.doOnNext(DataBufferUtils::release)
+						.then(Mono.defer(() -> write(getDelegate(), request, fallback, "STALE-IF-ERROR",
+								nanoClock.getAsLong())));
+			}
+			if ((status != null && status.value() != HttpStatus.OK.value()) || isNoStore(getHeaders())) {
+				return super.writeWith(body);
+			}
+
+			return DataBufferUtils.join(body)
+					.defaultIfEmpty(bufferFactory().wrap(new byte[0]))
+					.flatMap(buffer -> {
+						byte[] bytes = new byte[buffer.readableByteCount()];
+						buffer.read(bytes);
+						DataBufferUtils.release(buffer);
+						CachedResponse response = new CachedResponse(bytes, getHeaders().getContentType(),
+								etag(bytes), now, policy.retentionNanos());
+						if (bytes.length <= maxBodySize) {
+							cache.put(key, response);
+						}
+						return write(getDelegate(), request, response, "MISS", now);
+					});
+		}
+	}
+
+	/**
+	 * Cached 200 response
+	 *
+	 * @param storedAt nanoTime when the response was received
+	 * @param retentionNanos how long the entry is kept (ttl + the longer stale window)
+	 */
+	record CachedResponse(byte[] body, MediaType contentType, String etag, long storedAt, long retentionNanos) {
+	}
+
+	/**
+	 * Cache policy of one route, with the path patterns parsed
+	 */
+	record RoutePolicy(String routeId, List<PathPattern> paths, long ttlNanos, long staleWhileRevalidateNanos,
+			long staleIfErrorNanos) {
+
+		static RoutePolicy of(String routeId, ResponseCacheProperties.Route route) {
+			return new RoutePolicy(routeId,
+					route.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+					route.getTtl().toNanos(),
+					route.getStaleWhileRevalidate().toNanos(),
+					route.getStaleIfError().toNanos());
+		}
+
+		boolean matches(ServerHttpRequest request) {
+			return paths.stream().anyMatch(path -> path.matches(request.getPath().pathWithinApplication()));
+		}
+
+		long retentionNanos() {
+			return ttlNanos + Math.max(staleWhileRevalidateNanos, staleIfErrorNanos);
+		}
+	}
+
+	/**
+	 * Keeps each entry for its route's retention, counted from when it was stored.
+	 */
+	private static class RetentionExpiry implements Expiry<String, CachedResponse> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+			return value.retentionNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+			return value.retentionNanos();
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
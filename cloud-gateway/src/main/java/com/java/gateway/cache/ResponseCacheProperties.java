@@ -0,0 +1,144 @@
+package com.java.gateway.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Response Cache Properties - Gateway-level cache for GET responses
+ *
+ * Bound from the "gateway.response-cache" prefix. Only routes listed under
+ * "routes" (by route id) are cached, and only GET requests whose path
+ * matches one of the route's patterns.
+ *
+ * Per route, an entry is:
+ * - fresh for ttl: served from the cache without calling the service
+ * - then stale for stale-while-revalidate: served from the cache while
+ *   one background request refreshes it
+ * - then, up to stale-if-error after ttl, served only when the service
+ *   fails (5xx, or the circuit breaker is open)
+ *
+ * Example:
+ * gateway:
+ *   response-cache:
+ *     routes:
+ *       payment-service:
+ *         paths: /payment/{id:[0-9]+}
+ *         ttl: 10m
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+	// Turn the cache off (every request goes to the service)
+	private boolean enabled = true;
+
+	// Responses held at most, across all routes
+	private int maxEntries = 10_000;
+
+	// Larger responses are passed through without being cached
+	private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+	// Time a background revalidation waits for the service
+	private Duration revalidateTimeout = Duration.ofSeconds(5);
+
+	// Route id -> cache policy
+	private Map<String, Route> routes = new LinkedHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public DataSize getMaxBodySize() {
+		return maxBodySize;
+	}
+
+	public void setMaxBodySize(DataSize maxBodySize) {
+		this.maxBodySize = maxBodySize;
+	}
+
+	public Duration getRevalidateTimeout() {
+		return revalidateTimeout;
+	}
+
+	public void setRevalidateTimeout(Duration revalidateTimeout) {
+		this.revalidateTimeout = revalidateTimeout;
+	}
+
+	public Map<String, Route> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Route> routes) {
+		this.routes = routes;
+	}
+
+	/**
+	 * Cache policy of one gateway route
+	 */
+	public static class Route {
+
+		// Path patterns (PathPattern syntax) of the cacheable GET endpoints
+		private List<String> paths = new ArrayList<>();
+
+		// How long a response is served without calling the service
+		private Duration ttl = Duration.ofSeconds(10);
+
+		// How long after ttl a stale response is served while it is refreshed in the background
+		private Duration staleWhileRevalidate = Duration.ZERO;
+
+		// How long after ttl a stale response replaces an error or circuit breaker fallback
+		private Duration staleIfError = Duration.ZERO;
+
+		public List<String> getPaths() {
+			return paths;
+		}
+
+		public void setPaths(List<String> paths) {
+			this.paths = paths;
+		}
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+
+		public Duration getStaleWhileRevalidate() {
+			return staleWhileRevalidate;
+		}
+
+		public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+			this.staleWhileRevalidate = staleWhileRevalidate;
+		}
+
+		public Duration getStaleIfError() {
+			return staleIfError;
+		}
+
+		public void setStaleIfError(Duration staleIfError) {
+			this.staleIfError = staleIfError;
+		}
+	}
+}
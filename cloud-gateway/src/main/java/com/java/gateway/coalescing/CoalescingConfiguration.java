@@ -0,0 +1,41 @@
+package com.java.gateway.coalescing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Coalescing Configuration - Request coalescing beans
+ *
+ * Registers the RequestCoalescingFilter as a global filter unless
+ * gateway.coalescing.enabled is false.
+ *
+ * Metrics: gateway.coalescing.inflight (calls currently shared)
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(CoalescingProperties.class)
+@ConditionalOnProperty(prefix = "gateway.coalescing", name = "enabled", matchIfMissing = true)
+public class CoalescingConfiguration {
+
+	@Bean
+	public RequestCoalescingFilter requestCoalescingFilter(CoalescingProperties properties,
+			MeterRegistry meterRegistry) {
+		return new RequestCoalescingFilter(properties, meterRegistry);
+	}
+
+	@Bean
+	public MeterBinder coalescingMetrics(RequestCoalescingFilter requestCoalescingFilter) {
+		return registry -> Gauge.builder("gateway.coalescing.inflight", requestCoalescingFilter,
+						RequestCoalescingFilter::inFlight)
+				.description("GET calls currently shared by coalesced requests")
+				.register(registry);
+	}
+}
@@ -0,0 +1,93 @@
+package com.java.gateway.coalescing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Coalescing Properties - Single-flight for identical concurrent GETs
+ *
+ * Bound from the "gateway.coalescing" prefix. Only routes listed under
+ * "routes" (by route id) are coalesced, and only GET requests whose path
+ * matches one of the route's patterns.
+ *
+ * Example:
+ * gateway:
+ *   coalescing:
+ *     max-body-size: 256KB
+ *     routes:
+ *       order-service:
+ *         paths: /order/{id:[0-9]+}
+ *         max-waiters: 1000
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+	// Turn coalescing off (every request goes to the service)
+	private boolean enabled = true;
+
+	// Larger responses are streamed to the leader only; waiting requests call the service themselves
+	private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+	// Route id -> coalescing policy
+	private Map<String, Route> routes = new LinkedHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public DataSize getMaxBodySize() {
+		return maxBodySize;
+	}
+
+	public void setMaxBodySize(DataSize maxBodySize) {
+		this.maxBodySize = maxBodySize;
+	}
+
+	public Map<String, Route> getRoutes() {
+		return routes;
+	}
+
+	public void setRoutes(Map<String, Route> routes) {
+		this.routes = routes;
+	}
+
+	/**
+	 * Coalescing policy of one gateway route
+	 */
+	public static class Route {
+
+		// Path patterns (PathPattern syntax) of the GET endpoints to coalesce; keep streaming endpoints out
+		private List<String> paths = new ArrayList<>();
+
+		// Requests that may wait for one in-flight call; later ones call the service themselves
+		private int maxWaiters = 1000;
+
+		public List<String> getPaths() {
+			return paths;
+		}
+
+		public void setPaths(List<String> paths) {
+			this.paths = paths;
+		}
+
+		public int getMaxWaiters() {
+			return maxWaiters;
+		}
+
+		public void setMaxWaiters(int maxWaiters) {
+			this.maxWaiters = maxWaiters;
+		}
+	}
+}
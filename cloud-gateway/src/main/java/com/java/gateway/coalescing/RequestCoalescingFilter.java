@@ -0,0 +1,296 @@
+package com.java.gateway.coalescing;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Request Coalescing Filter - One service call for identical concurrent GETs
+ *
+ * When several clients send the same GET (same route, path, query and
+ * Accept header) while a call for it is still in flight, only the first
+ * request (the leader) goes to the service. The others wait for the
+ * leader's response and get a copy of its status, headers and body, marked
+ * with X-Coalesced: true.
+ *
+ * - Only routes and paths configured under gateway.coalescing are coalesced
+ * - At most max-waiters requests wait for one call; later ones call the
+ *   service themselves
+ * - The leader's response is streamed to its client as it arrives; only
+ *   bodies up to max-body-size are shared, for larger ones the waiting
+ *   requests call the service themselves
+ * - Requests with an Authorization or Cookie header are never coalesced,
+ *   and Set-Cookie / X-RateLimit-* headers are not copied
+ * - If the leader's call fails, the waiting requests fail with the same
+ *   error; if the leader's client goes away first, they call the service
+ *   themselves
+ *
+ * Runs after the RateLimit filter (every request takes a token) and the
+ * response cache (a cache hit never waits), and before the route filters,
+ * so waiting requests do not count in the circuit breaker.
+ *
+ * Metrics: gateway.coalescing.requests{route, role=leader|follower|overflow}
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+	// Just before the response body is written to the client
+	public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+	public static final String COALESCED_HEADER = "X-Coalesced";
+
+	private final Map<String, RoutePolicy> policies;
+
+	private final long maxBodySize;
+
+	private final MeterRegistry meterRegistry;
+
+	// Request key -> call in flight
+	private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+	public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+		this.policies = properties.getRoutes().entrySet().stream()
+				.collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+						route -> RoutePolicy.of(route.getKey(), route.getValue())));
+		this.maxBodySize = properties.getMaxBodySize().toBytes();
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!HttpMethod.GET.equals(request.getMethod()) || route == null
+				|| request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+				|| request.getHeaders().containsKey(HttpHeaders.COOKIE)) {
+			return chain.filter(exchange);
+		}
+		RoutePolicy policy = policies.get(route.getId());
+		if (policy == null || !policy.matches(request)) {
+			return chain.filter(exchange);
+		}
+
+		String key = route.getId() + ":" + request.getURI().getRawPath()
+				+ (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "")
+				+ " " + request.getHeaders().getAccept();
+		InFlight call = new InFlight();
+		InFlight existing = inFlight.putIfAbsent(key, call);
+
+		if (existing != null) {
+			if (!existing.join(policy.maxWaiters())) {
+				count(policy, "overflow");
+				return chain.filter(exchange);
+			}
+			count(policy, "follower");
+			return existing.result().flatMap(shared -> shared.isPresent()
+					? write(exchange.getResponse(), shared.get())
+					: chain.filter(exchange));
+		}
+
+		count(policy, "leader");
+		SharingResponse response = new SharingResponse(exchange.getResponse(), key, call);
+		return chain.filter(exchange.mutate().response(response).build())
+				.doOnError(call::fail)
+				.doFinally(signal -> {
+					inFlight.remove(key, call);
+					// Cancelled or no response captured: waiting requests call the service themselves
+					call.release();
+				});
+	}
+
+	/**
+	 * Number of calls currently shared.
+	 */
+	public int inFlight() {
+		return inFlight.size();
+	}
+
+	private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+		response.setStatusCode(shared.status());
+		response.getHeaders().putAll(shared.headers());
+		response.getHeaders().set(COALESCED_HEADER, "true");
+		if (shared.body().length == 0) {
+			return response.setComplete();
+		}
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+	}
+
+	private void count(RoutePolicy policy, String role) {
+		Counter.builder("gateway.coalescing.requests")
+				.description("Coalescable GET requests by role")
+				.tags("route", policy.routeId(), "role", role)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	private static boolean isShareable(String header) {
+		return !header.equalsIgnoreCase(HttpHeaders.SET_COOKIE)
+				&& !header.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)
+				&& !header.equalsIgnoreCase(HttpHeaders.CONNECTION)
+				&& !header.regionMatches(true, 0, "X-RateLimit-", 0, "X-RateLimit-".length());
+	}
+
+	/**
+	 * Captures the leader's response for the waiting requests while writing
+	 * it to the leader's client.
+	 */
+	private class SharingResponse extends ServerHttpResponseDecorator {
+
+		private final String key;
+
+		private final InFlight call;
+
+		// Body passed max-body-size: no longer copied or shared
+		private boolean tooLarge;
+
+		SharingResponse(ServerHttpResponse delegate, String key, InFlight call) {
+			super(delegate);
+			this.key = key;
+			this.call = call;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			if (getHeaders().getContentLength() > maxBodySize) {
+				unshare();
+				return super.writeWith(body);
+			}
+			// The body streams to the leader's client; a copy is kept until it grows past max-body-size
+			ByteArrayOutputStream copy = new ByteArrayOutputStream();
+			return super.writeWith(Flux.from(body)
+					.doOnNext(buffer -> {
+						if (tooLarge) {
+							return;
+						}
+						int length = buffer.readableByteCount();
+						if (copy.size() + (long) length > maxBodySize) {
+							tooLarge = true;
+							unshare();
+							return;
+						}
+						byte[] bytes = new byte[length];
+						buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+						copy.writeBytes(bytes);
+					})
+					.doOnComplete(() -> {
+						if (!tooLarge) {
+							share(copy.toByteArray());
+						}
+					}));
+		}
+
+		@Override
+		public Mono<Void> setComplete() {
+			share(new byte[0]);
+			return super.setComplete();
+		}
+
+		// Too large to hold: waiting requests call the service themselves
+		private void unshare() {
+			inFlight.remove(key, call);
+			call.release();
+		}
+
+		private void share(byte[] body) {
+			inFlight.remove(key, call);
+			HttpHeaders headers = new HttpHeaders();
+			getHeaders().forEach((name, values) -> {
+				if (isShareable(name)) {
+					headers.put(name, List.copyOf(values));
+				}
+			});
+			HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+			call.complete(new SharedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body));
+		}
+	}
+
+	/**
+	 * One service call and the requests waiting for it
+	 */
+	private static final class InFlight {
+
+		private final Sinks.One<Optional<SharedResponse>> result = Sinks.one();
+
+		private final AtomicInteger waiters = new AtomicInteger();
+
+		boolean join(int maxWaiters) {
+			return waiters.incrementAndGet() <= maxWaiters;
+		}
+
+		Mono<Optional<SharedResponse>> result() {
+			return result.asMono();
+		}
+
+		void complete(SharedResponse response) {
+			result.tryEmitValue(Optional.of(response));
+		}
+
+		void fail(Throwable error) {
+			result.tryEmitError(error);
+		}
+
+		void release() {
+			result.tryEmitValue(Optional.empty());
+		}
+	}
+
+	/**
+	 * Copy of the leader's response
+	 */
+	private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+	}
+
+	/**
+	 * Coalescing policy of one route, with the path patterns parsed
+	 */
+	private record RoutePolicy(String routeId, List<PathPattern> paths, int maxWaiters) {
+
+		static RoutePolicy of(String routeId, CoalescingProperties.Route route) {
+			return new RoutePolicy(routeId,
+					route.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+					route.getMaxWaiters());
+		}
+
+		boolean matches(ServerHttpRequest request) {
+			return paths.stream().anyMatch(path -> path.matches(request.getPath().pathWithinApplication()));
+		}
+	}
+}
@@ -0,0 +1,220 @@
+package com.java.gateway.loadbalancer;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Peak EWMA Load Balancer - Latency-aware instance selection
+ * 
+ * Replaces round-robin selection, which keeps sending a fixed share of
+ * traffic to a slow instance. Each instance has a cost:
+ * - Peak EWMA of observed response times: a slower sample raises the
+ *   average immediately, faster samples lower it gradually
+ * - The average decays toward zero while an instance gets no traffic, so a
+ *   recovered instance is tried again
+ * - Cost = average latency * (outstanding requests + 1)
+ * 
+ * Each choice picks two random instances and takes the cheaper one
+ * ("power of two choices"), which avoids sending every request to the
+ * single fastest instance.
+ * 
+ * Latencies are recorded through the LoadBalancerLifecycle callbacks, which
+ * the load-balanced clients (RestTemplate, WebClient and the gateway's lb://
+ * routing filter) call around every request.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+		LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	// Cost of an instance that has requests in flight but no latency sample yet
+	private static final double UNMEASURED_PENALTY = Duration.ofSeconds(10).toNanos();
+
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+	private final String serviceId;
+
+	private final double decayNanos;
+
+	private final long failurePenaltyNanos;
+
+	private final LongSupplier nanoClock;
+
+	// host:port -> latency and in-flight statistics
+	private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, Duration decay, Duration failurePenalty) {
+		this(serviceInstanceListSupplierProvider, serviceId, decay, failurePenalty, System::nanoTime);
+	}
+
+	PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, Duration decay, Duration failurePenalty, LongSupplier nanoClock) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.decayNanos = decay.toNanos();
+		this.failurePenaltyNanos = failurePenalty.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	@Override
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		return supplier.get(request).next().map(instances -> {
+			Response<ServiceInstance> response = select(instances);
+			if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+				callback.selectedServiceInstance(response.getServer());
+			}
+			return response;
+		});
+	}
+
+	private Response<ServiceInstance> select(List<ServiceInstance> instances) {
+		if (instances.isEmpty()) {
+			return new EmptyResponse();
+		}
+		if (instances.size() == 1) {
+			return new DefaultResponse(instances.get(0));
+		}
+		pruneRemovedInstances(instances);
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(instances.size());
+		int second = random.nextInt(instances.size() - 1);
+		if (second >= first) {
+			second++;
+		}
+		ServiceInstance a = instances.get(first);
+		ServiceInstance b = instances.get(second);
+		long now = nanoClock.getAsLong();
+		return new DefaultResponse(statsFor(a).score(now, decayNanos) <= statsFor(b).score(now, decayNanos) ? a : b);
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+		// Nothing to record until an instance is chosen
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		if (!lbResponse.hasServer()) {
+			return;
+		}
+		if (request.getContext() instanceof TimedRequestContext timed) {
+			timed.setRequestStartTime(nanoClock.getAsLong());
+		}
+		statsFor(lbResponse.getServer()).outstanding.incrementAndGet();
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null
+				|| !lbResponse.hasServer()) {
+			return;
+		}
+		InstanceStats instanceStats = statsFor(lbResponse.getServer());
+		instanceStats.outstanding.updateAndGet(count -> count > 0 ? count - 1 : 0);
+
+		Object context = completionContext.getLoadBalancerRequest() != null
+				? completionContext.getLoadBalancerRequest().getContext() : null;
+		if (!(context instanceof TimedRequestContext timed) || timed.getRequestStartTime() == 0) {
+			return;
+		}
+		long now = nanoClock.getAsLong();
+		long latency = now - timed.getRequestStartTime();
+		if (completionContext.status() == CompletionContext.Status.FAILED) {
+			latency = Math.max(latency, failurePenaltyNanos);
+		}
+		instanceStats.observe(latency, now, decayNanos);
+	}
+
+	/**
+	 * Current cost of an instance, used by tests and diagnostics
+	 */
+	double score(ServiceInstance instance) {
+		return statsFor(instance).score(nanoClock.getAsLong(), decayNanos);
+	}
+
+	private InstanceStats statsFor(ServiceInstance instance) {
+		return stats.computeIfAbsent(key(instance), k -> new InstanceStats());
+	}
+
+	// Drops statistics of instances that are no longer registered
+	private void pruneRemovedInstances(List<ServiceInstance> instances) {
+		if (stats.size() <= instances.size()) {
+			return;
+		}
+		Set<String> current = new HashSet<>();
+		for (ServiceInstance instance : instances) {
+			current.add(key(instance));
+		}
+		stats.keySet().retainAll(current);
+	}
+
+	private static String key(ServiceInstance instance) {
+		return instance.getHost() + ":" + instance.getPort();
+	}
+
+	@Override
+	public String toString() {
+		return "PeakEwmaLoadBalancer{serviceId=" + serviceId + "}";
+	}
+
+	/**
+	 * Latency average and in-flight count of one instance
+	 */
+	static final class InstanceStats {
+
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		// Peak EWMA of latency in nanoseconds
+		private double cost;
+
+		private long stamp;
+
+		synchronized void observe(long latencyNanos, long now, double decayNanos) {
+			if (latencyNanos > cost) {
+				cost = latencyNanos;
+			} else {
+				double weight = Math.exp(-(now - stamp) / decayNanos);
+				cost = cost * weight + latencyNanos * (1 - weight);
+			}
+			stamp = now;
+		}
+
+		synchronized double score(long now, double decayNanos) {
+			double decayed = cost * Math.exp(-Math.max(0, now - stamp) / decayNanos);
+			int inFlight = outstanding.get();
+			if (decayed == 0 && inFlight > 0) {
+				return UNMEASURED_PENALTY + inFlight;
+			}
+			return decayed * (inFlight + 1);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.java.gateway.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Peak EWMA Load Balancer Configuration - Per-service load balancer beans
+ * 
+ * Registered through @LoadBalancerClients(defaultConfiguration = ...), so
+ * every load-balanced service gets its own PeakEwmaLoadBalancer in its
+ * load balancer child context. Intentionally not a @Configuration class,
+ * so component scanning does not register it in the main context.
+ * 
+ * Settings:
+ * - loadbalancer.peak-ewma.decay: how fast old latency samples lose weight (default 10s)
+ * - loadbalancer.peak-ewma.failure-penalty: latency recorded for a failed call (default 1s)
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+	@Bean
+	public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+			LoadBalancerClientFactory loadBalancerClientFactory) {
+		String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+		Binder binder = Binder.get(environment);
+		Duration decay = binder.bind("loadbalancer.peak-ewma.decay", Duration.class)
+				.orElse(Duration.ofSeconds(10));
+		Duration failurePenalty = binder.bind("loadbalancer.peak-ewma.failure-penalty", Duration.class)
+				.orElse(Duration.ofSeconds(1));
+		return new PeakEwmaLoadBalancer(
+				loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+				serviceId, decay, failurePenalty);
+	}
+}
@@ -0,0 +1,60 @@
+package com.java.gateway.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit Breaker Transition Metrics - State changes of the route breakers
+ *
+ * The CircuitBreaker filter creates a breaker per name on first use, so
+ * breakers are picked up as they are added to the registry. Every state
+ * transition is counted and logged, so an opening breaker shows up before
+ * the fallback warnings do. The current state itself is exported by
+ * resilience4j as resilience4j.circuitbreaker.state.
+ *
+ * Metrics: gateway.circuitbreaker.transitions{name, from, to}
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class CircuitBreakerTransitionMetrics {
+
+	public static final String TRANSITIONS_METRIC = "gateway.circuitbreaker.transitions";
+
+	private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerTransitionMetrics.class);
+
+	private final MeterRegistry meterRegistry;
+
+	public CircuitBreakerTransitionMetrics(CircuitBreakerRegistry circuitBreakerRegistry,
+			MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		circuitBreakerRegistry.getEventPublisher().onEntryAdded(event -> listen(event.getAddedEntry()));
+		circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::listen);
+	}
+
+	private void listen(CircuitBreaker circuitBreaker) {
+		circuitBreaker.getEventPublisher().onStateTransition(this::onStateTransition);
+	}
+
+	private void onStateTransition(CircuitBreakerOnStateTransitionEvent event) {
+		CircuitBreaker.State from = event.getStateTransition().getFromState();
+		CircuitBreaker.State to = event.getStateTransition().getToState();
+		if (to == CircuitBreaker.State.OPEN || to == CircuitBreaker.State.FORCED_OPEN) {
+			logger.warn("Circuit breaker {} {} -> {}", event.getCircuitBreakerName(), from, to);
+		}
+		else {
+			logger.info("Circuit breaker {} {} -> {}", event.getCircuitBreakerName(), from, to);
+		}
+		Counter.builder(TRANSITIONS_METRIC)
+				.description("Circuit breaker state transitions")
+				.tags("name", event.getCircuitBreakerName(), "from", from.name(), "to", to.name())
+				.register(meterRegistry)
+				.increment();
+	}
+}
@@ -0,0 +1,33 @@
+package com.java.gateway.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Gateway Metrics Configuration - Breaker transitions and the stats endpoint
+ *
+ * Per-route latency and status codes come from Spring Cloud Gateway's own
+ * spring.cloud.gateway.requests timer (spring.cloud.gateway.metrics.enabled),
+ * with its percentile histogram turned on under management.metrics.distribution.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+public class GatewayMetricsConfiguration {
+
+	@Bean
+	public CircuitBreakerTransitionMetrics circuitBreakerTransitionMetrics(
+			CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+		return new CircuitBreakerTransitionMetrics(circuitBreakerRegistry, meterRegistry);
+	}
+
+	@Bean
+	public GatewayStatsEndpoint gatewayStatsEndpoint(MeterRegistry meterRegistry,
+			CircuitBreakerRegistry circuitBreakerRegistry) {
+		return new GatewayStatsEndpoint(meterRegistry, circuitBreakerRegistry);
+	}
+}
@@ -0,0 +1,179 @@
+package com.java.gateway.metrics;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+/**
+ * Gateway Stats Endpoint - Route health at a glance
+ *
+ * Summarises what the Prometheus metrics hold, for operators without a
+ * Prometheus/Grafana stack:
+ * - routes: requests, 5xx responses, status codes and latency
+ *   (mean, p50, p99, p999) per route, from spring.cloud.gateway.requests
+ * - circuitBreakers: state, failure and slow-call rates and transitions
+ * - fallbacks: fallback responses per service and reason
+ *
+ * Percentiles are read from the latency histogram buckets summed over the
+ * route's timers (one per method and status), so they are bucket upper
+ * bounds, like histogram_quantile in Prometheus.
+ *
+ * Endpoint: GET /actuator/gateway-stats
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Endpoint(id = "gateway-stats")
+public class GatewayStatsEndpoint {
+
+	public static final String REQUESTS_METRIC = "spring.cloud.gateway.requests";
+
+	public static final String FALLBACKS_METRIC = "gateway.fallback.invocations";
+
+	private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+	private static final String[] PERCENTILE_NAMES = { "p50Millis", "p99Millis", "p999Millis" };
+
+	private final MeterRegistry meterRegistry;
+
+	private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+	public GatewayStatsEndpoint(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.circuitBreakerRegistry = circuitBreakerRegistry;
+	}
+
+	/**
+	 * Gateway Stats
+	 *
+	 * @return Per-route traffic and latency, circuit breaker states and fallback counts
+	 */
+	@ReadOperation
+	public Map<String, Object> stats() {
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("routes", routes());
+		stats.put("circuitBreakers", circuitBreakers());
+		stats.put("fallbacks", fallbacks());
+		return stats;
+	}
+
+	private Map<String, Object> routes() {
+		Map<String, List<Timer>> timersByRoute = meterRegistry.find(REQUESTS_METRIC).timers().stream()
+				.collect(Collectors.groupingBy(timer -> String.valueOf(timer.getId().getTag("routeId")),
+						TreeMap::new, Collectors.toList()));
+
+		Map<String, Object> routes = new LinkedHashMap<>();
+		timersByRoute.forEach((routeId, timers) -> routes.put(routeId, route(timers)));
+		return routes;
+	}
+
+	private static Map<String, Object> route(List<Timer> timers) {
+		long requests = 0;
+		long serverErrors = 0;
+		double totalMillis = 0;
+		double maxMillis = 0;
+		Map<String, Long> statuses = new TreeMap<>();
+		// Bucket upper bound (ms) -> requests at or below it, summed over the route's timers
+		TreeMap<Double, Double> buckets = new TreeMap<>();
+
+		for (Timer timer : timers) {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			requests += snapshot.count();
+			totalMillis += snapshot.total(TimeUnit.MILLISECONDS);
+			maxMillis = Math.max(maxMillis, snapshot.max(TimeUnit.MILLISECONDS));
+			if ("SERVER_ERROR".equals(timer.getId().getTag("outcome"))) {
+				serverErrors += snapshot.count();
+			}
+			statuses.merge(String.valueOf(timer.getId().getTag("httpStatusCode")), snapshot.count(), Long::sum);
+			for (CountAtBucket bucket : snapshot.histogramCounts()) {
+				buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+			}
+		}
+
+		Map<String, Object> route = new LinkedHashMap<>();
+		route.put("requests", requests);
+		route.put("serverErrors", serverErrors);
+		route.put("statuses", statuses);
+		route.put("meanMillis", requests == 0 ? 0 : round(totalMillis / requests));
+		for (int i = 0; i < PERCENTILES.length; i++) {
+			route.put(PERCENTILE_NAMES[i], round(percentile(buckets, requests, PERCENTILES[i], maxMillis)));
+		}
+		return route;
+	}
+
+	/**
+	 * Smallest bucket bound with at least the given share of requests at or
+	 * below it; the recent maximum when the share lies above the last bucket
+	 * (or no histogram is configured).
+	 */
+	private static double percentile(TreeMap<Double, Double> buckets, long requests, double percentile,
+			double maxMillis) {
+		double rank = percentile * requests;
+		for (Map.Entry<Double, Double> bucket : buckets.entrySet()) {
+			if (bucket.getValue() >= rank) {
+				return bucket.getKey();
+			}
+		}
+		return maxMillis;
+	}
+
+	private Map<String, Object> circuitBreakers() {
+		Map<String, Double> transitions = sumBy(meterRegistry.find(CircuitBreakerTransitionMetrics.TRANSITIONS_METRIC)
+				.counters(), "name");
+
+		Map<String, Object> circuitBreakers = new TreeMap<>();
+		for (CircuitBreaker circuitBreaker : circuitBreakerRegistry.getAllCircuitBreakers()) {
+			CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+			Map<String, Object> breaker = new LinkedHashMap<>();
+			breaker.put("state", circuitBreaker.getState());
+			// -1 until minimum-number-of-calls calls were recorded
+			breaker.put("failureRate", metrics.getFailureRate());
+			breaker.put("slowCallRate", metrics.getSlowCallRate());
+			breaker.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+			breaker.put("failedCalls", metrics.getNumberOfFailedCalls());
+			breaker.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+			breaker.put("transitions", transitions.getOrDefault(circuitBreaker.getName(), 0.0).longValue());
+			circuitBreakers.put(circuitBreaker.getName(), breaker);
+		}
+		return circuitBreakers;
+	}
+
+	private Map<String, Object> fallbacks() {
+		Map<String, Object> fallbacks = new TreeMap<>();
+		meterRegistry.find(FALLBACKS_METRIC).counters().stream()
+				.collect(Collectors.groupingBy(counter -> String.valueOf(counter.getId().getTag("service")),
+						Collectors.toList()))
+				.forEach((service, counters) -> {
+					Map<String, Object> fallback = new LinkedHashMap<>();
+					Map<String, Double> reasons = sumBy(counters, "reason");
+					fallback.put("total", reasons.values().stream().mapToLong(Double::longValue).sum());
+					reasons.forEach((reason, count) -> fallback.put(reason, count.longValue()));
+					fallbacks.put(service, fallback);
+				});
+		return fallbacks;
+	}
+
+	private static Map<String, Double> sumBy(Collection<Counter> counters, String tag) {
+		return counters.stream().collect(Collectors.groupingBy(counter -> String.valueOf(counter.getId().getTag(tag)),
+				TreeMap::new, Collectors.summingDouble(Counter::count)));
+	}
+
+	private static double round(double millis) {
+		return Math.round(millis * 100) / 100.0;
+	}
+}
@@ -0,0 +1,70 @@
+package com.java.gateway.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Client Key Resolver - Who a request is rate limited as
+ *
+ * The first of these that is present is the client key:
+ * - X-API-Key header: "api-key:" + MD5 of the key, so keys never show up in
+ *   metrics or logs
+ * - X-Customer-Id header or customerId query parameter: "customer:" + id
+ * - the caller's IP address: "ip:" + address
+ *
+ * The gateway does not authenticate these values, so a client can pick its
+ * own key; the limits protect the services from overload, not from a
+ * client that fakes its identity. Behind a load balancer the IP is the load
+ * balancer's address unless X-Forwarded-For is handled there.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class ClientKeyResolver implements KeyResolver {
+
+	public static final String API_KEY_HEADER = "X-API-Key";
+
+	public static final String CUSTOMER_ID_HEADER = "X-Customer-Id";
+
+	public static final String CUSTOMER_ID_PARAM = "customerId";
+
+	// Longer customer ids are hashed to keep bucket keys (and metric tags) short
+	private static final int MAX_CUSTOMER_ID_LENGTH = 64;
+
+	@Override
+	public Mono<String> resolve(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		String apiKey = request.getHeaders().getFirst(API_KEY_HEADER);
+		if (StringUtils.hasText(apiKey)) {
+			return Mono.just("api-key:" + hash(apiKey));
+		}
+
+		String customerId = request.getHeaders().getFirst(CUSTOMER_ID_HEADER);
+		if (!StringUtils.hasText(customerId)) {
+			customerId = request.getQueryParams().getFirst(CUSTOMER_ID_PARAM);
+		}
+		if (StringUtils.hasText(customerId)) {
+			return Mono.just("customer:"
+					+ (customerId.length() <= MAX_CUSTOMER_ID_LENGTH ? customerId : hash(customerId)));
+		}
+
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		if (remoteAddress != null && remoteAddress.getAddress() != null) {
+			return Mono.just("ip:" + remoteAddress.getAddress().getHostAddress());
+		}
+		// No key: RequestRateLimiter rejects the request (deny-empty-key)
+		return Mono.empty();
+	}
+
+	private static String hash(String value) {
+		return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,228 @@
+package com.java.gateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Local Rate Limiter - In-memory token buckets for the RequestRateLimiter filter
+ *
+ * Replaces the Redis rate limiter of Spring Cloud Gateway: every gateway
+ * instance limits on its own, so with N instances a client can get up to N
+ * times the configured rate.
+ *
+ * Each (route, client key) pair has a token bucket that refills at
+ * replenishRate tokens per second up to burstCapacity; a request takes
+ * requestedTokens tokens or is rejected with 429. The bucket is stored as a
+ * single timestamp (GCRA: the time at which the bucket would be full
+ * again), so taking a token is one compare-and-set without locks.
+ *
+ * Buckets live in a bounded Caffeine map and are dropped after idle-timeout
+ * without requests; a dropped bucket would have been full again anyway.
+ *
+ * Response headers (unless include-headers is false): X-RateLimit-Remaining,
+ * X-RateLimit-Replenish-Rate, X-RateLimit-Burst-Capacity,
+ * X-RateLimit-Requested-Tokens, and Retry-After on a rejection.
+ *
+ * Metrics:
+ * - gateway.ratelimit.requests{route, outcome=allowed|rejected}
+ * - gateway.ratelimit.rejected{route, key}: rejections per client (first max-key-tags clients)
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+	// Route argument prefix, e.g. local-rate-limiter.replenishRate
+	public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+	public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+	private final Config defaultConfig;
+
+	private final boolean includeHeaders;
+
+	// "routeId|clientKey" -> bucket
+	private final Cache<String, Bucket> buckets;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Counter> allowedCounters = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+	private final LongSupplier nanoClock;
+
+	public LocalRateLimiter(RateLimitProperties properties, ConfigurationService configurationService,
+			MeterRegistry meterRegistry) {
+		this(properties, configurationService, meterRegistry, System::nanoTime);
+	}
+
+	LocalRateLimiter(RateLimitProperties properties, ConfigurationService configurationService,
+			MeterRegistry meterRegistry, LongSupplier nanoClock) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.defaultConfig = new Config()
+				.setReplenishRate(properties.getReplenishRate())
+				.setBurstCapacity(properties.getBurstCapacity());
+		this.includeHeaders = properties.isIncludeHeaders();
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxKeys())
+				.expireAfterAccess(properties.getIdleTimeout())
+				.build();
+		this.meterRegistry = meterRegistry;
+		this.nanoClock = nanoClock;
+	}
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		return Mono.just(tryAcquire(routeId, id));
+	}
+
+	/**
+	 * Takes the route's requestedTokens from the client's bucket.
+	 *
+	 * @param routeId Gateway route id (selects the limit)
+	 * @param id Client key from the KeyResolver
+	 * @return Whether the request is allowed, with the X-RateLimit-* headers
+	 */
+	Response tryAcquire(String routeId, String id) {
+		Config config = getConfig().getOrDefault(routeId, defaultConfig);
+		long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate());
+		long burstTolerance = interval * config.getBurstCapacity();
+		long cost = interval * config.getRequestedTokens();
+		long now = nanoClock.getAsLong();
+		Bucket bucket = buckets.get(routeId + '|' + id, key -> new Bucket(now));
+
+		while (true) {
+			long fullAt = bucket.fullAt.get();
+			long newFullAt = Math.max(fullAt, now) + cost;
+			long allowedAt = newFullAt - burstTolerance;
+			if (allowedAt > now) {
+				count(rejectedCounters, routeId, "rejected");
+				countRejectedKey(routeId, id);
+				return response(false, config, 0, allowedAt - now);
+			}
+			if (bucket.fullAt.compareAndSet(fullAt, newFullAt)) {
+				count(allowedCounters, routeId, "allowed");
+				return response(true, config, (now - allowedAt) / interval, 0);
+			}
+		}
+	}
+
+	/**
+	 * Number of client buckets held (approximate).
+	 */
+	public long size() {
+		return buckets.estimatedSize();
+	}
+
+	private Response response(boolean allowed, Config config, long remaining, long retryAfterNanos) {
+		if (!includeHeaders) {
+			return new Response(allowed, Map.of());
+		}
+		if (allowed) {
+			return new Response(true, Map.of(
+					REMAINING_HEADER, String.valueOf(remaining),
+					REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+					BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+					REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens())));
+		}
+		long retryAfterSeconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		return new Response(false, Map.of(
+				REMAINING_HEADER, "0",
+				REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+				BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+				REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()),
+				HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)));
+	}
+
+	private void count(Map<String, Counter> counters, String routeId, String outcome) {
+		counters.computeIfAbsent(routeId, route -> Counter.builder("gateway.ratelimit.requests")
+				.description("Requests allowed or rejected by the rate limiter")
+				.tags("route", route, "outcome", outcome)
+				.register(meterRegistry))
+				.increment();
+	}
+
+	private void countRejectedKey(String routeId, String id) {
+		Counter.builder("gateway.ratelimit.rejected")
+				.description("Rate limited requests per client")
+				.tags("route", routeId, "key", id)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	/**
+	 * Token bucket of one client on one route
+	 */
+	private static final class Bucket {
+
+		// nanoTime at which the bucket is full again; at or before now means full
+		private final AtomicLong fullAt;
+
+		Bucket(long now) {
+			this.fullAt = new AtomicLong(now);
+		}
+	}
+
+	/**
+	 * Limit of one route (RequestRateLimiter filter arguments)
+	 */
+	public static class Config {
+
+		// Tokens added per second
+		private int replenishRate;
+
+		// Tokens the bucket holds at most (the burst a client may send at once)
+		private int burstCapacity;
+
+		// Tokens one request takes
+		private int requestedTokens = 1;
+
+		public int getReplenishRate() {
+			return replenishRate;
+		}
+
+		public Config setReplenishRate(int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+
+		public int getBurstCapacity() {
+			return burstCapacity;
+		}
+
+		public Config setBurstCapacity(int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+
+		public int getRequestedTokens() {
+			return requestedTokens;
+		}
+
+		public Config setRequestedTokens(int requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.java.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Rate Limit Configuration - Local rate limiter for the RequestRateLimiter filter
+ *
+ * The RateLimiter and KeyResolver beans below are the defaults of Spring
+ * Cloud Gateway's RequestRateLimiter filter and of the RateLimit filter
+ * (the same filter, ordered ahead of the response cache), so routes only
+ * set their limits (local-rate-limiter.* arguments) and no Redis is needed.
+ *
+ * Metrics: gateway.ratelimit.keys (client buckets held); the per-client
+ * gateway.ratelimit.rejected meters are capped at max-key-tags clients.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+	@Bean
+	public LocalRateLimiter localRateLimiter(RateLimitProperties properties,
+			ConfigurationService configurationService, MeterRegistry meterRegistry) {
+		return new LocalRateLimiter(properties, configurationService, meterRegistry);
+	}
+
+	@Bean
+	public ClientKeyResolver clientKeyResolver() {
+		return new ClientKeyResolver();
+	}
+
+	@Bean
+	public RateLimitGatewayFilterFactory rateLimitGatewayFilterFactory(LocalRateLimiter localRateLimiter,
+			ClientKeyResolver clientKeyResolver) {
+		return new RateLimitGatewayFilterFactory(localRateLimiter, clientKeyResolver);
+	}
+
+	@Bean
+	public MeterFilter rateLimitKeyTagLimit(RateLimitProperties properties) {
+		return MeterFilter.maximumAllowableTags("gateway.ratelimit.rejected", "key",
+				properties.getMaxKeyTags(), MeterFilter.deny());
+	}
+
+	@Bean
+	public MeterBinder rateLimitMetrics(LocalRateLimiter localRateLimiter) {
+		return registry -> Gauge.builder("gateway.ratelimit.keys", localRateLimiter, LocalRateLimiter::size)
+				.description("Client buckets held by the rate limiter")
+				.register(registry);
+	}
+}
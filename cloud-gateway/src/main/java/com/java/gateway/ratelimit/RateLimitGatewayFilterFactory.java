@@ -0,0 +1,42 @@
+package com.java.gateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import com.java.gateway.cache.ResponseCacheFilter;
+
+/**
+ * Rate Limit Filter Factory - RequestRateLimiter that runs before the response cache
+ *
+ * Same filter and arguments as Spring Cloud Gateway's RequestRateLimiter
+ * (used as "RateLimit" in a route's filters), but ordered ahead of the
+ * ResponseCacheFilter and RequestCoalescingFilter. RequestRateLimiter takes
+ * its place among the route filters, which run after these global filters,
+ * so cache hits and coalesced requests were never limited. With RateLimit
+ * every request on the route takes a token, however it is answered.
+ *
+ * Requests answered here (429), from the cache or from a coalesced call do
+ * not reach the spring.cloud.gateway.requests timer (order 0); they are
+ * counted by gateway.ratelimit.requests, gateway.cache.requests and
+ * gateway.coalescing.requests instead.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+public class RateLimitGatewayFilterFactory extends RequestRateLimiterGatewayFilterFactory {
+
+	// Ahead of the response cache, which runs ahead of request coalescing
+	public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
+	public RateLimitGatewayFilterFactory(RateLimiter<?> rateLimiter, KeyResolver keyResolver) {
+		super(rateLimiter, keyResolver);
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return new OrderedGatewayFilter(super.apply(config), ORDER);
+	}
+}
@@ -0,0 +1,93 @@
+package com.java.gateway.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate Limit Properties - In-memory rate limiter shared by all routes
+ *
+ * Bound from the "gateway.rate-limit" prefix. The limits themselves are set
+ * per route, as arguments of the RateLimit filter:
+ *
+ * filters:
+ *   - name: RateLimit
+ *     args:
+ *       local-rate-limiter.replenishRate: 20
+ *       local-rate-limiter.burstCapacity: 40
+ *
+ * The replenish rate and burst capacity below apply to routes that use the
+ * filter without these arguments.
+ *
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+	// Requests per second per client, for routes without their own limit
+	private int replenishRate = 100;
+
+	// Requests a client may send at once after being idle, for routes without their own limit
+	private int burstCapacity = 200;
+
+	// A client's bucket is dropped after this long without requests (it is full again by then)
+	private Duration idleTimeout = Duration.ofMinutes(5);
+
+	// Buckets held at most; beyond this the least recently used clients start over with a full bucket
+	private int maxKeys = 100_000;
+
+	// Clients that get their own gateway.ratelimit.rejected meter; later ones only show in gateway.ratelimit.requests
+	private int maxKeyTags = 100;
+
+	// Send X-RateLimit-* headers with every limited response
+	private boolean includeHeaders = true;
+
+	public int getReplenishRate() {
+		return replenishRate;
+	}
+
+	public void setReplenishRate(int replenishRate) {
+		this.replenishRate = replenishRate;
+	}
+
+	public int getBurstCapacity() {
+		return burstCapacity;
+	}
+
+	public void setBurstCapacity(int burstCapacity) {
+		this.burstCapacity = burstCapacity;
+	}
+
+	public Duration getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public void setIdleTimeout(Duration idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+	public int getMaxKeys() {
+		return maxKeys;
+	}
+
+	public void setMaxKeys(int maxKeys) {
+		this.maxKeys = maxKeys;
+	}
+
+	public int getMaxKeyTags() {
+		return maxKeyTags;
+	}
+
+	public void setMaxKeyTags(int maxKeyTags) {
+		this.maxKeyTags = maxKeyTags;
+	}
+
+	public boolean isIncludeHeaders() {
+		return includeHeaders;
+	}
+
+	public void setIncludeHeaders(boolean includeHeaders) {
+		this.includeHeaders = includeHeaders;
+	}
+}
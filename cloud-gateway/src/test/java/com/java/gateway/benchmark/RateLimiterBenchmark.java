@@ -0,0 +1,130 @@
+package com.java.gateway.benchmark;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.RequestRateLimiterGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.java.gateway.ratelimit.ClientKeyResolver;
+import com.java.gateway.ratelimit.LocalRateLimiter;
+import com.java.gateway.ratelimit.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-request cost of the RequestRateLimiter filter with the local rate
+ * limiter: key resolution (client IP), the token bucket and the
+ * X-RateLimit-* headers. The limit is high enough that every request is
+ * allowed; rejected measures a client whose bucket is empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+	private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+	// Distinct client IPs per thread: 1 = a single hot bucket
+	@Param({"1", "1000"})
+	public int clients;
+
+	private LocalRateLimiter rateLimiter;
+
+	private GatewayFilter filter;
+
+	private Route route;
+
+	@Setup
+	public void setUp() {
+		rateLimiter = new LocalRateLimiter(new RateLimitProperties(), null, new SimpleMeterRegistry());
+		rateLimiter.getConfig().put("order-service", new LocalRateLimiter.Config()
+				.setReplenishRate(1_000_000_000)
+				.setBurstCapacity(1_000_000_000));
+		rateLimiter.getConfig().put("saturated", new LocalRateLimiter.Config()
+				.setReplenishRate(1)
+				.setBurstCapacity(1));
+		rateLimiter.isAllowed("saturated", "ip:10.0.0.1").block();
+
+		filter = new RequestRateLimiterGatewayFilterFactory(rateLimiter, new ClientKeyResolver())
+				.apply(new RequestRateLimiterGatewayFilterFactory.Config());
+		route = Route.async()
+				.id("order-service")
+				.uri("lb://order-service")
+				.predicate(exchange -> true)
+				.build();
+	}
+
+	/**
+	 * Exchanges of one benchmark thread, reused round-robin
+	 */
+	@State(Scope.Thread)
+	public static class Requests {
+
+		private static final AtomicInteger THREADS = new AtomicInteger();
+
+		private MockServerWebExchange[] exchanges;
+
+		private int next;
+
+		@Setup
+		public void setUp(RateLimiterBenchmark benchmark) {
+			exchanges = new MockServerWebExchange[benchmark.clients];
+			int thread = THREADS.getAndIncrement() % 250;
+			for (int i = 0; i < exchanges.length; i++) {
+				MockServerHttpRequest request = MockServerHttpRequest.get("/order/1")
+						.remoteAddress(new InetSocketAddress("10." + thread + "." + (i >> 8) + "." + (i & 0xff), 40000))
+						.build();
+				exchanges[i] = MockServerWebExchange.from(request);
+				exchanges[i].getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, benchmark.route);
+			}
+		}
+
+		MockServerWebExchange next() {
+			MockServerWebExchange exchange = exchanges[next];
+			next = next + 1 == exchanges.length ? 0 : next + 1;
+			// The filter adds the X-RateLimit-* headers; drop the previous request's
+			exchange.getResponse().getHeaders().clear();
+			return exchange;
+		}
+	}
+
+	@Benchmark
+	public Void filter(Requests requests) {
+		return filter.filter(requests.next(), CHAIN).block();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public Void filterConcurrent(Requests requests) {
+		return filter.filter(requests.next(), CHAIN).block();
+	}
+
+	@Benchmark
+	public RateLimiter.Response rejected() {
+		return rateLimiter.isAllowed("saturated", "ip:10.0.0.1").block();
+	}
+}
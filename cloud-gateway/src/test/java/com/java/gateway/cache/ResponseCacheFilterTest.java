@@ -0,0 +1,244 @@
+package com.java.gateway.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Drives ResponseCacheFilter on a virtual clock against a fake service:
+ * ttl 10s, stale-if-error 1m, on an http:// route (no background
+ * revalidation).
+ */
+class ResponseCacheFilterTest {
+
+	private final long[] clock = new long[1];
+
+	private final ResponseCacheProperties properties = new ResponseCacheProperties();
+
+	private final Service service = new Service();
+
+	private final Route route = Route.async()
+			.id("payment-service")
+			.uri("http://localhost:8082")
+			.predicate(exchange -> true)
+			.build();
+
+	private final ResponseCacheFilter filter;
+
+	ResponseCacheFilterTest() {
+		ResponseCacheProperties.Route policy = new ResponseCacheProperties.Route();
+		policy.setPaths(List.of("/payment/{id:[0-9]+}"));
+		policy.setTtl(Duration.ofSeconds(10));
+		policy.setStaleIfError(Duration.ofMinutes(1));
+		properties.getRoutes().put("payment-service", policy);
+		properties.setMaxBodySize(DataSize.ofBytes(100));
+		filter = new ResponseCacheFilter(properties, WebClient.create(), new SimpleMeterRegistry(), () -> clock[0]);
+	}
+
+	@Test
+	void secondRequestIsServedFromTheCache() {
+		MockServerWebExchange miss = send(get("/payment/1"));
+		advance(3);
+		MockServerWebExchange hit = send(get("/payment/1"));
+
+		assertEquals(1, service.calls.get());
+		assertEquals("MISS", cacheStatus(miss));
+		assertEquals("HIT", cacheStatus(hit));
+		assertEquals(HttpStatus.OK, hit.getResponse().getStatusCode());
+		assertEquals(body(miss), body(hit));
+		assertEquals(MediaType.APPLICATION_JSON, hit.getResponse().getHeaders().getContentType());
+		assertEquals(miss.getResponse().getHeaders().getETag(), hit.getResponse().getHeaders().getETag());
+		assertEquals("3", hit.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+	}
+
+	@Test
+	void matchingIfNoneMatchGets304WithoutABody() {
+		String etag = send(get("/payment/1")).getResponse().getHeaders().getETag();
+		assertNotNull(etag);
+
+		MockServerWebExchange notModified = send(MockServerHttpRequest.get("/payment/1").ifNoneMatch(etag));
+		MockServerWebExchange weak = send(MockServerHttpRequest.get("/payment/1").ifNoneMatch("W/" + etag));
+		MockServerWebExchange changed = send(MockServerHttpRequest.get("/payment/1").ifNoneMatch("\"other\""));
+
+		assertEquals(HttpStatus.NOT_MODIFIED, notModified.getResponse().getStatusCode());
+		assertEquals("", body(notModified));
+		assertEquals(etag, notModified.getResponse().getHeaders().getETag());
+		assertEquals(HttpStatus.NOT_MODIFIED, weak.getResponse().getStatusCode());
+		assertEquals(HttpStatus.OK, changed.getResponse().getStatusCode());
+		assertEquals(1, service.calls.get());
+	}
+
+	@Test
+	void missWithMatchingIfNoneMatchAlsoGets304() {
+		// Unchanged body from the service: same ETag
+		service.body = "{\"id\":1}";
+		String etag = send(get("/payment/1")).getResponse().getHeaders().getETag();
+		advance(100);
+
+		MockServerWebExchange revalidated = send(MockServerHttpRequest.get("/payment/1").ifNoneMatch(etag));
+
+		assertEquals(2, service.calls.get());
+		assertEquals("MISS", cacheStatus(revalidated));
+		assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+	}
+
+	@Test
+	void expiredEntryGoesToTheService() {
+		send(get("/payment/1"));
+		advance(10);
+
+		assertEquals("MISS", cacheStatus(send(get("/payment/1"))));
+		assertEquals(2, service.calls.get());
+	}
+
+	@Test
+	void staleEntryReplacesAServerError() {
+		String cached = body(send(get("/payment/1")));
+		advance(30);
+		service.status = HttpStatus.SERVICE_UNAVAILABLE;
+
+		MockServerWebExchange stale = send(get("/payment/1"));
+
+		assertEquals(HttpStatus.OK, stale.getResponse().getStatusCode());
+		assertEquals("STALE-IF-ERROR", cacheStatus(stale));
+		assertEquals(cached, body(stale));
+	}
+
+	@Test
+	void staleEntryReplacesAConnectionError() {
+		send(get("/payment/1"));
+		advance(30);
+		service.error = new IllegalStateException("connection refused");
+
+		MockServerWebExchange stale = send(get("/payment/1"));
+
+		assertEquals(HttpStatus.OK, stale.getResponse().getStatusCode());
+		assertEquals("STALE-IF-ERROR", cacheStatus(stale));
+	}
+
+	@Test
+	void serverErrorIsPassedOnOnceStaleIfErrorHasRunOut() {
+		send(get("/payment/1"));
+		advance(71);
+		service.status = HttpStatus.SERVICE_UNAVAILABLE;
+
+		MockServerWebExchange failed = send(get("/payment/1"));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getResponse().getStatusCode());
+	}
+
+	@Test
+	void noCacheRequestGoesToTheService() {
+		send(get("/payment/1"));
+
+		MockServerWebExchange bypass = send(MockServerHttpRequest.get("/payment/1")
+				.header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+		assertEquals(2, service.calls.get());
+		assertEquals("MISS", cacheStatus(bypass));
+	}
+
+	@Test
+	void onlyCacheableResponsesAreStored() {
+		service.status = HttpStatus.NOT_FOUND;
+		send(get("/payment/1"));
+		service.status = HttpStatus.OK;
+		service.cacheControl = "no-store";
+		send(get("/payment/1"));
+		service.cacheControl = null;
+		service.body = "x".repeat(101);
+		send(get("/payment/1"));
+
+		send(get("/payment/1"));
+
+		assertEquals(4, service.calls.get());
+		assertEquals(0, filter.size());
+	}
+
+	@Test
+	void otherPathsAndMethodsAreNotCached() {
+		send(get("/payment/all"));
+		send(get("/payment/all"));
+		send(MockServerHttpRequest.post("/payment/1"));
+		send(MockServerHttpRequest.post("/payment/1"));
+
+		assertEquals(4, service.calls.get());
+		assertEquals(0, filter.size());
+	}
+
+	private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		filter.filter(exchange, service).block();
+		return exchange;
+	}
+
+	private static MockServerHttpRequest.BaseBuilder<?> get(String path) {
+		return MockServerHttpRequest.get(path).accept(MediaType.APPLICATION_JSON);
+	}
+
+	private static String cacheStatus(MockServerWebExchange exchange) {
+		return exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER);
+	}
+
+	private static String body(MockServerWebExchange exchange) {
+		return exchange.getResponse().getBodyAsString().defaultIfEmpty("").block();
+	}
+
+	private void advance(long seconds) {
+		clock[0] += TimeUnit.SECONDS.toNanos(seconds);
+	}
+
+	/**
+	 * Answers every call with the configured status and body, numbering the calls
+	 */
+	private static final class Service implements GatewayFilterChain {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private HttpStatus status = HttpStatus.OK;
+
+		private String body;
+
+		private String cacheControl;
+
+		private RuntimeException error;
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			int call = calls.incrementAndGet();
+			if (error != null) {
+				return Mono.error(error);
+			}
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(status);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			if (cacheControl != null) {
+				response.getHeaders().setCacheControl(cacheControl);
+			}
+			String content = body != null ? body : "{\"call\":" + call + "}";
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(content.getBytes())));
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package com.java.gateway.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Sends identical GETs through the coalescing filter to a fake service that
+ * holds its response until the test releases it, so the requests overlap.
+ */
+class RequestCoalescingFilterTest {
+
+	private final CoalescingProperties properties = new CoalescingProperties();
+
+	private final Service service = new Service();
+
+	private final Route route = Route.async()
+			.id("order-service")
+			.uri("lb://order-service")
+			.predicate(exchange -> true)
+			.build();
+
+	RequestCoalescingFilterTest() {
+		CoalescingProperties.Route policy = new CoalescingProperties.Route();
+		policy.setPaths(List.of("/order/{id:[0-9]+}"));
+		policy.setMaxWaiters(10);
+		properties.getRoutes().put("order-service", policy);
+		properties.setMaxBodySize(DataSize.ofKilobytes(1));
+	}
+
+	@Test
+	void waitingRequestsGetACopyOfTheLeadersResponse() {
+		RequestCoalescingFilter filter = filter();
+		List<MockServerWebExchange> exchanges = List.of(get("/order/1"), get("/order/1"), get("/order/1"));
+
+		List<CompletableFuture<Void>> results = run(filter, exchanges);
+		assertEquals(1, filter.inFlight());
+		service.respond("{\"id\":1}");
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(1, service.calls.get());
+		assertEquals(0, filter.inFlight());
+		for (MockServerWebExchange exchange : exchanges) {
+			assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+			assertEquals("{\"id\":1}", exchange.getResponse().getBodyAsString().block());
+		}
+		assertNull(exchanges.get(0).getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+		assertEquals("true", exchanges.get(1).getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+	}
+
+	@Test
+	void differentPathsAndUnconfiguredPathsAreNotCoalesced() {
+		RequestCoalescingFilter filter = filter();
+		List<CompletableFuture<Void>> results = run(filter,
+				List.of(get("/order/1"), get("/order/2"), get("/order/all"), get("/order/all")));
+		service.respond("{}");
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(4, service.calls.get());
+	}
+
+	@Test
+	void requestsWithCredentialsAreNotCoalesced() {
+		RequestCoalescingFilter filter = filter();
+		MockServerWebExchange withAuthorization = MockServerWebExchange.from(MockServerHttpRequest.get("/order/1")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+		withAuthorization.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+
+		List<CompletableFuture<Void>> results = run(filter, List.of(get("/order/1"), withAuthorization));
+		service.respond("{}");
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(2, service.calls.get());
+	}
+
+	@Test
+	void requestsBeyondMaxWaitersCallTheServiceThemselves() {
+		properties.getRoutes().get("order-service").setMaxWaiters(1);
+		RequestCoalescingFilter filter = filter();
+
+		List<CompletableFuture<Void>> results = run(filter, List.of(get("/order/1"), get("/order/1"), get("/order/1")));
+		service.respond("{}");
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(2, service.calls.get());
+	}
+
+	@Test
+	void bodyLargerThanMaxBodySizeIsStreamedAndNotShared() {
+		RequestCoalescingFilter filter = filter();
+		List<MockServerWebExchange> exchanges = List.of(get("/order/1"), get("/order/1"), get("/order/1"));
+
+		List<CompletableFuture<Void>> results = run(filter, exchanges);
+		// Two chunks without Content-Length, together over the 1KB limit
+		service.respond("a".repeat(600), "b".repeat(600));
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(3, service.calls.get());
+		for (MockServerWebExchange exchange : exchanges) {
+			assertEquals(1200, exchange.getResponse().getBodyAsString().block().length());
+			assertNull(exchange.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER));
+		}
+	}
+
+	@Test
+	void waitingRequestsFailWhenTheLeaderFails() {
+		RequestCoalescingFilter filter = filter();
+
+		List<CompletableFuture<Void>> results = run(filter, List.of(get("/order/1"), get("/order/1")));
+		service.fail(new IllegalStateException("connection refused"));
+
+		for (CompletableFuture<Void> result : results) {
+			assertThrows(Exception.class, result::join);
+		}
+		assertEquals(1, service.calls.get());
+		assertEquals(0, filter.inFlight());
+	}
+
+	private RequestCoalescingFilter filter() {
+		return new RequestCoalescingFilter(properties, new SimpleMeterRegistry());
+	}
+
+	private List<CompletableFuture<Void>> run(RequestCoalescingFilter filter, List<MockServerWebExchange> exchanges) {
+		List<CompletableFuture<Void>> results = new ArrayList<>();
+		for (MockServerWebExchange exchange : exchanges) {
+			results.add(filter.filter(exchange, service).toFuture());
+		}
+		return results;
+	}
+
+	private MockServerWebExchange get(String path) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path)
+				.accept(MediaType.APPLICATION_JSON));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+
+	/**
+	 * Counts calls and answers all of them once respond() or fail() is called
+	 */
+	private static final class Service implements GatewayFilterChain {
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		private final Sinks.One<List<String>> answer = Sinks.one();
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange) {
+			calls.incrementAndGet();
+			return answer.asMono().flatMap(chunks -> {
+				ServerHttpResponse response = exchange.getResponse();
+				response.setStatusCode(HttpStatus.OK);
+				response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+				return response.writeWith(Flux.fromIterable(chunks)
+						.map(chunk -> response.bufferFactory().wrap(chunk.getBytes())));
+			});
+		}
+
+		void respond(String... chunks) {
+			answer.tryEmitValue(Arrays.asList(chunks));
+		}
+
+		void fail(Throwable error) {
+			answer.tryEmitError(error);
+		}
+	}
+}
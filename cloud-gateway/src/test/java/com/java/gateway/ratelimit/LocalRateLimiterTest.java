@@ -0,0 +1,136 @@
+package com.java.gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Drives LocalRateLimiter on a virtual clock: 10 requests per second with
+ * bursts of 5 on the "orders" route.
+ */
+class LocalRateLimiterTest {
+
+	private final long[] clock = new long[1];
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final LocalRateLimiter limiter = new LocalRateLimiter(new RateLimitProperties(), null, meterRegistry,
+			() -> clock[0]);
+
+	LocalRateLimiterTest() {
+		limiter.getConfig().put("orders", new LocalRateLimiter.Config()
+				.setReplenishRate(10)
+				.setBurstCapacity(5));
+	}
+
+	@Test
+	void allowsABurstThenRejectsWithRetryAfter() {
+		for (int i = 4; i >= 0; i--) {
+			Response response = limiter.tryAcquire("orders", "ip:10.0.0.1");
+			assertTrue(response.isAllowed());
+			assertEquals(String.valueOf(i), response.getHeaders().get(LocalRateLimiter.REMAINING_HEADER));
+		}
+
+		Response rejected = limiter.tryAcquire("orders", "ip:10.0.0.1");
+		assertFalse(rejected.isAllowed());
+		assertEquals("0", rejected.getHeaders().get(LocalRateLimiter.REMAINING_HEADER));
+		assertEquals("1", rejected.getHeaders().get(HttpHeaders.RETRY_AFTER));
+		assertEquals(5, meterRegistry.get("gateway.ratelimit.requests").tag("outcome", "allowed").counter().count());
+		assertEquals(1, meterRegistry.get("gateway.ratelimit.requests").tag("outcome", "rejected").counter().count());
+	}
+
+	@Test
+	void refillsOneTokenPerReplenishInterval() {
+		drain("orders", "ip:10.0.0.1");
+
+		advance(99);
+		assertFalse(limiter.tryAcquire("orders", "ip:10.0.0.1").isAllowed());
+		advance(1);
+		assertTrue(limiter.tryAcquire("orders", "ip:10.0.0.1").isAllowed());
+		assertFalse(limiter.tryAcquire("orders", "ip:10.0.0.1").isAllowed());
+	}
+
+	@Test
+	void idleClientGetsNoMoreThanTheBurstCapacity() {
+		drain("orders", "ip:10.0.0.1");
+
+		advance(60_000);
+
+		assertEquals(5, drain("orders", "ip:10.0.0.1"));
+	}
+
+	@Test
+	void rejectedRequestsDoNotTakeTokens() {
+		drain("orders", "ip:10.0.0.1");
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire("orders", "ip:10.0.0.1");
+		}
+
+		advance(100);
+
+		assertTrue(limiter.tryAcquire("orders", "ip:10.0.0.1").isAllowed());
+	}
+
+	@Test
+	void bucketsArePerRouteAndClient() {
+		limiter.getConfig().put("payments", new LocalRateLimiter.Config()
+				.setReplenishRate(10)
+				.setBurstCapacity(2));
+		drain("orders", "ip:10.0.0.1");
+
+		assertEquals(5, drain("orders", "ip:10.0.0.2"));
+		assertEquals(2, drain("payments", "ip:10.0.0.1"));
+		assertEquals(3, limiter.size());
+	}
+
+	@Test
+	void requestedTokensAreTakenPerRequest() {
+		limiter.getConfig().put("bulk", new LocalRateLimiter.Config()
+				.setReplenishRate(10)
+				.setBurstCapacity(6)
+				.setRequestedTokens(3));
+
+		assertEquals(2, drain("bulk", "ip:10.0.0.1"));
+
+		// Three tokens take 300ms to come back
+		advance(200);
+		assertFalse(limiter.tryAcquire("bulk", "ip:10.0.0.1").isAllowed());
+		advance(100);
+		assertTrue(limiter.tryAcquire("bulk", "ip:10.0.0.1").isAllowed());
+	}
+
+	@Test
+	void routesWithoutTheirOwnLimitUseTheDefaults() {
+		// RateLimitProperties: 100 per second, bursts of 200
+		assertEquals(200, drain("unconfigured", "ip:10.0.0.1"));
+	}
+
+	@Test
+	void headersCanBeTurnedOff() {
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setIncludeHeaders(false);
+		LocalRateLimiter quiet = new LocalRateLimiter(properties, null, meterRegistry, () -> clock[0]);
+
+		assertTrue(quiet.tryAcquire("orders", "ip:10.0.0.1").getHeaders().isEmpty());
+	}
+
+	private int drain(String routeId, String id) {
+		int allowed = 0;
+		while (limiter.tryAcquire(routeId, id).isAllowed()) {
+			allowed++;
+		}
+		return allowed;
+	}
+
+	private void advance(long millis) {
+		clock[0] += TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+}
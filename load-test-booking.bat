@@ -0,0 +1,26 @@
+@echo off
+echo Order Booking Load Test (blocking vs reactive vs outbox mode)
+echo.
+echo Requires "hey" (https://github.com/rakyll/hey) on the PATH.
+echo Run once each with order.booking.mode=blocking, reactive and
+echo outbox in config-files/order-service.yml, restarting
+echo order-service in between, then compare the "Requests/sec"
+echo and "99%% in" latency lines of the runs.
+echo.
+
+set CONCURRENCY=%1
+if "%CONCURRENCY%"=="" set CONCURRENCY=400
+set REQUESTS=%2
+if "%REQUESTS%"=="" set REQUESTS=20000
+
+echo ========================================
+echo Booking %REQUESTS% orders with %CONCURRENCY% concurrent clients
+echo ========================================
+hey -n %REQUESTS% -c %CONCURRENCY% -m POST ^
+  -H "Content-Type: application/json" ^
+  -d "{\"order\":{\"name\":\"Laptop\",\"qty\":1,\"price\":50000.0},\"payment\":{\"paymentMode\":\"CARD\"}}" ^
+  http://localhost:8081/order/bookOrder
+
+echo.
+echo Load test completed!
+pause
@@ -0,0 +1,28 @@
+@echo off
+echo Payment Load Test (Tomcat/Hibernate vs WebFlux/R2DBC)
+echo.
+echo Requires "hey" (https://github.com/rakyll/hey) on the PATH.
+echo Start payment-service once normally and once with the reactive profile
+echo (after set PAYMENT_ID_NODE_ID=1):
+echo   mvn spring-boot:run -Dspring-boot.run.profiles=reactive
+echo then compare the "Requests/sec" and "99%% in" latency lines of both runs.
+echo Use an I/O-bound simulator profile (e.g. payment.simulator.profile=realistic)
+echo so the service waits on the gateway like it would in production.
+echo.
+
+set CONCURRENCY=%1
+if "%CONCURRENCY%"=="" set CONCURRENCY=400
+set REQUESTS=%2
+if "%REQUESTS%"=="" set REQUESTS=20000
+
+echo ========================================
+echo Sending %REQUESTS% payments with %CONCURRENCY% concurrent clients
+echo ========================================
+hey -n %REQUESTS% -c %CONCURRENCY% -m POST ^
+  -H "Content-Type: application/json" ^
+  -d "{\"orderId\":\"1\",\"amount\":50000.0,\"paymentMode\":\"CARD\"}" ^
+  http://localhost:8082/payment/doPayment
+
+echo.
+echo Load test completed!
+pause
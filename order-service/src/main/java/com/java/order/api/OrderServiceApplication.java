@@ -1,11 +1,22 @@
 package com.java.order.api;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.java.order.api.loadbalancer.PeakEwmaLoadBalancerConfiguration;
 
 /**
  * Order Service Application - Order Management Microservice
@@ -17,13 +28,18 @@ import org.springframework.web.client.RestTemplate;
  * - Order Management: Create, read, update orders
  * - Payment Integration: Communicates with Payment Service
  * - Service Discovery: Registers with Eureka Server
- * - Load Balancing: Uses client-side load balancing
+ * - Load Balancing: Latency-aware client-side load balancing (peak EWMA)
+ * - Non-blocking Booking: Optional reactive mode using a load-balanced WebClient
+ * - Virtual Threads: Optional Java 21 virtual-thread mode (spring.threads.virtual.enabled)
+ * - Order Cache: Bounded Caffeine cache in front of GET /order/{id}
+ * - Transactional Outbox: Optional background payment dispatch (order.booking.mode=outbox)
  * - Distributed Tracing: Integrated with Zipkin
  * - Database: Uses H2 in-memory database
  * - Configuration: Fetches config from Config Server
  * 
  * API Endpoints:
  * - POST /order/bookOrder - Create new order with payment
+ * - POST /order/bookOrders - Create orders in bulk with one payment call
  * - GET /order/all - Get all orders
  * - GET /order/{id} - Get order by ID
  * 
@@ -35,6 +51,11 @@ import org.springframework.web.client.RestTemplate;
  */
 @SpringBootApplication  // Enables Spring Boot auto-configuration
 @EnableEurekaClient    // Register this service with Eureka Server
+@ConfigurationPropertiesScan  // Bind order.* settings served by Config Server
+@EnableAsync           // @Async work runs on applicationTaskExecutor (virtual threads when enabled)
+@EnableCaching         // Read-through order cache (sized from Config Server)
+@EnableScheduling      // Background workers (outbox dispatcher)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)  // Prefer fast instances
 public class OrderServiceApplication {
 
 	/**
@@ -44,12 +65,36 @@ public class OrderServiceApplication {
 	 * The @LoadBalanced annotation enables client-side load balancing
 	 * using service names instead of hardcoded URLs.
 	 * 
+	 * Requests go through a pooled Apache HttpClient with per-service
+	 * timeouts and connection limits (see PooledHttpClientConfiguration).
+	 * 
+	 * @param pooledRequestFactory Request factory backed by the connection pool
 	 * @return RestTemplate instance with load balancing capability
 	 */
 	@Bean
 	@LoadBalanced  // Enable client-side load balancing
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory pooledRequestFactory) {
+		return new RestTemplate(pooledRequestFactory);
+	}
+
+	/**
+	 * WebClient Builder Bean Configuration
+	 * 
+	 * Creates a load-balanced WebClient.Builder for the reactive booking mode.
+	 * Like the RestTemplate above, the @LoadBalanced annotation lets calls use
+	 * service names (http://payment-service/...) resolved through Eureka.
+	 * Spring Boot's WebClient customizers are applied so tracing and codec
+	 * settings match the auto-configured builder.
+	 * 
+	 * @param customizers Spring Boot WebClient customizers (tracing, codecs)
+	 * @return WebClient.Builder with load balancing capability
+	 */
+	@Bean
+	@LoadBalanced  // Enable client-side load balancing
+	public WebClient.Builder webClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+		WebClient.Builder builder = WebClient.builder();
+		customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+		return builder;
 	}
 
 	/**
@@ -1,5 +1,9 @@
 package com.java.order.api.common;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,18 +13,25 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Payment {
 
-	private int paymentId;
+	// Snowflake IDs are sent as JSON strings (too large for JavaScript numbers);
+	// payment-service answers the same way and Jackson reads them back as long
+	@JsonSerialize(using = ToStringSerializer.class)
+	private long paymentId;
+	// payment-service answers with "paymentStatus" (SUCCESS / FAILED)
+	@JsonAlias("paymentStatus")
 	private String status;
 
 	private String transactionId;
-	private int orderId;
+	@JsonSerialize(using = ToStringSerializer.class)
+	private long orderId;
 	private double amount;
+	private String paymentMode;
 
-	public int getPaymentId() {
+	public long getPaymentId() {
 		return paymentId;
 	}
 
-	public void setPaymentId(int paymentId) {
+	public void setPaymentId(long paymentId) {
 		this.paymentId = paymentId;
 	}
 
@@ -40,11 +51,11 @@ public class Payment {
 		this.transactionId = transactionId;
 	}
 
-	public int getOrderId() {
+	public long getOrderId() {
 		return orderId;
 	}
 
-	public void setOrderId(int orderId) {
+	public void setOrderId(long orderId) {
 		this.orderId = orderId;
 	}
 
@@ -56,7 +67,15 @@ public class Payment {
 		this.amount = amount;
 	}
 
-	public Payment(int paymentId, String status, String transactionId, int orderId, double amount) {
+	public String getPaymentMode() {
+		return paymentMode;
+	}
+
+	public void setPaymentMode(String paymentMode) {
+		this.paymentMode = paymentMode;
+	}
+
+	public Payment(long paymentId, String status, String transactionId, long orderId, double amount) {
 		super();
 		this.paymentId = paymentId;
 		this.status = status;
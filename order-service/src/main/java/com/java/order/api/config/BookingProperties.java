@@ -0,0 +1,56 @@
+package com.java.order.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Booking Properties - Configuration for the order booking flow
+ * 
+ * Bound from the "order.booking" prefix, so the mode can be switched
+ * per environment through Config Server (order-service.yml).
+ * 
+ * Example:
+ * order:
+ *   booking:
+ *     mode: reactive
+ *     max-batch-size: 500
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.booking")
+public class BookingProperties {
+
+	/**
+	 * How POST /order/bookOrder calls Payment Service
+	 */
+	public enum Mode {
+		/** RestTemplate call - holds the Tomcat worker thread until payment-service answers */
+		BLOCKING,
+		/** Load-balanced WebClient call - the Tomcat thread is released while payment is in flight */
+		REACTIVE,
+		/** Order + outbox row in one local transaction, PENDING response, payment dispatched in background */
+		OUTBOX
+	}
+
+	// Booking execution mode (default keeps the original blocking behaviour)
+	private Mode mode = Mode.BLOCKING;
+
+	// Most orders accepted by one POST /order/bookOrders call (larger batches get 400)
+	private int maxBatchSize = 500;
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+}
@@ -0,0 +1,67 @@
+package com.java.order.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.java.order.api.limit.ConcurrencyLimitFilter;
+import com.java.order.api.limit.GradientConcurrencyLimiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Concurrency Limit Configuration - Adaptive limiter on the booking endpoints
+ * 
+ * Registers the ConcurrencyLimitFilter for order.concurrency-limit.paths,
+ * ahead of the other filters so rejected requests cost as little as
+ * possible. Disabled with order.concurrency-limit.enabled=false.
+ * 
+ * Metrics (tag limiter=order-writes):
+ * - concurrency.limit: current limit
+ * - concurrency.limit.inflight: requests holding a permit
+ * - concurrency.limit.requests{outcome}: accepted / rejected requests
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "order.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+	private static final String LIMITER_NAME = "order-writes";
+
+	@Bean
+	public GradientConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties) {
+		return new GradientConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+				properties.getMaxLimit(), properties.getRttTolerance(), properties.getSmoothing(),
+				properties.getLongWindow());
+	}
+
+	@Bean
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(GradientConcurrencyLimiter concurrencyLimiter,
+			ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(concurrencyLimiter, properties.getRetryAfter(), LIMITER_NAME, meterRegistry));
+		registration.setUrlPatterns(properties.getPaths());
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+
+	@Bean
+	public MeterBinder concurrencyLimiterMetrics(GradientConcurrencyLimiter concurrencyLimiter) {
+		return registry -> {
+			Gauge.builder("concurrency.limit", concurrencyLimiter, GradientConcurrencyLimiter::getLimit)
+					.description("Current adaptive concurrency limit")
+					.tag("limiter", LIMITER_NAME)
+					.register(registry);
+			Gauge.builder("concurrency.limit.inflight", concurrencyLimiter, GradientConcurrencyLimiter::getInFlight)
+					.description("Requests currently holding a concurrency permit")
+					.tag("limiter", LIMITER_NAME)
+					.register(registry);
+		};
+	}
+}
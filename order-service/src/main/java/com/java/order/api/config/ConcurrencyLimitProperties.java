@@ -0,0 +1,127 @@
+package com.java.order.api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Concurrency Limit Properties - Adaptive load shedding on write endpoints
+ * 
+ * Bound from the "order.concurrency-limit" prefix. The limiter starts at
+ * initialLimit concurrent requests and adapts between minLimit and maxLimit
+ * from the observed response times. Requests over the limit get 503 with
+ * a Retry-After header.
+ * 
+ * Example:
+ * order:
+ *   concurrency-limit:
+ *     max-limit: 100
+ *     rtt-tolerance: 2.0
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+	// Turn the limiter off (all requests are admitted)
+	private boolean enabled = true;
+
+	// Servlet URL patterns guarded by the limiter
+	private List<String> paths = new ArrayList<>(List.of("/order/bookOrder", "/order/bookOrders"));
+
+	// Concurrent requests admitted before any response time is observed
+	private int initialLimit = 20;
+
+	// The limit never drops below this, however slow responses get
+	private int minLimit = 4;
+
+	// The limit never grows above this (e.g. size of the DB or HTTP client pool)
+	private int maxLimit = 200;
+
+	// How much slower than the long-term average a response may be before the limit shrinks
+	private double rttTolerance = 1.5;
+
+	// Fraction of each new limit estimate applied (0..1, lower is steadier)
+	private double smoothing = 0.2;
+
+	// Number of samples averaged into the long-term response time
+	private int longWindow = 600;
+
+	// Retry-After sent with a 503 rejection
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<String> getPaths() {
+		return paths;
+	}
+
+	public void setPaths(List<String> paths) {
+		this.paths = paths;
+	}
+
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	public void setInitialLimit(int initialLimit) {
+		this.initialLimit = initialLimit;
+	}
+
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	public void setMinLimit(int minLimit) {
+		this.minLimit = minLimit;
+	}
+
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	public void setMaxLimit(int maxLimit) {
+		this.maxLimit = maxLimit;
+	}
+
+	public double getRttTolerance() {
+		return rttTolerance;
+	}
+
+	public void setRttTolerance(double rttTolerance) {
+		this.rttTolerance = rttTolerance;
+	}
+
+	public double getSmoothing() {
+		return smoothing;
+	}
+
+	public void setSmoothing(double smoothing) {
+		this.smoothing = smoothing;
+	}
+
+	public int getLongWindow() {
+		return longWindow;
+	}
+
+	public void setLongWindow(int longWindow) {
+		this.longWindow = longWindow;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+	public void setRetryAfter(Duration retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+}
@@ -0,0 +1,52 @@
+package com.java.order.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Deferred Payment Properties - Retry queue for payments not sent to payment-service
+ * 
+ * Bound from the "order.deferred-payment" prefix. When the payment-service
+ * circuit breaker is open (or its bulkhead is full), bookings are saved as
+ * PENDING and their payments wait in a bounded in-memory queue. The poll
+ * interval is read directly by the scheduler
+ * (order.deferred-payment.poll-interval-ms).
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.deferred-payment")
+public class DeferredPaymentProperties {
+
+	// Payments held at most; when full, new bookings fail with PAYMENT_FAILED
+	private int queueCapacity = 10_000;
+
+	// Payments sent to payment-service in one bulk call
+	private int batchSize = 100;
+
+	// Failed bulk calls (breaker closed) before a payment is given up as PAYMENT_FAILED
+	private int maxAttempts = 5;
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+}
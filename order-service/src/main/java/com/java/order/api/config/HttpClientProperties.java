@@ -0,0 +1,147 @@
+package com.java.order.api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * HTTP Client Properties - Connection pool settings for outbound calls
+ * 
+ * Bound from the "order.http-client" prefix. Pool-wide limits apply to the
+ * whole client; connection, timeout and keep-alive settings can be set per
+ * target service (Eureka service ID) under "services", falling back to
+ * "defaults".
+ * 
+ * Example:
+ * order:
+ *   http-client:
+ *     max-total: 200
+ *     services:
+ *       payment-service:
+ *         max-connections-per-instance: 50
+ *         read-timeout: 3s
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.http-client")
+public class HttpClientProperties {
+
+	// Maximum pooled connections across all target services
+	private int maxTotal = 200;
+
+	// Idle pooled connections older than this are closed by a background thread
+	private Duration idleEviction = Duration.ofSeconds(30);
+
+	// Settings for services without their own entry
+	private Service defaults = new Service();
+
+	// Settings per target service ID (e.g. payment-service)
+	private Map<String, Service> services = new LinkedHashMap<>();
+
+	/**
+	 * Per-service connection settings
+	 */
+	public static class Service {
+
+		// Maximum pooled connections to one instance of the service
+		private int maxConnectionsPerInstance = 50;
+
+		// TCP connect timeout
+		private Duration connectTimeout = Duration.ofSeconds(2);
+
+		// Maximum wait for response data (socket read timeout)
+		private Duration readTimeout = Duration.ofSeconds(5);
+
+		// Maximum wait to lease a connection from a saturated pool
+		private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+		// How long an idle connection is kept alive for reuse
+		private Duration keepAlive = Duration.ofSeconds(30);
+
+		public int getMaxConnectionsPerInstance() {
+			return maxConnectionsPerInstance;
+		}
+
+		public void setMaxConnectionsPerInstance(int maxConnectionsPerInstance) {
+			this.maxConnectionsPerInstance = maxConnectionsPerInstance;
+		}
+
+		public Duration getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Duration connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Duration getReadTimeout() {
+			return readTimeout;
+		}
+
+		public void setReadTimeout(Duration readTimeout) {
+			this.readTimeout = readTimeout;
+		}
+
+		public Duration getConnectionRequestTimeout() {
+			return connectionRequestTimeout;
+		}
+
+		public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+			this.connectionRequestTimeout = connectionRequestTimeout;
+		}
+
+		public Duration getKeepAlive() {
+			return keepAlive;
+		}
+
+		public void setKeepAlive(Duration keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+	}
+
+	public int getMaxTotal() {
+		return maxTotal;
+	}
+
+	public void setMaxTotal(int maxTotal) {
+		this.maxTotal = maxTotal;
+	}
+
+	public Duration getIdleEviction() {
+		return idleEviction;
+	}
+
+	public void setIdleEviction(Duration idleEviction) {
+		this.idleEviction = idleEviction;
+	}
+
+	public Service getDefaults() {
+		return defaults;
+	}
+
+	public void setDefaults(Service defaults) {
+		this.defaults = defaults;
+	}
+
+	public Map<String, Service> getServices() {
+		return services;
+	}
+
+	public void setServices(Map<String, Service> services) {
+		this.services = services;
+	}
+
+	/**
+	 * Settings for a target service
+	 * 
+	 * @param serviceId Eureka service ID (may be null for non load-balanced hosts)
+	 * @return The service's own settings, or the defaults
+	 */
+	public Service forService(String serviceId) {
+		Service service = serviceId != null ? services.get(serviceId) : null;
+		return service != null ? service : defaults;
+	}
+}
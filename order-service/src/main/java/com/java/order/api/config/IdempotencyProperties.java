@@ -0,0 +1,40 @@
+package com.java.order.api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Idempotency Properties - Configuration for Idempotency-Key handling
+ * 
+ * Bound from the "order.idempotency" prefix. Controls how long a booking
+ * response is kept for replay and how many keys stay in memory.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.idempotency")
+public class IdempotencyProperties {
+
+	// How long a stored response can be replayed for the same key
+	private Duration ttl = Duration.ofHours(24);
+
+	// Maximum keys held in memory (older keys are still found in IDEMPOTENCY_TB)
+	private long maxEntries = 100_000;
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+
+	public long getMaxEntries() {
+		return maxEntries;
+	}
+
+	public void setMaxEntries(long maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+}
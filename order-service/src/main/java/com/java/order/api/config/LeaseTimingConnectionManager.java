@@ -0,0 +1,74 @@
+package com.java.order.api.config;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.util.Timeout;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Lease Timing Connection Manager - Pooling manager that times connection leases
+ * 
+ * Records how long each request waits for a pooled connection as the
+ * "http.client.pool.lease.wait" timer, tagged by target service and outcome
+ * (acquired, timeout, error). Growing wait times or timeout counts show
+ * that the pool for a service is saturated.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class LeaseTimingConnectionManager extends PoolingHttpClientConnectionManager {
+
+	private final MeterRegistry meterRegistry;
+
+	// Maps a pool route to the service ID used as metric tag
+	private final Function<HttpRoute, String> serviceResolver;
+
+	public LeaseTimingConnectionManager(MeterRegistry meterRegistry, Function<HttpRoute, String> serviceResolver) {
+		this.meterRegistry = meterRegistry;
+		this.serviceResolver = serviceResolver;
+	}
+
+	@Override
+	public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+		LeaseRequest lease = super.lease(id, route, requestTimeout, state);
+		String service = serviceResolver.apply(route);
+		return new LeaseRequest() {
+
+			@Override
+			public ConnectionEndpoint get(Timeout timeout)
+					throws InterruptedException, ExecutionException, TimeoutException {
+				long start = System.nanoTime();
+				String outcome = "error";
+				try {
+					ConnectionEndpoint endpoint = lease.get(timeout);
+					outcome = "acquired";
+					return endpoint;
+				} catch (TimeoutException e) {
+					outcome = "timeout";
+					throw e;
+				} finally {
+					Timer.builder("http.client.pool.lease.wait")
+							.description("Time spent waiting for a pooled HTTP connection")
+							.tag("service", service)
+							.tag("outcome", outcome)
+							.register(meterRegistry)
+							.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+			}
+
+			@Override
+			public boolean cancel() {
+				return lease.cancel();
+			}
+		};
+	}
+}
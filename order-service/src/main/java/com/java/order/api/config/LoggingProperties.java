@@ -0,0 +1,106 @@
+package com.java.order.api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Logging Properties - Low-overhead logging mode for the request hot paths
+ * 
+ * Bound from the "order.logging" prefix. mode and sampling are read by
+ * logback-spring.xml when logging starts, so changing them needs a restart;
+ * they are listed here so they are documented and validated with the rest
+ * of the configuration.
+ * 
+ * Example (production):
+ * order:
+ *   logging:
+ *     mode: async
+ *     sampling:
+ *       rate: 10
+ *       loggers: com.java.order.api.controller,com.java.order.api.service
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.logging")
+public class LoggingProperties {
+
+	/**
+	 * How log events reach the console and the log file
+	 */
+	public enum Mode {
+		/** Written by the request thread (default) */
+		SYNC,
+		/** Queued and written by a background thread; INFO/DEBUG dropped when the queue is full */
+		ASYNC
+	}
+
+	private Mode mode = Mode.SYNC;
+
+	// Events held by the async queue
+	private int queueSize = 8192;
+
+	// Requests slower than this are logged at WARN (0 disables the filter)
+	private Duration slowRequestThreshold = Duration.ofMillis(500);
+
+	private final Sampling sampling = new Sampling();
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	public int getQueueSize() {
+		return queueSize;
+	}
+
+	public void setQueueSize(int queueSize) {
+		this.queueSize = queueSize;
+	}
+
+	public Duration getSlowRequestThreshold() {
+		return slowRequestThreshold;
+	}
+
+	public void setSlowRequestThreshold(Duration slowRequestThreshold) {
+		this.slowRequestThreshold = slowRequestThreshold;
+	}
+
+	public Sampling getSampling() {
+		return sampling;
+	}
+
+	/**
+	 * Sampling of success-path DEBUG/INFO lines
+	 */
+	public static class Sampling {
+
+		// Keep 1 in rate events per logger (1 keeps everything)
+		private int rate = 1;
+
+		// Loggers (and their children) that are sampled
+		private List<String> loggers = new ArrayList<>();
+
+		public int getRate() {
+			return rate;
+		}
+
+		public void setRate(int rate) {
+			this.rate = rate;
+		}
+
+		public List<String> getLoggers() {
+			return loggers;
+		}
+
+		public void setLoggers(List<String> loggers) {
+			this.loggers = loggers;
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.java.order.api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Outbox Properties - Configuration for the background payment dispatcher
+ * 
+ * Used when order.booking.mode is OUTBOX. Bound from the "order.outbox"
+ * prefix so batch size and retry policy can be tuned through Config Server.
+ * The poll interval is read directly by the scheduler
+ * (order.outbox.poll-interval-ms).
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "order.outbox")
+public class OutboxProperties {
+
+	// Maximum outbox rows sent to payment-service in one bulk call
+	private int batchSize = 100;
+
+	// Attempts before an outbox row is given up and the order marked PAYMENT_FAILED
+	private int maxAttempts = 5;
+
+	// Delay before the first retry; doubled on every further attempt
+	private Duration retryBackoff = Duration.ofSeconds(1);
+
+	// Upper bound for the retry delay
+	private Duration maxRetryBackoff = Duration.ofMinutes(1);
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	public Duration getRetryBackoff() {
+		return retryBackoff;
+	}
+
+	public void setRetryBackoff(Duration retryBackoff) {
+		this.retryBackoff = retryBackoff;
+	}
+
+	public Duration getMaxRetryBackoff() {
+		return maxRetryBackoff;
+	}
+
+	public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+		this.maxRetryBackoff = maxRetryBackoff;
+	}
+}
@@ -0,0 +1,168 @@
+package com.java.order.api.config;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled HTTP Client Configuration - Apache HttpClient 5 behind the RestTemplate
+ * 
+ * Replaces the JDK SimpleClientHttpRequestFactory (no pool, no timeouts)
+ * with a pooled, keep-alive HTTP client:
+ * - Connection pool with a total limit and a limit per service instance
+ * - Connect, read and pool-lease timeouts per target service
+ * - Keep-alive reuse and background eviction of idle/expired connections
+ * - Pool metrics: httpcomponents.httpclient.pool.* (totals),
+ *   http.client.pool.route.* (per instance), http.client.pool.lease.wait
+ * 
+ * The @LoadBalanced interceptor rewrites http://payment-service/... to an
+ * instance's host:port before the request reaches the pool. A load balancer
+ * request transformer records which service each host:port belongs to, so
+ * per-service settings can be applied to the pool routes.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+public class PooledHttpClientConfiguration {
+
+	// host:port of every load-balanced instance seen so far -> Eureka service ID
+	private final Map<String, String> instanceServices = new ConcurrentHashMap<>();
+
+	/**
+	 * Connection pool shared by all outbound RestTemplate calls
+	 */
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager pooledConnectionManager(HttpClientProperties properties,
+			MeterRegistry meterRegistry) {
+		LeaseTimingConnectionManager manager = new LeaseTimingConnectionManager(meterRegistry,
+				route -> serviceTag(route.getTargetHost()));
+		manager.setMaxTotal(properties.getMaxTotal());
+		manager.setDefaultMaxPerRoute(properties.getDefaults().getMaxConnectionsPerInstance());
+		manager.setConnectionConfigResolver(route -> {
+			HttpClientProperties.Service service = properties.forService(serviceOf(route.getTargetHost()));
+			return ConnectionConfig.custom()
+					.setConnectTimeout(Timeout.of(service.getConnectTimeout()))
+					.setSocketTimeout(Timeout.of(service.getReadTimeout()))
+					.build();
+		});
+		return manager;
+	}
+
+	/**
+	 * Pooled HTTP client with keep-alive and idle connection eviction
+	 */
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager pooledConnectionManager,
+			HttpClientProperties properties) {
+		return HttpClients.custom()
+				.setConnectionManager(pooledConnectionManager)
+				.evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+				.evictExpiredConnections()
+				.build();
+	}
+
+	/**
+	 * Request factory for the load-balanced RestTemplate
+	 * 
+	 * Applies the target service's lease timeout, read timeout and keep-alive
+	 * to every request.
+	 */
+	@Bean
+	public HttpComponentsClientHttpRequestFactory pooledRequestFactory(CloseableHttpClient pooledHttpClient,
+			HttpClientProperties properties) {
+		HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(pooledHttpClient);
+		factory.setHttpContextFactory((method, uri) -> {
+			HttpClientProperties.Service service = properties.forService(serviceOf(uri));
+			HttpClientContext context = HttpClientContext.create();
+			context.setRequestConfig(RequestConfig.custom()
+					.setConnectionRequestTimeout(Timeout.of(service.getConnectionRequestTimeout()))
+					.setResponseTimeout(Timeout.of(service.getReadTimeout()))
+					.setConnectionKeepAlive(TimeValue.of(service.getKeepAlive()))
+					.build());
+			return context;
+		});
+		return factory;
+	}
+
+	/**
+	 * Records the service of each load-balanced instance
+	 * 
+	 * Called by the @LoadBalanced interceptor with the chosen instance. The
+	 * first time an instance is seen, its pool route gets the service's
+	 * connection limit and per-instance pool gauges are registered.
+	 */
+	@Bean
+	public LoadBalancerRequestTransformer serviceRouteTransformer(PoolingHttpClientConnectionManager pooledConnectionManager,
+			HttpClientProperties properties, MeterRegistry meterRegistry) {
+		return (request, instance) -> {
+			String instanceKey = instance.getHost() + ":" + instance.getPort();
+			if (instanceServices.putIfAbsent(instanceKey, instance.getServiceId()) == null) {
+				HttpRoute route = new HttpRoute(new HttpHost(instance.isSecure() ? "https" : "http",
+						instance.getHost(), instance.getPort()));
+				pooledConnectionManager.setMaxPerRoute(route,
+						properties.forService(instance.getServiceId()).getMaxConnectionsPerInstance());
+				registerRouteGauges(pooledConnectionManager, route, instance.getServiceId(), instanceKey, meterRegistry);
+			}
+			return request;
+		};
+	}
+
+	/**
+	 * Pool-wide gauges: leased, pending, available and max connections
+	 */
+	@Bean
+	public MeterBinder pooledConnectionManagerMetrics(PoolingHttpClientConnectionManager pooledConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(pooledConnectionManager, "order-service");
+	}
+
+	private void registerRouteGauges(PoolingHttpClientConnectionManager manager, HttpRoute route,
+			String serviceId, String instanceKey, MeterRegistry meterRegistry) {
+		Gauge.builder("http.client.pool.route.leased", manager, m -> m.getStats(route).getLeased())
+				.description("Connections leased to requests for one service instance")
+				.tags("service", serviceId, "instance", instanceKey)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.route.pending", manager, m -> m.getStats(route).getPending())
+				.description("Requests waiting for a connection to one service instance")
+				.tags("service", serviceId, "instance", instanceKey)
+				.register(meterRegistry);
+		Gauge.builder("http.client.pool.route.max", manager, m -> m.getStats(route).getMax())
+				.description("Connection limit for one service instance")
+				.tags("service", serviceId, "instance", instanceKey)
+				.register(meterRegistry);
+	}
+
+	private String serviceOf(HttpHost host) {
+		return instanceServices.get(host.getHostName() + ":" + host.getPort());
+	}
+
+	private String serviceOf(URI uri) {
+		int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+		return instanceServices.get(uri.getHost() + ":" + port);
+	}
+
+	private String serviceTag(HttpHost host) {
+		String service = serviceOf(host);
+		return service != null ? service : host.getHostName();
+	}
+}
@@ -1,16 +1,31 @@
 package com.java.order.api.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.java.order.api.common.TransactionRequest;
 import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.config.BookingProperties;
 import com.java.order.api.entity.Order;
+import com.java.order.api.service.IdempotencyStore;
 import com.java.order.api.service.OrderService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Order Controller - REST API endpoints for Order Management
@@ -20,6 +35,8 @@ import java.util.List;
  * 
  * Key Features:
  * - Order Creation: Creates orders and processes payments
+ * - Booking Modes: Blocking, non-blocking or outbox payment dispatch (order.booking.mode)
+ * - Idempotent Booking: Optional Idempotency-Key header prevents duplicate orders on retry
  * - Order Retrieval: Fetches orders by ID or all orders
  * - Distributed Tracing: All requests are traced with Zipkin
  * - Structured Logging: Logs include trace/span IDs for correlation
@@ -27,7 +44,9 @@ import java.util.List;
  * 
  * API Endpoints:
  * - POST /order/bookOrder - Create order with payment processing
- * - GET /order/all - Retrieve all orders
+ * - POST /order/bookOrders - Create orders in bulk with one payment call
+ * - GET /order/all - Retrieve all orders (or one keyset page with ?after=&limit=)
+ * - GET /order/all/stream - Stream all orders as NDJSON
  * - GET /order/{id} - Retrieve specific order by ID
  * 
  * @author Learning Project
@@ -40,6 +59,28 @@ public class OrderController {
 	// Dependency injection for Order Service
 	@Autowired
 	private OrderService orderService;
+
+	// Booking settings from Config Server (booking mode, bulk batch limit)
+	@Autowired
+	private BookingProperties bookingProperties;
+
+	// De-duplicates bookings that carry an Idempotency-Key header
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
+	// Spring Boot's ObjectMapper - used to write NDJSON rows one at a time
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// Longest accepted Idempotency-Key (matches IDEMPOTENCY_TB key column)
+	private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+	// Keyset pagination limits
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	// Flush the NDJSON stream to the client every N rows
+	private static final int STREAM_FLUSH_ROWS = 100;
 	
 	// Logger for structured logging with trace correlation
 	private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
@@ -50,35 +91,153 @@ public class OrderController {
 	 * This endpoint creates a new order and processes payment through Payment Service.
 	 * It demonstrates microservice communication and distributed transaction handling.
 	 * 
+	 * In REACTIVE mode the returned future completes after the non-blocking
+	 * payment call, so Spring MVC releases the Tomcat worker thread meanwhile.
+	 * In OUTBOX mode the order is accepted as PENDING and paid in the background.
+	 * In BLOCKING mode the future is already complete when returned.
+	 * 
+	 * With an Idempotency-Key header, a repeated request with the same key
+	 * (client retry, gateway fallback) gets the stored response of the first
+	 * booking instead of creating a second order and payment.
+	 * 
+	 * @param idempotencyKey Optional Idempotency-Key header (max 128 characters)
 	 * @param request TransactionRequest containing order and payment details
 	 * @return TransactionResponse with order and payment status
 	 */
 	@PostMapping("/bookOrder")
-	public TransactionResponse bookOrder(@RequestBody TransactionRequest request) {
+	public CompletableFuture<TransactionResponse> bookOrder(
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+			@RequestBody TransactionRequest request) {
 		// Log incoming request with trace correlation
 		logger.info("Order booking request received: {}", request.getOrder().getName());
 		
-		// Process order through service layer
-		TransactionResponse response = orderService.saveOrder(request);
+		// Process order through service layer (at most once per Idempotency-Key)
+		CompletableFuture<TransactionResponse> response;
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			response = book(request);
+		} else if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+		} else {
+			response = idempotencyStore.execute(idempotencyKey, () -> book(request));
+		}
 		
 		// Log completion status
-		logger.info("Order booking completed with status: {}", response.getMessage());
+		return response.thenApply(result -> {
+			logger.info("Order booking completed with status: {}", result.getMessage());
+			return result;
+		});
+	}
+
+	// Run the booking in the configured mode
+	private CompletableFuture<TransactionResponse> book(TransactionRequest request) {
+		return switch (bookingProperties.getMode()) {
+			case REACTIVE -> orderService.saveOrderAsync(request);
+			case OUTBOX -> CompletableFuture.completedFuture(orderService.saveOrderWithOutbox(request));
+			default -> CompletableFuture.completedFuture(orderService.saveOrder(request));
+		};
+	}
+
+	/**
+	 * Create Orders in Bulk
+	 * 
+	 * Books a burst of orders in one HTTP call. Payments are sent to
+	 * Payment Service in a single bulk request and orders are written
+	 * with JDBC batch inserts.
+	 * 
+	 * The batch must hold between 1 and order.booking.max-batch-size
+	 * requests, each with an order; otherwise the call is rejected with
+	 * 400 before anything is saved.
+	 * 
+	 * @param requests TransactionRequests containing order and payment details
+	 * @return One TransactionResponse per request, in request order
+	 */
+	@PostMapping("/bookOrders")
+	public List<TransactionResponse> bookOrders(@RequestBody List<TransactionRequest> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No orders to book");
+		}
+		if (requests.size() > bookingProperties.getMaxBatchSize()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"At most " + bookingProperties.getMaxBatchSize() + " orders can be booked per call");
+		}
+		for (TransactionRequest request : requests) {
+			if (request == null || request.getOrder() == null) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every booking needs an order");
+			}
+		}
+		logger.info("Bulk order booking request received for {} orders", requests.size());
 		
-		return response;
+		List<TransactionResponse> responses = orderService.saveOrders(requests);
+		
+		logger.info("Bulk order booking completed for {} orders", responses.size());
+		return responses;
 	}
 	
 	/**
 	 * Get All Orders
 	 * 
-	 * Retrieves all orders from the database.
-	 * Useful for admin dashboards and order management.
+	 * Without parameters, retrieves all orders from the database.
+	 * With ?after=&lt;id&gt;&amp;limit=&lt;n&gt;, returns one keyset page instead:
+	 * orders with an ID greater than after, in ID order. When the page is
+	 * full, the X-Next-After header carries the cursor for the next page.
 	 * 
-	 * @return List of all orders
+	 * @param after Cursor - last order ID already seen (optional)
+	 * @param limit Page size, capped at 1000 (optional)
+	 * @return List of orders
 	 */
 	@GetMapping("/all")
-	public List<Order> getAllOrders() {
-		logger.info("Fetching all orders");
-		return orderService.getAllOrders();
+	public ResponseEntity<List<Order>> getAllOrders(@RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer limit) {
+		if (after == null && limit == null) {
+			logger.info("Fetching all orders");
+			return ResponseEntity.ok(orderService.getAllOrders());
+		}
+
+		int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+		logger.info("Fetching orders after ID: {}, limit: {}", after, pageSize);
+		List<Order> orders = orderService.getOrdersAfter(after != null ? after : 0L, pageSize);
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (orders.size() == pageSize) {
+			response.header("X-Next-After", String.valueOf(orders.get(orders.size() - 1).getId()));
+		}
+		return response.body(orders);
+	}
+
+	/**
+	 * Stream All Orders (NDJSON)
+	 * 
+	 * Writes every order as one JSON document per line while rows are
+	 * read from a forward-only JDBC cursor. Nothing is collected in memory,
+	 * so heap use stays flat regardless of table size.
+	 * 
+	 * @return Streaming response with content type application/x-ndjson
+	 */
+	@GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+		logger.info("Streaming all orders");
+		StreamingResponseBody body = out -> {
+			// Flushing is done in chunks below rather than after every value
+			ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);  // Lines are separated by the newline written below
+				int[] rows = {0};
+				orderService.streamAllOrders(order -> {
+					try {
+						writer.writeValue(generator, order);
+						generator.writeRaw('\n');
+						if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+							generator.flush();
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				logger.info("Streamed {} orders", rows[0]);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
 	}
 	
 	/**
@@ -0,0 +1,156 @@
+package com.java.order.api.diagnostics;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Virtual Thread Pinning Endpoint - Diagnostics for virtual-thread mode
+ * 
+ * When spring.threads.virtual.enabled is true, a virtual thread that blocks
+ * inside a synchronized block (for example JDBC locks in H2 or Hibernate)
+ * pins its carrier thread and the mode loses its benefit. This component
+ * listens to the JDK Flight Recorder "jdk.VirtualThreadPinned" event in-process
+ * and reports how often, how long and where pinning happens.
+ * 
+ * Endpoint: GET /actuator/virtualthreads
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+@Endpoint(id = "virtualthreads")
+public class VirtualThreadPinningEndpoint implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningEndpoint.class);
+
+	// Distinct pinning sites kept for the report (bounded to keep memory flat)
+	private static final int MAX_SITES = 100;
+
+	// Stack frames used to describe a pinning site
+	private static final int SITE_FRAMES = 6;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreadsEnabled;
+
+	// Only pinning longer than this is recorded (JFR default is 20 ms)
+	@Value("${diagnostics.virtual-threads.pinned-threshold:20ms}")
+	private Duration pinnedThreshold;
+
+	private final LongAdder pinnedEvents = new LongAdder();
+	private final LongAdder pinnedNanos = new LongAdder();
+	private final LongAccumulator maxPinnedNanos = new LongAccumulator(Long::max, 0);
+	private final LongAdder submitFailedEvents = new LongAdder();
+	private final Map<String, AtomicLong> pinnedSites = new ConcurrentHashMap<>();
+
+	private volatile RecordingStream recordingStream;
+
+	@Override
+	public void start() {
+		if (!virtualThreadsEnabled) {
+			return;
+		}
+		RecordingStream stream = new RecordingStream();
+		stream.enable("jdk.VirtualThreadPinned").withThreshold(pinnedThreshold).withStackTrace();
+		stream.enable("jdk.VirtualThreadSubmitFailed");
+		stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+		stream.onEvent("jdk.VirtualThreadSubmitFailed", event -> submitFailedEvents.increment());
+		stream.startAsync();
+		recordingStream = stream;
+		logger.info("Virtual thread pinning diagnostics started (threshold {})", pinnedThreshold);
+	}
+
+	@Override
+	public void stop() {
+		RecordingStream stream = recordingStream;
+		if (stream != null) {
+			stream.close();
+			recordingStream = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return recordingStream != null;
+	}
+
+	private void onPinned(RecordedEvent event) {
+		long nanos = event.getDuration().toNanos();
+		pinnedEvents.increment();
+		pinnedNanos.add(nanos);
+		maxPinnedNanos.accumulate(nanos);
+
+		String site = describeSite(event.getStackTrace());
+		AtomicLong count = pinnedSites.get(site);
+		if (count == null && pinnedSites.size() < MAX_SITES) {
+			count = pinnedSites.computeIfAbsent(site, key -> new AtomicLong());
+		}
+		if (count != null) {
+			count.incrementAndGet();
+		}
+	}
+
+	private String describeSite(RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return "unknown";
+		}
+		return stackTrace.getFrames().stream()
+				.filter(RecordedFrame::isJavaFrame)
+				.limit(SITE_FRAMES)
+				.map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+						+ ":" + frame.getLineNumber())
+				.collect(Collectors.joining(" <- "));
+	}
+
+	/**
+	 * Pinning Report
+	 * 
+	 * @return Virtual-thread mode status, pinning counts and the most frequent pinning sites
+	 */
+	@ReadOperation
+	public Map<String, Object> report() {
+		long events = pinnedEvents.sum();
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("virtualThreadsEnabled", virtualThreadsEnabled);
+		report.put("recording", isRunning());
+		report.put("pinnedThresholdMillis", pinnedThreshold.toMillis());
+		report.put("pinnedEvents", events);
+		report.put("totalPinnedMillis", pinnedNanos.sum() / 1_000_000);
+		report.put("avgPinnedMillis", events == 0 ? 0 : pinnedNanos.sum() / events / 1_000_000.0);
+		report.put("maxPinnedMillis", maxPinnedNanos.get() / 1_000_000.0);
+		report.put("submitFailedEvents", submitFailedEvents.sum());
+
+		List<Map<String, Object>> sites = pinnedSites.entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> entry) -> entry.getValue().get()).reversed())
+				.limit(20)
+				.map(entry -> {
+					Map<String, Object> site = new LinkedHashMap<>();
+					site.put("count", entry.getValue().get());
+					site.put("stack", entry.getKey());
+					return site;
+				})
+				.collect(Collectors.toList());
+		report.put("topPinnedSites", sites);
+		return report;
+	}
+}
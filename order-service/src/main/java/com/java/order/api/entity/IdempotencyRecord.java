@@ -0,0 +1,67 @@
+package com.java.order.api.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency Record Entity - Stored booking response per Idempotency-Key
+ * 
+ * Backs the in-memory idempotency store so keys survive cache eviction.
+ * The response is kept as JSON and replayed as-is for the same key.
+ * 
+ * Database Table: IDEMPOTENCY_TB
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Entity
+@Table(name = "IDEMPOTENCY_TB", indexes = {
+		// Purge query: expired keys
+		@Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+	// Client-supplied Idempotency-Key header value
+	@Id
+	@Column(name = "idempotency_key", length = 128)
+	private String key;
+
+	// Serialized TransactionResponse returned for the first request
+	@Lob
+	@Column(name = "response", nullable = false)
+	private String response;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+
+	// After this time the key is forgotten and may be reused
+	@Column(name = "expires_at", nullable = false)
+	private LocalDateTime expiresAt;
+
+	public IdempotencyRecord() {
+	}
+
+	public IdempotencyRecord(String key, String response, LocalDateTime createdAt, LocalDateTime expiresAt) {
+		this.key = key;
+		this.response = response;
+		this.createdAt = createdAt;
+		this.expiresAt = expiresAt;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getResponse() {
+		return response;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+}
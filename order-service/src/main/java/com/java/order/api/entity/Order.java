@@ -9,6 +9,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.java.order.api.id.SnowflakeId;
+
 /**
  * Order Entity - Database model for Order management
  * 
@@ -19,7 +23,8 @@ import java.time.LocalDateTime;
  * Database Table: ORDER_TB
  * 
  * Key Features:
- * - Auto-generated primary key
+ * - Snowflake primary key (time-ordered, unique across instances, JDBC-batchable),
+ *   written to JSON as a string because it exceeds JavaScript's 2^53 safe integers
  * - Product information storage
  * - Quantity and pricing management
  * - Audit timestamps for tracking
@@ -34,9 +39,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor   // Lombok: generates no-args constructor
 @AllArgsConstructor  // Lombok: generates constructor with all fields
 public class Order {
-	// Primary key with auto-generation
+	// Primary key from the Snowflake IdGenerator - time-ordered and unique across
+	// order-service instances, assigned before insert so JDBC batching still works
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
+	@JsonSerialize(using = ToStringSerializer.class)  // JSON string - too large for JavaScript numbers
 	private Long id;
 	
 	// Product/Order name (required field)
@@ -0,0 +1,136 @@
+package com.java.order.api.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox Event Entity - Pending payment request for an order
+ * 
+ * Written in the same local transaction as its order, so an order can
+ * never exist without the payment request that belongs to it (and vice
+ * versa), even if the service crashes right after booking. The outbox
+ * dispatcher drains PENDING rows to Payment Service in the background.
+ * 
+ * Database Table: ORDER_OUTBOX_TB
+ * 
+ * Status Lifecycle:
+ * - PENDING: waiting to be sent (or waiting for a retry)
+ * - SENT: payment-service answered, order status updated
+ * - FAILED: gave up after the maximum number of attempts
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Entity
+@Table(name = "ORDER_OUTBOX_TB", indexes = {
+		// Dispatcher query: due PENDING rows in ID order
+		@Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+	@SequenceGenerator(name = "outbox_seq", sequenceName = "ORDER_OUTBOX_SEQ", allocationSize = 50)
+	private Long id;
+
+	// Order this payment request belongs to
+	@Column(name = "order_id", nullable = false)
+	private Long orderId;
+
+	// Payment amount (order price at booking time)
+	@Column(name = "amount", nullable = false)
+	private Double amount;
+
+	// Payment method requested by the client (CARD, UPI, ...)
+	@Column(name = "payment_mode")
+	private String paymentMode;
+
+	// PENDING, SENT or FAILED
+	@Column(name = "status", nullable = false)
+	private String status = "PENDING";
+
+	// Number of delivery attempts so far
+	@Column(name = "attempts", nullable = false)
+	private int attempts;
+
+	// Earliest time of the next delivery attempt
+	@Column(name = "next_attempt_at", nullable = false)
+	private LocalDateTime nextAttemptAt;
+
+	// Last delivery error (for troubleshooting)
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	protected void onCreate() {
+		createdAt = LocalDateTime.now();
+		if (nextAttemptAt == null) {
+			nextAttemptAt = createdAt;
+		}
+	}
+
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(Long orderId, Double amount, String paymentMode) {
+		this.orderId = orderId;
+		this.amount = amount;
+		this.paymentMode = paymentMode;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public Double getAmount() {
+		return amount;
+	}
+
+	public String getPaymentMode() {
+		return paymentMode;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -0,0 +1,129 @@
+package com.java.order.api.limit;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Concurrency Limit Filter - Sheds load on the guarded endpoints
+ * 
+ * Takes a permit from the GradientConcurrencyLimiter before the request
+ * reaches the controller. Without a permit the request is answered at once
+ * with 503 Service Unavailable and a Retry-After header, instead of waiting
+ * for a Tomcat thread or a database connection.
+ * 
+ * The permit is completed when the response is done:
+ * - 5xx status, exception or async timeout: dropped (the limit backs off)
+ * - anything else: success (the response time feeds the limit)
+ * For async requests (the controller returns a CompletableFuture) that is
+ * when the async request completes, not when the filter returns.
+ * 
+ * Metrics: concurrency.limit.requests{limiter, outcome=accepted|rejected}
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final GradientConcurrencyLimiter limiter;
+
+	private final String retryAfterSeconds;
+
+	private final Counter accepted;
+
+	private final Counter rejected;
+
+	public ConcurrencyLimitFilter(GradientConcurrencyLimiter limiter, Duration retryAfter, String limiterName,
+			MeterRegistry meterRegistry) {
+		this.limiter = limiter;
+		this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+		this.accepted = requestCounter(limiterName, "accepted", meterRegistry);
+		this.rejected = requestCounter(limiterName, "rejected", meterRegistry);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		GradientConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+		if (permit == null) {
+			rejected.increment();
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+			return;
+		}
+		accepted.increment();
+
+		try {
+			filterChain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			permit.onDropped();
+			throw e;
+		}
+
+		if (request.isAsyncStarted()) {
+			request.getAsyncContext().addListener(new PermitListener(permit));
+		} else {
+			complete(permit, response.getStatus());
+		}
+	}
+
+	private static void complete(GradientConcurrencyLimiter.Permit permit, int status) {
+		if (status >= 500) {
+			permit.onDropped();
+		} else {
+			permit.onSuccess();
+		}
+	}
+
+	private static Counter requestCounter(String limiterName, String outcome, MeterRegistry meterRegistry) {
+		return Counter.builder("concurrency.limit.requests")
+				.description("Requests admitted or rejected by the concurrency limiter")
+				.tags("limiter", limiterName, "outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Completes the permit when an async request finishes
+	 */
+	private static final class PermitListener implements AsyncListener {
+
+		private final GradientConcurrencyLimiter.Permit permit;
+
+		private PermitListener(GradientConcurrencyLimiter.Permit permit) {
+			this.permit = permit;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			complete(permit, ((HttpServletResponse) event.getSuppliedResponse()).getStatus());
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			permit.onDropped();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			permit.onDropped();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// Async restarted from an async dispatch - keep listening on the new cycle
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.java.order.api.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+/**
+ * Drop Counting Async Appender - Bounded, non-blocking log queue
+ * 
+ * Wraps one appender (CONSOLE or FILE) of logback-spring.xml. The mode is
+ * set from the mode of LoggingProperties:
+ * - sync: events are written by the calling thread (the original behaviour)
+ * - async: events are queued and written by one background thread, so
+ *   request threads never wait for console or disk I/O
+ * 
+ * In async mode the queue is bounded (queueSize). Once it is 80% full,
+ * DEBUG and INFO events are dropped instead of blocking the caller, and
+ * counted (metric logging.events.dropped). WARN and ERROR events are never
+ * dropped: they wait for room in the queue.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder dropped = new LongAdder();
+
+	private boolean async;
+
+	// Free queue slots kept for WARN/ERROR events
+	private int reserve;
+
+	// Attached appender, called directly in sync mode
+	private Appender<ILoggingEvent> target;
+
+	/**
+	 * sync or async (case-insensitive)
+	 */
+	public void setMode(String mode) {
+		this.async = "async".equalsIgnoreCase(mode.trim());
+	}
+
+	public String getMode() {
+		return async ? "async" : "sync";
+	}
+
+	@Override
+	public void start() {
+		// Dropping is decided in append(); the base class never discards by itself
+		setDiscardingThreshold(0);
+		setNeverBlock(false);
+		reserve = getQueueSize() / 5;
+		Iterator<Appender<ILoggingEvent>> appenders = iteratorForAppenders();
+		target = appenders.hasNext() ? appenders.next() : null;
+		super.start();
+		addInfo("Logging mode " + getMode() + " for appender [" + getName() + "]");
+	}
+
+	@Override
+	public void stop() {
+		super.stop();
+		if (dropped.sum() > 0) {
+			addWarn("Dropped " + dropped.sum() + " log events because the queue was full");
+		}
+	}
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (!async) {
+			target.doAppend(event);
+			return;
+		}
+		if (!event.getLevel().isGreaterOrEqual(Level.WARN) && getRemainingCapacity() <= reserve) {
+			dropped.increment();
+			return;
+		}
+		super.append(event);
+	}
+
+	/**
+	 * DEBUG/INFO events dropped because the queue was full
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+}
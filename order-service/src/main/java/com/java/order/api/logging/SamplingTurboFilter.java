@@ -0,0 +1,93 @@
+package com.java.order.api.logging;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Sampling Turbo Filter - Keeps 1 in N success-path log lines
+ * 
+ * Applies to the loggers listed in sampling.loggers of LoggingProperties (a
+ * logger name covers its child loggers, e.g. the service package). For each
+ * logger, only every rate-th DEBUG/INFO event is written; the others are
+ * denied before the message is even formatted. WARN and ERROR events are
+ * always kept. A rate of 1 keeps everything.
+ * 
+ * Metric: logging.events.sampled (events left out)
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+	// Marks loggers outside the sampled list
+	private static final AtomicLong NOT_SAMPLED = new AtomicLong();
+
+	// Logger name -> events seen (or NOT_SAMPLED)
+	private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	private final LongAdder sampledOut = new LongAdder();
+
+	private int rate = 1;
+
+	private List<String> loggers = List.of();
+
+	public void setRate(int rate) {
+		this.rate = Math.max(1, rate);
+	}
+
+	public int getRate() {
+		return rate;
+	}
+
+	/**
+	 * Comma-separated logger names
+	 */
+	public void setLoggers(String loggers) {
+		this.loggers = Arrays.stream(loggers.split(","))
+				.map(String::trim)
+				.filter(name -> !name.isEmpty())
+				.toList();
+	}
+
+	@Override
+	public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+		// format is null for isXxxEnabled() checks - only count real log calls
+		if (rate == 1 || format == null || level.isGreaterOrEqual(Level.WARN)
+				|| !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+			return FilterReply.NEUTRAL;
+		}
+		AtomicLong counter = counters.computeIfAbsent(logger.getName(),
+				name -> isSampled(name) ? new AtomicLong() : NOT_SAMPLED);
+		if (counter == NOT_SAMPLED || counter.getAndIncrement() % rate == 0) {
+			return FilterReply.NEUTRAL;
+		}
+		sampledOut.increment();
+		return FilterReply.DENY;
+	}
+
+	/**
+	 * DEBUG/INFO events left out by sampling
+	 */
+	public long getSampledOutCount() {
+		return sampledOut.sum();
+	}
+
+	private boolean isSampled(String loggerName) {
+		for (String name : loggers) {
+			if (loggerName.equals(name) || loggerName.startsWith(name + ".")) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,89 @@
+package com.java.order.api.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Slow Request Logging Filter - One WARN line per slow request
+ * 
+ * Logs method, path, status and duration of every request that takes
+ * longer than the slow-request-threshold of LoggingProperties. WARN events
+ * are never sampled or dropped, so slow requests stay visible when
+ * success-path INFO logging is sampled. Async requests are timed until the
+ * async request completes.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SlowRequestLoggingFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowRequestLoggingFilter.class);
+
+	private final long thresholdNanos;
+
+	public SlowRequestLoggingFilter(Duration threshold) {
+		this.thresholdNanos = threshold.toNanos();
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// A zero threshold turns slow request logging off
+		return thresholdNanos <= 0;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		boolean async = false;
+		try {
+			filterChain.doFilter(request, response);
+			if (request.isAsyncStarted()) {
+				async = true;
+				request.getAsyncContext().addListener(new AsyncListener() {
+
+					@Override
+					public void onComplete(AsyncEvent event) {
+						check(request, (HttpServletResponse) event.getSuppliedResponse(), start);
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+						event.getAsyncContext().addListener(this);
+					}
+				});
+			}
+		} finally {
+			if (!async) {
+				check(request, response, start);
+			}
+		}
+	}
+
+	private void check(HttpServletRequest request, HttpServletResponse response, long start) {
+		long elapsed = System.nanoTime() - start;
+		if (elapsed > thresholdNanos) {
+			logger.warn("Slow request: {} {} -> {} in {} ms", request.getMethod(), request.getRequestURI(),
+					response.getStatus(), elapsed / 1_000_000);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package com.java.order.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.java.order.api.entity.Order;
+
+/**
+ * Order JDBC Repository - Forward-only streaming reads of ORDER_TB
+ * 
+ * JPA's findAll() materializes every row (and a managed entity per row)
+ * before returning. This repository reads rows through a plain JDBC
+ * forward-only cursor with a fixed fetch size and hands them to the
+ * caller one at a time, so memory use does not depend on table size.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Repository
+public class OrderJdbcRepository {
+
+	// Rows fetched from the database per round-trip while streaming
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SELECT_ALL =
+			"SELECT id, order_name, quantity, price, order_status, customer_id, created_at, updated_at "
+			+ "FROM ORDER_TB ORDER BY id";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public OrderJdbcRepository(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+	}
+
+	/**
+	 * Stream all orders in ID order
+	 * 
+	 * Each row is mapped to a detached Order and passed to the action
+	 * before the next row is read. Call inside a read-only transaction
+	 * so drivers that need it keep the cursor open.
+	 * 
+	 * @param action Callback invoked once per order
+	 */
+	public void forEachOrder(Consumer<Order> action) {
+		jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> action.accept(mapOrder(rs)));
+	}
+
+	private Order mapOrder(ResultSet rs) throws SQLException {
+		Order order = new Order();
+		order.setId(rs.getLong("id"));
+		order.setName(rs.getString("order_name"));
+		order.setQty(rs.getInt("quantity"));
+		order.setPrice(rs.getDouble("price"));
+		order.setOrderStatus(rs.getString("order_status"));
+		order.setCustomerId(rs.getString("customer_id"));
+		Timestamp createdAt = rs.getTimestamp("created_at");
+		order.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+		Timestamp updatedAt = rs.getTimestamp("updated_at");
+		order.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+		return order;
+	}
+}
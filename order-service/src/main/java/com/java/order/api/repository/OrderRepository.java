@@ -1,9 +1,18 @@
 package com.java.order.api.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.java.order.api.entity.Order;
 
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+	/**
+	 * Keyset page: orders with an ID greater than the cursor, in ID order.
+	 * Uses the primary key index, so the cost does not grow with the page number.
+	 */
+	List<Order> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
 
 }
@@ -0,0 +1,19 @@
+package com.java.order.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.java.order.api.entity.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Next batch for the dispatcher: rows in the given status that are due, oldest first.
+	 */
+	List<OutboxEvent> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(String status,
+			LocalDateTime now, Limit limit);
+
+}
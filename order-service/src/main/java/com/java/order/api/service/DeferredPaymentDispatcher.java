@@ -0,0 +1,131 @@
+package com.java.order.api.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.java.order.api.common.Payment;
+import com.java.order.api.config.DeferredPaymentProperties;
+import com.java.order.api.service.DeferredPaymentQueue.DeferredPayment;
+
+/**
+ * Deferred Payment Dispatcher - Background retry of deferred payments
+ * 
+ * Periodically drains the DeferredPaymentQueue and sends its payments to
+ * Payment Service in one bulk call per batch, through the same circuit
+ * breaker as the bookings:
+ * - Breaker open (or bulkhead full): nothing is sent, the batch goes back to
+ *   the head of the queue and waits for the next poll. The breaker's
+ *   wait-duration-in-open-state is the retry backoff, and its half-open
+ *   trial calls decide when deliveries resume.
+ * - Call failed: the batch is queued again; after max-attempts failed calls
+ *   its orders are marked PAYMENT_FAILED
+ * - Success: each order is set to CONFIRMED or PAYMENT_FAILED
+ * 
+ * As with the outbox, delivery is at-least-once: if payment-service processed
+ * a batch but the response was lost, the batch is sent again. Payment-service
+ * answers a resent payment with the order's existing payment, so orders are
+ * not charged twice.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+public class DeferredPaymentDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(DeferredPaymentDispatcher.class);
+
+	@Autowired
+	private DeferredPaymentQueue queue;
+
+	@Autowired
+	private PaymentClient paymentClient;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private DeferredPaymentProperties properties;
+
+	/**
+	 * Drain the queue
+	 * 
+	 * Sends batches until the queue is empty or payment-service is still
+	 * unavailable, then waits for the next poll.
+	 */
+	@Scheduled(fixedDelayString = "${order.deferred-payment.poll-interval-ms:1000}")
+	public void dispatch() {
+		List<DeferredPayment> batch;
+		do {
+			batch = queue.take(properties.getBatchSize());
+			if (batch.isEmpty()) {
+				return;
+			}
+		} while (dispatchBatch(batch) && batch.size() == properties.getBatchSize());
+	}
+
+	// Returns true if the batch was delivered
+	private boolean dispatchBatch(List<DeferredPayment> batch) {
+		List<Payment> payments = new ArrayList<>(batch.size());
+		for (DeferredPayment deferred : batch) {
+			payments.add(deferred.toPayment());
+		}
+
+		Payment[] results;
+		try {
+			results = paymentClient.doPayments(payments);
+		} catch (PaymentUnavailableException e) {
+			logger.debug("Payment service still unavailable, {} deferred payments waiting", queue.size() + batch.size());
+			fail(queue.requeue(batch), "deferred payment queue is full");
+			return false;
+		}
+		if (results == null || results.length != batch.size()) {
+			retry(batch);
+			return false;
+		}
+
+		// Payment Service answers in request order, one entry per payment
+		Map<Long, String> statuses = new LinkedHashMap<>();
+		for (int i = 0; i < batch.size(); i++) {
+			statuses.put(batch.get(i).orderId(),
+					OrderService.isPaymentSuccessful(results[i]) ? "CONFIRMED" : "PAYMENT_FAILED");
+		}
+		orderService.updateOrderStatuses(statuses);
+		logger.info("Delivered {} deferred payments", batch.size());
+		return true;
+	}
+
+	private void retry(List<DeferredPayment> batch) {
+		List<DeferredPayment> again = new ArrayList<>(batch.size());
+		List<DeferredPayment> givenUp = new ArrayList<>();
+		for (DeferredPayment deferred : batch) {
+			DeferredPayment retried = deferred.retried();
+			if (retried.attempts() >= properties.getMaxAttempts()) {
+				givenUp.add(retried);
+			} else {
+				again.add(retried);
+			}
+		}
+		fail(givenUp, "gave up after " + properties.getMaxAttempts() + " attempts");
+		fail(queue.requeue(again), "deferred payment queue is full");
+	}
+
+	private void fail(List<DeferredPayment> payments, String reason) {
+		if (payments.isEmpty()) {
+			return;
+		}
+		logger.error("Marking {} deferred payments PAYMENT_FAILED: {}", payments.size(), reason);
+		Map<Long, String> statuses = new LinkedHashMap<>();
+		for (DeferredPayment deferred : payments) {
+			statuses.put(deferred.orderId(), "PAYMENT_FAILED");
+		}
+		orderService.updateOrderStatuses(statuses);
+	}
+}
@@ -0,0 +1,116 @@
+package com.java.order.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.java.order.api.common.Payment;
+import com.java.order.api.config.DeferredPaymentProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Deferred Payment Queue - Bounded queue of payments waiting for payment-service
+ * 
+ * Holds the payments of bookings saved as PENDING because the payment-service
+ * circuit breaker was open, or because the payment call failed or timed out. DeferredPaymentDispatcher drains it in the
+ * background. The queue is bounded (order.deferred-payment.queue-capacity),
+ * so a long outage cannot exhaust memory: once full, new bookings are
+ * failed at once instead.
+ * 
+ * The queue is in memory: payments still queued when the instance stops are
+ * lost and their orders stay PENDING. Use the OUTBOX booking mode when
+ * every payment must survive a restart.
+ * 
+ * Metric: order.deferred.payments (payments waiting)
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+public class DeferredPaymentQueue {
+
+	/**
+	 * A payment waiting to be sent
+	 * 
+	 * @param attempts Failed bulk calls so far
+	 */
+	public record DeferredPayment(long orderId, double amount, String paymentMode, int attempts) {
+
+		DeferredPayment retried() {
+			return new DeferredPayment(orderId, amount, paymentMode, attempts + 1);
+		}
+
+		Payment toPayment() {
+			Payment payment = new Payment();
+			payment.setOrderId(orderId);
+			payment.setAmount(amount);
+			payment.setPaymentMode(paymentMode);
+			return payment;
+		}
+	}
+
+	@Autowired
+	private DeferredPaymentProperties properties;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private BlockingDeque<DeferredPayment> queue;
+
+	@PostConstruct
+	void init() {
+		queue = new LinkedBlockingDeque<>(properties.getQueueCapacity());
+		Gauge.builder("order.deferred.payments", queue, BlockingDeque::size)
+				.description("Payments waiting for payment-service to become available")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Queue a payment
+	 * 
+	 * @param payment Payment with the saved order's ID and amount
+	 * @return false if the queue is full
+	 */
+	public boolean offer(Payment payment) {
+		return queue.offerLast(new DeferredPayment(payment.getOrderId(), payment.getAmount(),
+				payment.getPaymentMode(), 0));
+	}
+
+	/**
+	 * Remove up to max payments, oldest first
+	 */
+	List<DeferredPayment> take(int max) {
+		List<DeferredPayment> batch = new ArrayList<>(Math.min(max, queue.size()));
+		queue.drainTo(batch, max);
+		return batch;
+	}
+
+	/**
+	 * Put payments back at the head of the queue, keeping their order
+	 * 
+	 * @return Payments that no longer fit (new bookings took their place)
+	 */
+	List<DeferredPayment> requeue(List<DeferredPayment> payments) {
+		List<DeferredPayment> overflow = new ArrayList<>();
+		for (int i = payments.size() - 1; i >= 0; i--) {
+			if (!queue.offerFirst(payments.get(i))) {
+				overflow.add(payments.get(i));
+			}
+		}
+		return overflow;
+	}
+
+	/**
+	 * Payments waiting
+	 */
+	public int size() {
+		return queue.size();
+	}
+}
@@ -0,0 +1,162 @@
+package com.java.order.api.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.config.IdempotencyProperties;
+import com.java.order.api.entity.IdempotencyRecord;
+import com.java.order.api.repository.IdempotencyRecordRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Idempotency Store - De-duplicates bookings that carry an Idempotency-Key
+ * 
+ * Client retries and gateway fallbacks can send the same booking twice.
+ * For requests with the same key, the booking (and its payment call) runs
+ * once and every repeat gets the stored TransactionResponse.
+ * 
+ * Lookup order:
+ * 1. In-flight map - a concurrent duplicate attaches to the running booking
+ * 2. In-memory cache - bounded Caffeine map (size + TTL eviction, internally striped)
+ * 3. IDEMPOTENCY_TB - keys evicted from memory but not yet expired
+ * 
+ * Failed bookings are not stored, so the client can retry with the same key.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+public class IdempotencyStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+	@Autowired
+	private IdempotencyRecordRepository repository;
+
+	@Autowired
+	private IdempotencyProperties properties;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// Bookings currently running, by key
+	private final ConcurrentMap<String, CompletableFuture<TransactionResponse>> inFlight = new ConcurrentHashMap<>();
+
+	// Completed responses, by key
+	private Cache<String, TransactionResponse> responses;
+
+	@PostConstruct
+	void init() {
+		responses = Caffeine.newBuilder()
+				.maximumSize(properties.getMaxEntries())
+				.expireAfterWrite(properties.getTtl())
+				.build();
+	}
+
+	/**
+	 * Run a booking at most once per key
+	 * 
+	 * @param key Idempotency-Key header value
+	 * @param booking Booking to run if the key has not been seen
+	 * @return Response of the first booking for this key
+	 */
+	public CompletableFuture<TransactionResponse> execute(String key, Supplier<CompletableFuture<TransactionResponse>> booking) {
+		TransactionResponse cached = responses.getIfPresent(key);
+		if (cached != null) {
+			logger.info("Replaying stored response for idempotency key: {}", key);
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		CompletableFuture<TransactionResponse> result = new CompletableFuture<>();
+		CompletableFuture<TransactionResponse> running = inFlight.putIfAbsent(key, result);
+		if (running != null) {
+			logger.info("Joining in-flight booking for idempotency key: {}", key);
+			return running.thenApply(response -> response);  // Copy, so callers cannot complete the shared future
+		}
+
+		try {
+			// A previous booking may have finished between the cache check and putIfAbsent,
+			// or been evicted from memory but still be stored in the table
+			Optional<TransactionResponse> stored = Optional.ofNullable(responses.getIfPresent(key))
+					.or(() -> loadStored(key));
+			if (stored.isPresent()) {
+				logger.info("Replaying stored response for idempotency key: {}", key);
+				responses.put(key, stored.get());
+				complete(key, result, stored.get(), null);
+				return result;
+			}
+
+			booking.get().whenComplete((response, error) -> {
+				if (error == null) {
+					store(key, response);
+				}
+				complete(key, result, response, error);
+			});
+		} catch (RuntimeException e) {
+			complete(key, result, null, e);
+		}
+		return result;
+	}
+
+	private void complete(String key, CompletableFuture<TransactionResponse> result,
+			TransactionResponse response, Throwable error) {
+		inFlight.remove(key, result);
+		if (error != null) {
+			result.completeExceptionally(error);
+		} else {
+			result.complete(response);
+		}
+	}
+
+	private Optional<TransactionResponse> loadStored(String key) {
+		return repository.findById(key)
+				.filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+				.map(record -> {
+					try {
+						return objectMapper.readValue(record.getResponse(), TransactionResponse.class);
+					} catch (JsonProcessingException e) {
+						logger.warn("Unreadable stored response for idempotency key {}: {}", key, e.getMessage());
+						return null;
+					}
+				});
+	}
+
+	private void store(String key, TransactionResponse response) {
+		responses.put(key, response);
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			repository.save(new IdempotencyRecord(key, objectMapper.writeValueAsString(response),
+					now, now.plus(properties.getTtl())));
+		} catch (Exception e) {
+			// The in-memory entry still de-duplicates retries; only restarts lose this key
+			logger.warn("Could not persist idempotency key {}: {}", key, e.getMessage());
+		}
+	}
+
+	/**
+	 * Purge expired keys from IDEMPOTENCY_TB
+	 */
+	@Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:60000}")
+	public void purgeExpired() {
+		int removed = repository.deleteExpired(LocalDateTime.now());
+		if (removed > 0) {
+			logger.info("Purged {} expired idempotency keys", removed);
+		}
+	}
+}
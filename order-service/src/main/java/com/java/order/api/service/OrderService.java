@@ -1,8 +1,16 @@
 package com.java.order.api.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,9 +18,19 @@ import com.java.order.api.common.Payment;
 import com.java.order.api.common.TransactionRequest;
 import com.java.order.api.common.TransactionResponse;
 import com.java.order.api.entity.Order;
+import com.java.order.api.entity.OutboxEvent;
+import com.java.order.api.repository.OrderJdbcRepository;
 import com.java.order.api.repository.OrderRepository;
+import com.java.order.api.repository.OutboxEventRepository;
 
+import jakarta.annotation.PostConstruct;
+
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 /**
  * Order Service - Business Logic Layer for Order Management
@@ -24,12 +42,21 @@ import java.util.List;
  * - Order Processing: Validates and processes order requests
  * - Payment Integration: Communicates with Payment Service via REST
  * - Data Persistence: Saves orders to database
+ * - Caching: Read-through cache for order lookups, invalidated on every write
  * - Transaction Management: Handles distributed transactions
  * - Error Handling: Manages payment failures and rollbacks
  * - Logging: Structured logging with trace correlation
  * 
  * Microservice Communication:
- * - Uses RestTemplate with service discovery (Eureka)
+ * - Uses RestTemplate with service discovery (Eureka), behind a circuit breaker,
+ *   time limiter and bulkhead (PaymentClient)
+ * - Payment-service unavailable, or the payment call failed or timed out:
+ *   order saved as PENDING, payment retried in the background
+ *   (DeferredPaymentQueue / DeferredPaymentDispatcher). Payment-service
+ *   keeps one payment per order, so a retry never charges an order twice.
+ * - Optional non-blocking path with a load-balanced WebClient, behind the same
+ *   circuit breaker and time limiter
+ * - Optional outbox path: payment dispatched in the background (OutboxDispatcher)
  * - Load-balanced calls to payment-service
  * - Distributed tracing with Zipkin integration
  * 
@@ -42,13 +69,45 @@ public class OrderService {
 	// Logger for structured logging with trace correlation
 	private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
 
+	// Cache name for order lookups (size/TTL from spring.cache.caffeine.spec)
+	public static final String ORDERS_CACHE = "orders";
+
 	// Repository for database operations
 	@Autowired
 	private OrderRepository orderRepository;
+
+	// JDBC cursor reads for streaming large result sets
+	@Autowired
+	private OrderJdbcRepository orderJdbcRepository;
+
+	// Outbox rows for background payment dispatch
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
 	
-	// RestTemplate for inter-service communication (load-balanced)
+	// Fail-fast payment-service calls (circuit breaker, time limiter, bulkhead)
+	@Autowired
+	private PaymentClient paymentClient;
+
+	// Payments of bookings made while payment-service is unavailable
+	@Autowired
+	private DeferredPaymentQueue deferredPaymentQueue;
+
+	// Spring Boot task executor - runs the blocking JPA save after a non-blocking payment call
 	@Autowired
-	private RestTemplate restTemplate;
+	@Qualifier("applicationTaskExecutor")
+	private AsyncTaskExecutor taskExecutor;
+
+	// Cache manager - used to invalidate cached orders when they are written
+	@Autowired
+	private CacheManager cacheManager;
+
+	// Order lookup cache
+	private Cache ordersCache;
+
+	@PostConstruct
+	void init() {
+		ordersCache = cacheManager.getCache(ORDERS_CACHE);
+	}
 
 	/**
 	 * Save Order with Payment Processing
@@ -58,39 +117,272 @@ public class OrderService {
 	 * 
 	 * Flow:
 	 * 1. Extract order and payment details from request
-	 * 2. Set payment details (order ID, amount)
-	 * 3. Call Payment Service via REST API
-	 * 4. Save order to database
+	 * 2. Save order to database (always saved, even if payment fails)
+	 * 3. Set payment details (order ID, amount)
+	 * 4. Call Payment Service via REST API
 	 * 5. Return transaction response with status
 	 * 
+	 * If the payment-service circuit breaker is open (or its bulkhead is
+	 * full), the call is not made: the order is saved as PENDING and its
+	 * payment deferred, so the booking returns at once. If the call failed
+	 * or timed out, payment-service may still have taken the payment, so
+	 * the order is not failed either: its payment is deferred too, and the
+	 * retry gets the existing payment back if there is one.
+	 * 
 	 * @param request TransactionRequest containing order and payment info
 	 * @return TransactionResponse with order and payment status
 	 */
 	public TransactionResponse saveOrder(TransactionRequest request) {
-		String responseString = "";
-		
-		// Extract order and payment from request
+		// Extract order and payment from request; the order is saved first so the payment carries its ID
 		Order order = request.getOrder();
-		Payment payment = request.getPayment();
-		
-		// Set payment details from order
-		payment.setOrderId(order.getId());
-		payment.setAmount(order.getPrice());
+		Payment payment = saveAndPreparePayment(request);
 
 		// Call Payment Service (demonstrates microservice communication)
 		logger.info("Calling payment service for order: {}", order.getId());
-		Payment paymentResponse = restTemplate.postForObject(
-			"http://payment-service/payment/doPayment",  // Service name (Eureka resolves to actual URL)
-			payment,
-			Payment.class
-		);
+		Payment paymentResponse;
+		try {
+			paymentResponse = paymentClient.doPayment(payment);
+		} catch (PaymentUnavailableException e) {
+			return deferPayments(List.of(order), List.of(payment), "payment service unavailable").get(0);
+		}
+		if (paymentResponse == null) {
+			return deferPayments(List.of(order), List.of(payment), "payment call failed").get(0);
+		}
+
+		return buildResponse(order, paymentResponse);
+	}
+
+	/**
+	 * Save Order with Non-blocking Payment Processing
+	 * 
+	 * Same flow and outcomes as saveOrder, but the payment call goes through
+	 * the load-balanced WebClient (PaymentClient.doPaymentAsync, same circuit
+	 * breaker and time limiter). No thread waits while payment-service is
+	 * processing: the Tomcat worker is released as soon as the future is
+	 * returned, and only the short JPA writes run on the task executor.
+	 * 
+	 * @param request TransactionRequest containing order and payment info
+	 * @return Future completed with the TransactionResponse
+	 */
+	public CompletableFuture<TransactionResponse> saveOrderAsync(TransactionRequest request) {
+		Order order = request.getOrder();
+
+		// JPA is blocking, so the save runs on the task executor instead of the caller or a Netty event loop
+		return CompletableFuture.supplyAsync(() -> saveAndPreparePayment(request), taskExecutor)
+				.thenCompose(payment -> {
+					logger.info("Calling payment service (non-blocking) for order: {}", order.getId());
+					return paymentClient.doPaymentAsync(payment)
+							.handleAsync((paymentResponse, error) -> {
+								if (error == null) {
+									// null: the call failed or timed out, the payment may still go through
+									return paymentResponse != null
+											? buildResponse(order, paymentResponse)
+											: deferPayments(List.of(order), List.of(payment), "payment call failed").get(0);
+								}
+								// Only fails when the call was not made (breaker open, bulkhead full)
+								if (unwrap(error) instanceof PaymentUnavailableException) {
+									return deferPayments(List.of(order), List.of(payment), "payment service unavailable").get(0);
+								}
+								throw new CompletionException(error);
+							}, taskExecutor);
+				});
+	}
+
+	/**
+	 * Save Order with Outbox Payment Dispatch
+	 * 
+	 * Writes the order (status PENDING) and an outbox row holding its payment
+	 * request in one local transaction, then returns immediately. Payment
+	 * latency is off the booking path: OutboxDispatcher sends the payment in
+	 * the background and updates the order to CONFIRMED or PAYMENT_FAILED.
+	 * 
+	 * Because both rows commit together, a crash can no longer leave an
+	 * order without its payment request.
+	 * 
+	 * @param request TransactionRequest containing order and payment info
+	 * @return TransactionResponse with PENDING status
+	 */
+	@Transactional
+	public TransactionResponse saveOrderWithOutbox(TransactionRequest request) {
+		Order order = request.getOrder();
+		Payment payment = request.getPayment();
+
+		order.setOrderStatus("PENDING");
+		saveAndInvalidate(order);
+		outboxEventRepository.save(new OutboxEvent(order.getId(), order.getPrice(),
+				payment != null ? payment.getPaymentMode() : null));
+		logger.info("Order saved with pending payment in outbox: {}", order.getId());
 
-		// Save order to database (always save, even if payment fails)
+		return new TransactionResponse(order, order.getPrice(), "PENDING",
+				"Order accepted, payment is being processed");
+	}
+
+	/**
+	 * Update Order Statuses
+	 * 
+	 * Applies final statuses from payment results in one transaction.
+	 * Cached copies are evicted after commit, so a poller cannot re-cache
+	 * the old status while the update is still in flight.
+	 * 
+	 * @param statuses New status per order ID
+	 */
+	@Transactional
+	public void updateOrderStatuses(Map<Long, String> statuses) {
+		for (Order order : orderRepository.findAllById(statuses.keySet())) {
+			order.setOrderStatus(statuses.get(order.getId()));
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				statuses.keySet().forEach(ordersCache::evict);
+			}
+		});
+		logger.info("Updated status for {} orders", statuses.size());
+	}
+
+	/**
+	 * Save Order and Invalidate Cache
+	 * 
+	 * Saves the order and drops any cached copy, so the next
+	 * GET /order/{id} reads the new state from the database.
+	 * 
+	 * @param order Order to save
+	 */
+	private void saveAndInvalidate(Order order) {
 		orderRepository.save(order);
+		if (ordersCache != null && order.getId() != null) {
+			ordersCache.evict(order.getId());
+		}
+	}
+
+	/**
+	 * Save Order and Prepare Payment
+	 * 
+	 * Saves the order, then copies its ID and amount onto the payment
+	 * that will be sent to Payment Service. The order is saved first so
+	 * the payment always carries the real order ID (payment-service finds
+	 * it again through GET /payment/by-order/{orderId}).
+	 * 
+	 * @param request TransactionRequest containing order and payment info
+	 * @return Payment ready to send
+	 */
+	private Payment saveAndPreparePayment(TransactionRequest request) {
+		Order order = request.getOrder();
+		order.setId(null);  // IDs are always assigned by the IdGenerator, so save persists instead of merging
+		saveAndInvalidate(order);
 		logger.info("Order saved to database: {}", order.getId());
 
+		// Set payment details from the saved order
+		Payment payment = request.getPayment() != null ? request.getPayment() : new Payment();
+		payment.setOrderId(order.getId());
+		payment.setAmount(order.getPrice());
+		return payment;
+	}
+
+	/**
+	 * Save Orders in Bulk with a Single Payment Call
+	 * 
+	 * Bulk variant of saveOrder for bursts of bookings. Instead of one
+	 * payment round-trip and one INSERT per order, it:
+	 * 1. Saves all orders in one transaction (JDBC batch inserts)
+	 * 2. Sends all payments to Payment Service in one bulk call
+	 * 3. Builds one TransactionResponse per request, in request order
+	 * 
+	 * Orders are saved before the payment call so each payment carries the
+	 * real order ID. As in saveOrder, orders are kept even if payment fails,
+	 * and if the bulk call fails or times out all payments are deferred.
+	 * 
+	 * @param requests TransactionRequests containing order and payment info
+	 * @return TransactionResponses in the same order as the requests
+	 */
+	public List<TransactionResponse> saveOrders(List<TransactionRequest> requests) {
+		List<Order> orders = new ArrayList<>(requests.size());
+		for (TransactionRequest request : requests) {
+			Order order = request.getOrder();
+			order.setId(null);  // IDs are always assigned by the IdGenerator, so saveAll persists instead of merging
+			orders.add(order);
+		}
+
+		// Save all orders in one transaction - Hibernate groups the INSERTs into JDBC batches.
+		// IDs are always new here, so there are no cached entries to invalidate.
+		orderRepository.saveAll(orders);
+		logger.info("Saved {} orders to database in batch", orders.size());
+
+		// Set payment details from the saved orders
+		List<Payment> payments = new ArrayList<>(requests.size());
+		for (TransactionRequest request : requests) {
+			Order order = request.getOrder();
+			Payment payment = request.getPayment() != null ? request.getPayment() : new Payment();
+			payment.setOrderId(order.getId());
+			payment.setAmount(order.getPrice());
+			payments.add(payment);
+		}
+
+		// Call Payment Service once for the whole batch
+		logger.info("Calling payment service in bulk for {} orders", payments.size());
+		Payment[] paymentResponses;
+		try {
+			paymentResponses = paymentClient.doPayments(payments);
+		} catch (PaymentUnavailableException e) {
+			return deferPayments(orders, payments, "payment service unavailable");
+		}
+		// null if the call failed: payment-service may have processed the batch, so it is resent later
+		if (paymentResponses == null || paymentResponses.length != orders.size()) {
+			return deferPayments(orders, payments, "bulk payment call failed");
+		}
+
+		// Payment Service answers in request order, one entry per payment
+		List<TransactionResponse> responses = new ArrayList<>(orders.size());
+		for (int i = 0; i < orders.size(); i++) {
+			responses.add(buildResponse(orders.get(i), paymentResponses[i]));
+		}
+		return responses;
+	}
+
+	/**
+	 * Defer Payments
+	 * 
+	 * Queues the payments of saved (PENDING) orders for DeferredPaymentDispatcher.
+	 * Orders whose payment does not fit in the queue are marked PAYMENT_FAILED.
+	 * 
+	 * @param orders Saved orders
+	 * @param payments Their payments, carrying the order IDs
+	 * @param reason Why the payments were not made now (logged)
+	 * @return One TransactionResponse per order: PENDING, or a payment failure
+	 */
+	private List<TransactionResponse> deferPayments(List<Order> orders, List<Payment> payments, String reason) {
+		List<TransactionResponse> responses = new ArrayList<>(orders.size());
+		int rejected = 0;
+		for (int i = 0; i < orders.size(); i++) {
+			Order order = orders.get(i);
+			if (deferredPaymentQueue.offer(payments.get(i))) {
+				responses.add(new TransactionResponse(order, order.getPrice(), "PENDING",
+						"Order accepted, payment will be retried"));
+			} else {
+				order.setOrderStatus("PAYMENT_FAILED");
+				saveAndInvalidate(order);
+				responses.add(buildResponse(order, null));
+				rejected++;
+			}
+		}
+		logger.warn("{}, deferred payment of {} orders ({} rejected, queue full)",
+				reason, orders.size() - rejected, rejected);
+		return responses;
+	}
+
+	/**
+	 * Build Transaction Response
+	 * 
+	 * Maps a saved order and the payment service answer to the
+	 * response returned to the client.
+	 * 
+	 * @param order Saved order
+	 * @param paymentResponse Payment returned by Payment Service (null if the call failed)
+	 * @return TransactionResponse with order and payment status
+	 */
+	private TransactionResponse buildResponse(Order order, Payment paymentResponse) {
 		// Determine transaction status based on payment response
-		responseString = paymentResponse != null && "success".equals(paymentResponse.getStatus()) 
+		String responseString = isPaymentSuccessful(paymentResponse)
 				? "Payment processing successful and order placed"
 				: "there is a failure in payment api , order added to cart";
 
@@ -103,6 +395,20 @@ public class OrderService {
 		);
 	}
 	
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+
+	/**
+	 * Check Payment Result
+	 * 
+	 * @param paymentResponse Payment returned by Payment Service (may be null)
+	 * @return true if payment-service reported a successful payment
+	 */
+	static boolean isPaymentSuccessful(Payment paymentResponse) {
+		return paymentResponse != null && "success".equalsIgnoreCase(paymentResponse.getStatus());
+	}
+
 	/**
 	 * Get All Orders
 	 * 
@@ -114,6 +420,34 @@ public class OrderService {
 	public List<Order> getAllOrders() {
 		return orderRepository.findAll();
 	}
+
+	/**
+	 * Get Orders Page (keyset pagination)
+	 * 
+	 * Returns up to limit orders with an ID greater than the cursor.
+	 * Pass the last ID of a page as the cursor for the next page.
+	 * 
+	 * @param after Cursor - last order ID already seen (0 for the first page)
+	 * @param limit Maximum number of orders to return
+	 * @return Orders in ID order
+	 */
+	public List<Order> getOrdersAfter(long after, int limit) {
+		return orderRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+	}
+
+	/**
+	 * Stream All Orders
+	 * 
+	 * Reads orders through a forward-only JDBC cursor and passes each one
+	 * to the action as it arrives. Runs in a read-only transaction so the
+	 * cursor stays open for the whole stream.
+	 * 
+	 * @param action Callback invoked once per order, in ID order
+	 */
+	@Transactional(readOnly = true)
+	public void streamAllOrders(Consumer<Order> action) {
+		orderJdbcRepository.forEachOrder(action);
+	}
 	
 	/**
 	 * Get Order by ID
@@ -121,9 +455,14 @@ public class OrderService {
 	 * Retrieves a specific order by its unique identifier.
 	 * Returns null if order is not found.
 	 * 
+	 * Results are cached (read-through) because clients poll this while
+	 * waiting for order status. Misses are not cached, so a newly created
+	 * order is visible immediately.
+	 * 
 	 * @param id Order ID to search for
 	 * @return Order entity or null if not found
 	 */
+	@Cacheable(cacheNames = ORDERS_CACHE, key = "#id", unless = "#result == null")
 	public Order getOrderById(Long id) {
 		return orderRepository.findById(id).orElse(null);
 	}
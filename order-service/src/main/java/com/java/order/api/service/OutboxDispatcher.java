@@ -0,0 +1,147 @@
+package com.java.order.api.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.java.order.api.common.Payment;
+import com.java.order.api.config.OutboxProperties;
+import com.java.order.api.entity.OutboxEvent;
+import com.java.order.api.repository.OutboxEventRepository;
+
+/**
+ * Outbox Dispatcher - Background payment dispatch for OUTBOX booking mode
+ * 
+ * Periodically drains due PENDING outbox rows and sends their payments to
+ * Payment Service in one bulk call (POST /payment/doPayments) per batch.
+ * 
+ * Flow per batch:
+ * 1. Load up to batch-size due PENDING rows, oldest first
+ * 2. Send all payments in one bulk request
+ * 3. On success: set each order to CONFIRMED or PAYMENT_FAILED, mark rows SENT
+ * 4. On failure: schedule a retry with exponential backoff; after
+ *    max-attempts mark rows FAILED and orders PAYMENT_FAILED
+ * 
+ * Delivery is at-least-once: if payment-service processed a batch but the
+ * response was lost, the batch is sent again on the next attempt.
+ * Payment-service answers a resent payment with the order's existing
+ * payment, so orders are not charged twice.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "order.booking.mode", havingValue = "outbox")
+public class OutboxDispatcher {
+
+	private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private OrderService orderService;
+
+	// Load-balanced RestTemplate (payment-service resolved through Eureka)
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private OutboxProperties properties;
+
+	/**
+	 * Drain the outbox
+	 * 
+	 * Sends batches until no due rows are left, then waits for the next poll.
+	 */
+	@Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:500}")
+	public void dispatch() {
+		List<OutboxEvent> batch;
+		do {
+			batch = outboxEventRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+					"PENDING", LocalDateTime.now(), Limit.of(properties.getBatchSize()));
+			if (!batch.isEmpty()) {
+				dispatchBatch(batch);
+			}
+		} while (batch.size() == properties.getBatchSize());
+	}
+
+	private void dispatchBatch(List<OutboxEvent> batch) {
+		List<Payment> payments = new ArrayList<>(batch.size());
+		for (OutboxEvent event : batch) {
+			Payment payment = new Payment();
+			payment.setOrderId(event.getOrderId());
+			payment.setAmount(event.getAmount());
+			payment.setPaymentMode(event.getPaymentMode());
+			payments.add(payment);
+		}
+
+		Payment[] results;
+		try {
+			logger.info("Dispatching {} outbox payments to payment service", batch.size());
+			results = restTemplate.postForObject("http://payment-service/payment/doPayments",
+					payments, Payment[].class);
+		} catch (RestClientException e) {
+			logger.warn("Outbox dispatch of {} payments failed: {}", batch.size(), e.getMessage());
+			scheduleRetry(batch, e.getMessage());
+			return;
+		}
+		if (results == null || results.length != batch.size()) {
+			scheduleRetry(batch, "Unexpected bulk payment response size");
+			return;
+		}
+
+		// Payment Service answers in request order, one entry per payment
+		Map<Long, String> statuses = new LinkedHashMap<>();
+		for (int i = 0; i < batch.size(); i++) {
+			OutboxEvent event = batch.get(i);
+			statuses.put(event.getOrderId(),
+					OrderService.isPaymentSuccessful(results[i]) ? "CONFIRMED" : "PAYMENT_FAILED");
+			event.setStatus("SENT");
+			event.setAttempts(event.getAttempts() + 1);
+		}
+		orderService.updateOrderStatuses(statuses);
+		outboxEventRepository.saveAll(batch);
+	}
+
+	private void scheduleRetry(List<OutboxEvent> batch, String error) {
+		Map<Long, String> givenUp = new LinkedHashMap<>();
+		LocalDateTime now = LocalDateTime.now();
+		for (OutboxEvent event : batch) {
+			int attempts = event.getAttempts() + 1;
+			event.setAttempts(attempts);
+			event.setLastError(error != null && error.length() > 500 ? error.substring(0, 500) : error);
+			if (attempts >= properties.getMaxAttempts()) {
+				event.setStatus("FAILED");
+				givenUp.put(event.getOrderId(), "PAYMENT_FAILED");
+			} else {
+				event.setNextAttemptAt(now.plus(backoff(attempts)));
+			}
+		}
+		if (!givenUp.isEmpty()) {
+			logger.error("Giving up on {} outbox payments after {} attempts", givenUp.size(),
+					properties.getMaxAttempts());
+			orderService.updateOrderStatuses(givenUp);
+		}
+		outboxEventRepository.saveAll(batch);
+	}
+
+	// Exponential backoff: retryBackoff * 2^(attempts - 1), capped at maxRetryBackoff
+	private Duration backoff(int attempts) {
+		Duration delay = properties.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : delay;
+	}
+}
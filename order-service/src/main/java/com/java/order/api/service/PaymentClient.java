@@ -0,0 +1,173 @@
+package com.java.order.api.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.java.order.api.common.Payment;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Mono;
+
+/**
+ * Payment Client - Fail-fast calls to Payment Service
+ * 
+ * Every call goes through the "payment-service" circuit breaker from the
+ * CircuitBreakerFactory (Resilience4j), which wraps it in:
+ * - Bulkhead: at most max-thread-pool-size + queue-capacity calls at once
+ * - Time limiter: the caller waits at most timeout-duration
+ * - Circuit breaker: opens when too many calls fail or are slow
+ * Settings are under resilience4j.* (instance name payment-service).
+ * 
+ * Outcomes:
+ * - Payment returned: payment-service answered
+ * - null: the call was made but failed or timed out (outcome unknown to the caller,
+ *   so OrderService defers the payment and resends it)
+ * - PaymentUnavailableException: breaker open or bulkhead full, nothing was sent
+ * 
+ * The call runs on a bulkhead thread; the trace context is carried over so
+ * log lines written during the call keep the booking's trace IDs.
+ * 
+ * doPaymentAsync is the non-blocking variant (load-balanced WebClient). It
+ * goes through the same circuit breaker and time limiter instances, and a
+ * semaphore bulkhead of the same name (resilience4j.bulkhead) instead of
+ * the thread pool, so it has the same outcomes without holding a thread.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+public class PaymentClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaymentClient.class);
+
+	// Resilience4j instance name (circuit breaker, time limiter and bulkhead)
+	public static final String CIRCUIT_BREAKER_ID = "payment-service";
+
+	private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+	// Load-balanced RestTemplate (payment-service resolved through Eureka)
+	@Autowired
+	private RestTemplate restTemplate;
+
+	@Autowired
+	private CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+	// Resilience4j registries behind the factory - the non-blocking call uses the same instances
+	@Autowired
+	private CircuitBreakerRegistry circuitBreakerRegistry;
+
+	@Autowired
+	private TimeLimiterRegistry timeLimiterRegistry;
+
+	@Autowired
+	private BulkheadRegistry bulkheadRegistry;
+
+	// Load-balanced WebClient builder for the non-blocking call
+	@Autowired
+	@LoadBalanced
+	private WebClient.Builder webClientBuilder;
+
+	private CircuitBreaker circuitBreaker;
+
+	private WebClient webClient;
+
+	@PostConstruct
+	void init() {
+		circuitBreaker = circuitBreakerFactory.create(CIRCUIT_BREAKER_ID);
+		webClient = webClientBuilder.build();
+	}
+
+	/**
+	 * POST /payment/doPayment
+	 * 
+	 * @param payment Payment to process
+	 * @return Processed payment, or null if the call failed
+	 * @throws PaymentUnavailableException if the call was not made
+	 */
+	public Payment doPayment(Payment payment) {
+		return call(() -> restTemplate.postForObject(
+				"http://payment-service/payment/doPayment",  // Service name (Eureka resolves to actual URL)
+				payment,
+				Payment.class));
+	}
+
+	/**
+	 * POST /payment/doPayments
+	 * 
+	 * @param payments Payments to process
+	 * @return One processed payment per request, in request order, or null if the call failed
+	 * @throws PaymentUnavailableException if the call was not made
+	 */
+	public Payment[] doPayments(List<Payment> payments) {
+		return call(() -> restTemplate.postForObject(
+				"http://payment-service/payment/doPayments",
+				payments,
+				Payment[].class));
+	}
+
+	/**
+	 * POST /payment/doPayment without blocking a thread
+	 * 
+	 * The time limiter is innermost so timeouts count as breaker failures;
+	 * the bulkhead is outermost so a full bulkhead does not.
+	 * 
+	 * @param payment Payment to process
+	 * @return Future of the processed payment, or of null if the call failed;
+	 *         completes with PaymentUnavailableException if the call was not made
+	 */
+	public CompletableFuture<Payment> doPaymentAsync(Payment payment) {
+		return webClient.post()
+				.uri("http://payment-service/payment/doPayment")  // Service name (Eureka resolves to actual URL)
+				.bodyValue(payment)
+				.retrieve()
+				.bodyToMono(Payment.class)
+				.transformDeferred(TimeLimiterOperator.of(timeLimiterRegistry.timeLimiter(CIRCUIT_BREAKER_ID)))
+				.transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_ID)))
+				.transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(CIRCUIT_BREAKER_ID)))
+				.onErrorResume(error -> Mono.justOrEmpty(PaymentClient.<Payment>fallback(error)))
+				.toFuture();
+	}
+
+	private <T> T call(Supplier<T> request) {
+		ContextSnapshot context = CONTEXT_SNAPSHOTS.captureAll();
+		return circuitBreaker.run(() -> {
+			try (ContextSnapshot.Scope scope = context.setThreadLocals()) {
+				return request.get();
+			}
+		}, PaymentClient::fallback);
+	}
+
+	private static <T> T fallback(Throwable error) {
+		Throwable rootCause = error;
+		for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+			if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+				throw new PaymentUnavailableException(cause);
+			}
+			rootCause = cause;
+		}
+		// Time limiter and bulkhead wrap the real error (ExecutionException, CompletionException)
+		logger.warn("Payment call failed: {}", rootCause.toString());
+		return null;
+	}
+}
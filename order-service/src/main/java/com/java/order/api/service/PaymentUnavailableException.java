@@ -0,0 +1,20 @@
+package com.java.order.api.service;
+
+/**
+ * Payment Unavailable Exception - The payment call was not made
+ * 
+ * Thrown by PaymentClient when the payment-service circuit breaker is open
+ * or the bulkhead is full. The payment never reached payment-service, so it
+ * is safe to send it again later.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class PaymentUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PaymentUnavailableException(Throwable cause) {
+		super("Payment service unavailable: " + cause.getMessage(), cause);
+	}
+}
@@ -0,0 +1,33 @@
+package com.java.order.api.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.java.order.api.OrderServiceApplication;
+
+/**
+ * Starts order-service for benchmarks without Config Server, Eureka, Zipkin
+ * or a web server; H2 and the application defaults are used.
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start() {
+		return new SpringApplicationBuilder(OrderServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				// application.yml only: skips the configserver: import in application.properties
+				.run("--spring.config.location=classpath:/application.yml",
+						"--spring.cloud.config.enabled=false",
+						"--spring.cloud.config.import-check.enabled=false",
+						"--spring.cloud.compatibility-verifier.enabled=false",
+						"--eureka.client.enabled=false",
+						"--spring.cloud.discovery.enabled=false",
+						"--management.tracing.enabled=false",
+						"--logging.level.root=WARN",
+						"--logging.level.com.java.order.api=WARN");
+	}
+}
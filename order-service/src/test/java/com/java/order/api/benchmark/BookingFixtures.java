@@ -0,0 +1,36 @@
+package com.java.order.api.benchmark;
+
+import com.java.order.api.common.Payment;
+import com.java.order.api.common.TransactionRequest;
+import com.java.order.api.entity.Order;
+
+/**
+ * Sample booking payloads shared by the benchmarks
+ */
+final class BookingFixtures {
+
+	private BookingFixtures() {
+	}
+
+	static TransactionRequest request() {
+		Order order = new Order();
+		order.setName("Mobile");
+		order.setQty(2);
+		order.setPrice(15000.0);
+		order.setCustomerId("customer-42");
+		Payment payment = new Payment();
+		payment.setPaymentMode("UPI");
+		return new TransactionRequest(order, payment);
+	}
+
+	static Payment paymentResponse() {
+		Payment response = new Payment();
+		response.setPaymentId(1);
+		response.setOrderId(1);
+		response.setAmount(15000.0);
+		response.setPaymentMode("UPI");
+		response.setStatus("success");
+		response.setTransactionId("6f1c2d9e-5b7a-4c3e-9f1a-2b8d7e6c5a40");
+		return response;
+	}
+}
@@ -0,0 +1,92 @@
+package com.java.order.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.order.api.common.Payment;
+import com.java.order.api.common.TransactionRequest;
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.entity.Order;
+
+/**
+ * Jackson (de)serialization of the booking DTOs, using an ObjectMapper
+ * configured the way Spring MVC configures its message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+	private ObjectMapper objectMapper;
+
+	private TransactionRequest request;
+
+	private TransactionResponse response;
+
+	private Payment payment;
+
+	private byte[] requestJson;
+
+	private byte[] responseJson;
+
+	private byte[] paymentJson;
+
+	@Setup
+	public void setUp() throws Exception {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		request = BookingFixtures.request();
+		payment = BookingFixtures.paymentResponse();
+		Order order = request.getOrder();
+		order.setId(1L);
+		response = new TransactionResponse(order, payment.getAmount(), payment.getTransactionId(),
+				"Payment processing successful and order placed");
+		requestJson = objectMapper.writeValueAsBytes(request);
+		responseJson = objectMapper.writeValueAsBytes(response);
+		paymentJson = objectMapper.writeValueAsBytes(payment);
+	}
+
+	@Benchmark
+	public byte[] writeTransactionRequest() throws Exception {
+		return objectMapper.writeValueAsBytes(request);
+	}
+
+	@Benchmark
+	public TransactionRequest readTransactionRequest() throws Exception {
+		return objectMapper.readValue(requestJson, TransactionRequest.class);
+	}
+
+	@Benchmark
+	public byte[] writeTransactionResponse() throws Exception {
+		return objectMapper.writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public TransactionResponse readTransactionResponse() throws Exception {
+		return objectMapper.readValue(responseJson, TransactionResponse.class);
+	}
+
+	@Benchmark
+	public byte[] writePayment() throws Exception {
+		return objectMapper.writeValueAsBytes(payment);
+	}
+
+	@Benchmark
+	public Payment readPayment() throws Exception {
+		return objectMapper.readValue(paymentJson, Payment.class);
+	}
+}
@@ -0,0 +1,138 @@
+package com.java.order.api.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import com.java.order.api.logging.DropCountingAsyncAppender;
+import com.java.order.api.logging.SamplingTurboFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.FileAppender;
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+
+/**
+ * Cost of the log lines written for one booking (five INFO lines from the
+ * controller and service loggers), through the JSON file appender of
+ * logback-spring.xml, in each logging mode:
+ * - sync: written by the calling thread (default)
+ * - async: bounded queue, background writer, INFO dropped when full
+ * - async-sampled: async plus 1 in 10 sampling of the two loggers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+	@Param({ "sync", "async", "async-sampled" })
+	private String mode;
+
+	private LoggerContext context;
+
+	private DropCountingAsyncAppender appender;
+
+	private SamplingTurboFilter sampling;
+
+	private Path logFile;
+
+	private Logger controllerLogger;
+
+	private Logger serviceLogger;
+
+	@Setup
+	public void setUp() throws Exception {
+		logFile = Files.createTempFile("logging-benchmark", ".log");
+		context = new LoggerContext();
+		context.setMDCAdapter(new LogbackMDCAdapter());
+
+		LoggingEventCompositeJsonEncoder encoder = new LoggingEventCompositeJsonEncoder();
+		encoder.setContext(context);
+		encoder.getProviders().addProvider(new LoggingEventFormattedTimestampJsonProvider());
+		encoder.getProviders().addProvider(new LogLevelJsonProvider());
+		encoder.getProviders().addProvider(new LoggerNameJsonProvider());
+		encoder.getProviders().addProvider(new MdcJsonProvider());
+		encoder.getProviders().addProvider(new MessageJsonProvider());
+		encoder.start();
+
+		FileAppender<ILoggingEvent> file = new FileAppender<>();
+		file.setContext(context);
+		file.setName("FILE");
+		file.setFile(logFile.toString());
+		file.setEncoder(encoder);
+		file.start();
+
+		appender = new DropCountingAsyncAppender();
+		appender.setContext(context);
+		appender.setName("LOG");
+		appender.setMode(mode.startsWith("async") ? "async" : "sync");
+		appender.addAppender(file);
+		appender.start();
+
+		sampling = new SamplingTurboFilter();
+		sampling.setContext(context);
+		sampling.setRate(mode.equals("async-sampled") ? 10 : 1);
+		sampling.setLoggers("com.java.order.api.controller,com.java.order.api.service");
+		sampling.start();
+		context.addTurboFilter(sampling);
+
+		ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		root.setLevel(Level.INFO);
+		root.addAppender(appender);
+
+		controllerLogger = context.getLogger("com.java.order.api.controller.OrderController");
+		serviceLogger = context.getLogger("com.java.order.api.service.OrderService");
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		context.stop();
+		System.out.println("mode=" + mode + " dropped=" + appender.getDroppedCount() + " sampled out="
+				+ sampling.getSampledOutCount() + " log bytes=" + Files.size(logFile));
+		Files.deleteIfExists(logFile);
+	}
+
+	@Benchmark
+	public void booking() {
+		logBooking();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public void bookingConcurrent() {
+		logBooking();
+	}
+
+	private void logBooking() {
+		controllerLogger.info("Order booking request received: {}", "Mobile");
+		serviceLogger.info("Calling payment service for order: {}", 1234567890123L);
+		serviceLogger.info("Order saved to database: {}", 1234567890123L);
+		serviceLogger.info("Order status: {}", "SUCCESS");
+		controllerLogger.info("Order booking completed with status: {}", "Payment processing successful");
+	}
+}
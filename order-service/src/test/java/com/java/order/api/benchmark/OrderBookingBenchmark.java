@@ -0,0 +1,73 @@
+package com.java.order.api.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.service.OrderService;
+
+/**
+ * OrderService.saveOrder against H2, with payment-service replaced by a
+ * canned "success" response (no network, no load balancer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookingBenchmark {
+
+	private ConfigurableApplicationContext context;
+
+	private OrderService orderService;
+
+	@Setup
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start();
+		byte[] paymentJson = Jackson2ObjectMapperBuilder.json().build()
+				.writeValueAsString(BookingFixtures.paymentResponse())
+				.getBytes(StandardCharsets.UTF_8);
+
+		RestTemplate restTemplate = context.getBean(RestTemplate.class);
+		restTemplate.setInterceptors(List.of());
+		restTemplate.setRequestFactory((uri, method) -> {
+			MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+			MockClientHttpResponse response = new MockClientHttpResponse(paymentJson, HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			request.setResponse(response);
+			return request;
+		});
+		orderService = context.getBean(OrderService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public TransactionResponse saveOrder() {
+		return orderService.saveOrder(BookingFixtures.request());
+	}
+}
@@ -0,0 +1,98 @@
+package com.java.order.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.java.order.api.common.TransactionRequest;
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.config.BookingProperties;
+import com.java.order.api.entity.Order;
+import com.java.order.api.service.OrderService;
+
+/**
+ * Sends bulk bookings of different shapes to the controller and checks
+ * which ones reach the order service.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+	@Mock
+	private OrderService orderService;
+
+	@Spy
+	private BookingProperties bookingProperties = new BookingProperties();
+
+	@InjectMocks
+	private OrderController controller;
+
+	@BeforeEach
+	void setUp() {
+		bookingProperties.setMaxBatchSize(3);
+	}
+
+	@Test
+	void batchUpToTheLimitIsBooked() {
+		List<TransactionRequest> requests = requests(3);
+		when(orderService.saveOrders(any())).thenReturn(Collections.nCopies(3, new TransactionResponse()));
+
+		assertEquals(3, controller.bookOrders(requests).size());
+		verify(orderService).saveOrders(requests);
+	}
+
+	@Test
+	void batchOverTheLimitIsRejected() {
+		assertBadRequest(requests(4));
+	}
+
+	@Test
+	void emptyOrMissingBatchIsRejected() {
+		assertBadRequest(new ArrayList<>());
+		assertBadRequest(null);
+	}
+
+	@Test
+	void batchWithMissingEntriesIsRejected() {
+		assertBadRequest(Arrays.asList(request(), null));
+		assertBadRequest(List.of(request(), new TransactionRequest()));
+	}
+
+	private void assertBadRequest(List<TransactionRequest> requests) {
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.bookOrders(requests));
+		assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+		verify(orderService, never()).saveOrders(anyList());
+	}
+
+	private static List<TransactionRequest> requests(int count) {
+		List<TransactionRequest> requests = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			requests.add(request());
+		}
+		return requests;
+	}
+
+	private static TransactionRequest request() {
+		TransactionRequest request = new TransactionRequest();
+		request.setOrder(new Order());
+		return request;
+	}
+}
@@ -0,0 +1,109 @@
+package com.java.order.api.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives SnowflakeIdGenerator on a virtual clock, including a clock that
+ * stands still or moves backwards.
+ */
+class SnowflakeIdGeneratorTest {
+
+	private static final long START = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+	private final long[] clock = { START };
+
+	private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(677, () -> clock[0]);
+
+	@Test
+	void idsKeepIncreasingWhileTheClockStandsStill() {
+		long previous = generator.nextId();
+		// Far more than the 128 IDs a stripe has per millisecond
+		for (int i = 0; i < 1000; i++) {
+			long id = generator.nextId();
+			assertTrue(id > previous, "ID " + id + " after " + previous);
+			previous = id;
+		}
+
+		// The sequence ran out and later IDs borrowed the following milliseconds
+		assertTrue(SnowflakeIdGenerator.timestampOf(previous).toEpochMilli() > START);
+	}
+
+	@Test
+	void idsKeepIncreasingWhenTheClockMovesBackwards() {
+		long beforeRollback = generator.nextId();
+
+		clock[0] -= 60_000;
+		long afterRollback = generator.nextId();
+
+		assertTrue(afterRollback > beforeRollback, "ID " + afterRollback + " after " + beforeRollback);
+		assertEquals(START, SnowflakeIdGenerator.timestampOf(afterRollback).toEpochMilli());
+	}
+
+	@Test
+	void idsFollowTheClockOnceItMovesForwardAgain() {
+		generator.nextId();
+		clock[0] += 5;
+
+		long id = generator.nextId();
+
+		assertEquals(START + 5, SnowflakeIdGenerator.timestampOf(id).toEpochMilli());
+		assertEquals(0, id & ((1L << SnowflakeIdGenerator.SEQUENCE_BITS) - 1), "sequence restarts at 0");
+	}
+
+	@Test
+	void layoutIsTimestampNodeStripeSequence() {
+		long id = generator.nextId();
+
+		int shift = SnowflakeIdGenerator.STRIPE_BITS + SnowflakeIdGenerator.SEQUENCE_BITS;
+		assertTrue(id > 0);
+		assertEquals(677, (id >>> shift) & SnowflakeIdGenerator.MAX_NODE_ID);
+		assertEquals(START - SnowflakeIdGenerator.EPOCH_MILLIS, id >>> (shift + SnowflakeIdGenerator.NODE_BITS));
+		assertEquals(Instant.ofEpochMilli(START), SnowflakeIdGenerator.timestampOf(id));
+	}
+
+	@Test
+	void differentNodesNeverShareAnId() {
+		SnowflakeIdGenerator other = new SnowflakeIdGenerator(678, () -> clock[0]);
+		Set<Long> ids = new HashSet<>();
+		for (int i = 0; i < 500; i++) {
+			ids.add(generator.nextId());
+			ids.add(other.nextId());
+		}
+
+		assertEquals(1000, ids.size());
+	}
+
+	@Test
+	void concurrentThreadsNeverShareAnId() {
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		List<CompletableFuture<Void>> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			threads.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					ids.add(generator.nextId());
+				}
+			}, runnable -> Thread.ofPlatform().start(runnable)));
+		}
+		threads.forEach(CompletableFuture::join);
+
+		assertEquals(80_000, ids.size());
+	}
+
+	@Test
+	void rejectsNodeIdsOutsideTenBits() {
+		assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+		assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+	}
+}
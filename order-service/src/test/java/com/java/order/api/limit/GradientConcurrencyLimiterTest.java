@@ -0,0 +1,102 @@
+package com.java.order.api.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives GradientConcurrencyLimiter on a virtual clock with a client that
+ * always keeps as many requests in flight as the limit allows.
+ */
+class GradientConcurrencyLimiterTest {
+
+	private final long[] clock = new long[1];
+
+	private final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 1.5, 0.2, 600,
+			() -> clock[0]);
+
+	@Test
+	void limitGrowsWhileResponseTimesStayFlat() {
+		runRounds(100, 10);
+
+		assertTrue(limiter.getLimit() > 100, "limit after flat response times: " + limiter.getLimit());
+	}
+
+	@Test
+	void limitShrinksWhenResponseTimesRise() {
+		runRounds(100, 10);
+		int before = limiter.getLimit();
+
+		// One round of requests 5x slower than the baseline
+		runRounds(1, 50);
+
+		assertTrue(limiter.getLimit() < before / 2,
+				"limit before slowdown: " + before + ", after: " + limiter.getLimit());
+	}
+
+	@Test
+	void limitHoldsWhenMostPermitsAreUnused() {
+		for (int i = 0; i < 1000; i++) {
+			GradientConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+			clock[0] += TimeUnit.MILLISECONDS.toNanos(10);
+			permit.onSuccess();
+		}
+
+		assertEquals(20, limiter.getLimit());
+	}
+
+	@Test
+	void rejectsOnceLimitIsReachedUntilAPermitIsReleased() {
+		List<GradientConcurrencyLimiter.Permit> permits = fill();
+		assertEquals(20, permits.size());
+		assertNull(limiter.tryAcquire());
+
+		GradientConcurrencyLimiter.Permit first = permits.get(0);
+		first.onIgnore();
+		first.onSuccess();
+
+		assertEquals(19, limiter.getInFlight());
+		assertNotNull(limiter.tryAcquire());
+		assertNull(limiter.tryAcquire());
+	}
+
+	@Test
+	void droppedRequestsCutTheLimitDownToMinimum() {
+		limiter.tryAcquire().onDropped();
+		assertEquals(18, limiter.getLimit());
+
+		for (int i = 0; i < 50; i++) {
+			limiter.tryAcquire().onDropped();
+		}
+		assertEquals(4, limiter.getLimit());
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	/**
+	 * Each round fills every free permit, advances the clock by the response
+	 * time and completes all requests
+	 */
+	private void runRounds(int rounds, long rttMillis) {
+		for (int round = 0; round < rounds; round++) {
+			List<GradientConcurrencyLimiter.Permit> permits = fill();
+			clock[0] += TimeUnit.MILLISECONDS.toNanos(rttMillis);
+			permits.forEach(GradientConcurrencyLimiter.Permit::onSuccess);
+		}
+	}
+
+	private List<GradientConcurrencyLimiter.Permit> fill() {
+		List<GradientConcurrencyLimiter.Permit> permits = new ArrayList<>();
+		GradientConcurrencyLimiter.Permit permit;
+		while ((permit = limiter.tryAcquire()) != null) {
+			permits.add(permit);
+		}
+		return permits;
+	}
+}
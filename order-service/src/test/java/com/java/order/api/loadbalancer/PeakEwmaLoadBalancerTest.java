@@ -0,0 +1,132 @@
+package com.java.order.api.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+/**
+ * Simulates payment-service instances with different latencies on a virtual
+ * clock and compares round-robin with PeakEwmaLoadBalancer.
+ */
+class PeakEwmaLoadBalancerTest {
+
+	private static final String SERVICE_ID = "payment-service";
+
+	private static final int CONCURRENCY = 16;
+
+	private static final int REQUESTS = 20_000;
+
+	private final ServiceInstance fast1 = instance("fast-1", 8081);
+
+	private final ServiceInstance fast2 = instance("fast-2", 8082);
+
+	private final ServiceInstance degraded = instance("degraded", 8083);
+
+	// Mean latency of each stub instance in milliseconds
+	private final Map<ServiceInstance, Double> meanLatencyMillis = Map.of(fast1, 10.0, fast2, 12.0, degraded, 250.0);
+
+	@Test
+	void peakEwmaLowersP99WhenOneInstanceIsDegraded() {
+		long[] clock = new long[1];
+
+		RoundRobinLoadBalancer roundRobin = new RoundRobinLoadBalancer(
+				ServiceInstanceListSuppliers.toProvider(SERVICE_ID, fast1, fast2, degraded), SERVICE_ID);
+		PeakEwmaLoadBalancer peakEwma = new PeakEwmaLoadBalancer(
+				ServiceInstanceListSuppliers.toProvider(SERVICE_ID, fast1, fast2, degraded), SERVICE_ID,
+				Duration.ofSeconds(10), Duration.ofSeconds(1), () -> clock[0]);
+
+		Result roundRobinResult = simulate(roundRobin, null, new long[1]);
+		Result peakEwmaResult = simulate(peakEwma, peakEwma, clock);
+
+		String summary = "round-robin p99=" + roundRobinResult.p99Millis() + "ms degraded share="
+				+ roundRobinResult.degradedShare() + ", peak-ewma p99=" + peakEwmaResult.p99Millis()
+				+ "ms degraded share=" + peakEwmaResult.degradedShare();
+		assertTrue(peakEwmaResult.p99Millis() * 4 < roundRobinResult.p99Millis(), summary);
+		assertTrue(peakEwmaResult.degradedShare() < 0.01, summary);
+	}
+
+	/**
+	 * Runs REQUESTS calls with CONCURRENCY callers; each caller starts a new
+	 * call as soon as its previous one completes.
+	 */
+	private Result simulate(ReactorServiceInstanceLoadBalancer loadBalancer, PeakEwmaLoadBalancer lifecycle,
+			long[] clock) {
+		Random random = new Random(42);
+		PriorityQueue<InFlight> inFlight = new PriorityQueue<>();
+		List<Long> latencies = new ArrayList<>(REQUESTS);
+		int started = 0;
+		int degradedCalls = 0;
+
+		while (started < CONCURRENCY) {
+			inFlight.add(start(loadBalancer, lifecycle, clock[0], random));
+			started++;
+		}
+		while (!inFlight.isEmpty()) {
+			InFlight call = inFlight.poll();
+			clock[0] = call.completesAt;
+			latencies.add(call.completesAt - call.startedAt);
+			if (call.response.getServer() == degraded) {
+				degradedCalls++;
+			}
+			if (lifecycle != null) {
+				lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, call.request,
+						call.response));
+			}
+			if (started < REQUESTS) {
+				inFlight.add(start(loadBalancer, lifecycle, clock[0], random));
+				started++;
+			}
+		}
+
+		Collections.sort(latencies);
+		long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+		return new Result(Duration.ofNanos(p99).toMillis(), (double) degradedCalls / latencies.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	private InFlight start(ReactorServiceInstanceLoadBalancer loadBalancer, PeakEwmaLoadBalancer lifecycle,
+			long now, Random random) {
+		Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+		Response<ServiceInstance> response = loadBalancer.choose(request).block();
+		if (lifecycle != null) {
+			lifecycle.onStartRequest(request, response);
+		}
+		// +/-20% jitter around the instance's mean latency
+		double millis = meanLatencyMillis.get(response.getServer()) * (0.8 + 0.4 * random.nextDouble());
+		return new InFlight(request, response, now, now + (long) (millis * 1_000_000));
+	}
+
+	private static ServiceInstance instance(String host, int port) {
+		return new DefaultServiceInstance(host + ":" + port, SERVICE_ID, host, port, false);
+	}
+
+	private record InFlight(Request<Object> request, Response<ServiceInstance> response, long startedAt,
+			long completesAt) implements Comparable<InFlight> {
+
+		@Override
+		public int compareTo(InFlight other) {
+			return Long.compare(completesAt, other.completesAt);
+		}
+	}
+
+	private record Result(long p99Millis, double degradedShare) {
+	}
+}
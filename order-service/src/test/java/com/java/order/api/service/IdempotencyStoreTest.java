@@ -0,0 +1,175 @@
+package com.java.order.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.config.IdempotencyProperties;
+import com.java.order.api.entity.IdempotencyRecord;
+import com.java.order.api.entity.Order;
+import com.java.order.api.repository.IdempotencyRecordRepository;
+
+/**
+ * Runs bookings through the idempotency store with a mocked
+ * IDEMPOTENCY_TB and counts how often each booking really runs.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+	@Mock
+	private IdempotencyRecordRepository repository;
+
+	@Spy
+	private IdempotencyProperties properties = new IdempotencyProperties();
+
+	// Configured like Spring Boot's ObjectMapper (unknown properties such as Order.totalValue are ignored)
+	@Spy
+	private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@InjectMocks
+	private IdempotencyStore store;
+
+	private final AtomicInteger bookings = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		store.init();
+	}
+
+	@Test
+	void repeatedKeyRunsTheBookingOnce() {
+		TransactionResponse first = store.execute("key-1", booking(response(1L))).join();
+		TransactionResponse repeat = store.execute("key-1", booking(response(2L))).join();
+
+		assertEquals(1, bookings.get());
+		assertSame(first, repeat);
+		verify(repository, times(1)).save(any(IdempotencyRecord.class));
+	}
+
+	@Test
+	void differentKeysRunTheirOwnBookings() {
+		store.execute("key-1", booking(response(1L))).join();
+		store.execute("key-2", booking(response(2L))).join();
+
+		assertEquals(2, bookings.get());
+	}
+
+	@Test
+	void concurrentDuplicateJoinsTheRunningBooking() {
+		CompletableFuture<TransactionResponse> running = new CompletableFuture<>();
+		CompletableFuture<TransactionResponse> first = store.execute("key-1", () -> {
+			bookings.incrementAndGet();
+			return running;
+		});
+		CompletableFuture<TransactionResponse> duplicate = store.execute("key-1", booking(response(2L)));
+		assertFalse(duplicate.isDone());
+
+		// A caller completing its copy must not answer the others
+		duplicate.complete(response(3L));
+		running.complete(response(1L));
+
+		assertEquals(1, bookings.get());
+		assertEquals(1L, first.join().getOrder().getId());
+	}
+
+	@Test
+	void failedBookingIsNotStoredSoTheKeyCanBeRetried() {
+		CompletableFuture<TransactionResponse> failed = store.execute("key-1",
+				() -> CompletableFuture.failedFuture(new IllegalStateException("payment-service down")));
+		assertThrows(Exception.class, failed::join);
+
+		TransactionResponse retried = store.execute("key-1", booking(response(2L))).join();
+
+		assertEquals(2L, retried.getOrder().getId());
+		verify(repository, times(1)).save(any(IdempotencyRecord.class));
+	}
+
+	@Test
+	void bookingThatThrowsReleasesTheKey() {
+		CompletableFuture<TransactionResponse> failed = store.execute("key-1", () -> {
+			throw new IllegalArgumentException("invalid order");
+		});
+		assertThrows(Exception.class, failed::join);
+
+		assertEquals(1L, store.execute("key-1", booking(response(1L))).join().getOrder().getId());
+	}
+
+	@Test
+	void keyMissingFromMemoryIsReplayedFromTheTable() throws Exception {
+		// e.g. after a restart or an eviction from the in-memory cache
+		LocalDateTime now = LocalDateTime.now();
+		IdempotencyRecord record = new IdempotencyRecord("key-1", objectMapper.writeValueAsString(response(7L)),
+				now.minusMinutes(5), now.plusHours(1));
+		when(repository.findById("key-1")).thenReturn(Optional.of(record));
+
+		TransactionResponse replayed = store.execute("key-1", booking(response(8L))).join();
+
+		assertEquals(0, bookings.get());
+		assertEquals(7L, replayed.getOrder().getId());
+		verify(repository, never()).save(any(IdempotencyRecord.class));
+	}
+
+	@Test
+	void expiredStoredKeyIsIgnored() throws Exception {
+		LocalDateTime now = LocalDateTime.now();
+		IdempotencyRecord record = new IdempotencyRecord("key-1", objectMapper.writeValueAsString(response(7L)),
+				now.minusDays(2), now.minusDays(1));
+		when(repository.findById("key-1")).thenReturn(Optional.of(record));
+
+		TransactionResponse booked = store.execute("key-1", booking(response(8L))).join();
+
+		assertEquals(1, bookings.get());
+		assertEquals(8L, booked.getOrder().getId());
+	}
+
+	@Test
+	void keyIsStillDeduplicatedInMemoryWhenTheTableIsDown() {
+		when(repository.save(any(IdempotencyRecord.class)))
+				.thenThrow(new DataAccessResourceFailureException("database unavailable"));
+
+		store.execute("key-1", booking(response(1L))).join();
+		store.execute("key-1", booking(response(2L))).join();
+
+		assertEquals(1, bookings.get());
+	}
+
+	private Supplier<CompletableFuture<TransactionResponse>> booking(TransactionResponse response) {
+		return () -> {
+			bookings.incrementAndGet();
+			return CompletableFuture.completedFuture(response);
+		};
+	}
+
+	private static TransactionResponse response(long orderId) {
+		Order order = new Order();
+		order.setId(orderId);
+		order.setName("book");
+		order.setQty(1);
+		order.setPrice(100.0);
+		return new TransactionResponse(order, 100.0, "TX-" + orderId, "payment processing successful");
+	}
+}
@@ -0,0 +1,129 @@
+package com.java.order.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.java.order.api.common.Payment;
+import com.java.order.api.common.TransactionRequest;
+import com.java.order.api.common.TransactionResponse;
+import com.java.order.api.entity.Order;
+import com.java.order.api.repository.OrderRepository;
+
+/**
+ * Books single orders against a stub payment-service that indexes
+ * payments by order ID, like GET /payment/by-order/{orderId}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+	@Mock
+	private OrderRepository orderRepository;
+
+	@Mock
+	private PaymentClient paymentClient;
+
+	@Mock
+	private DeferredPaymentQueue deferredPaymentQueue;
+
+	@InjectMocks
+	private OrderService orderService;
+
+	// Stub payment-service: order ID -> payments
+	private final Map<Long, List<Payment>> paymentsByOrderId = new HashMap<>();
+
+	private final AtomicLong nextId = new AtomicLong(1000);
+
+	@BeforeEach
+	void setUp() {
+		// The repository assigns a new ID on save, like the Snowflake generator
+		when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+			Order order = invocation.getArgument(0);
+			order.setId(nextId.incrementAndGet());
+			return order;
+		});
+	}
+
+	@Test
+	void bookedOrderIsFoundByItsOrderId() {
+		when(paymentClient.doPayment(any(Payment.class))).thenAnswer(invocation -> {
+			Payment payment = invocation.getArgument(0);
+			paymentsByOrderId.computeIfAbsent(payment.getOrderId(), key -> new ArrayList<>()).add(payment);
+			return new Payment(1, "success", "TX-" + payment.getOrderId(), payment.getOrderId(), payment.getAmount());
+		});
+
+		TransactionResponse response = orderService.saveOrder(request());
+
+		Long orderId = response.getOrder().getId();
+		assertNotNull(orderId);
+		assertNotEquals(0L, orderId);
+		assertEquals(1, paymentsByOrderId.getOrDefault(orderId, List.of()).size());
+		assertEquals("TX-" + orderId, response.getTransactionId());
+	}
+
+	@Test
+	void ignoresClientSuppliedOrderId() {
+		when(paymentClient.doPayment(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		TransactionRequest request = request();
+		request.getOrder().setId(1L);
+
+		TransactionResponse response = orderService.saveOrder(request);
+
+		assertNotEquals(1L, response.getOrder().getId());
+	}
+
+	@Test
+	void deferredPaymentCarriesTheSavedOrderId() {
+		when(paymentClient.doPayment(any(Payment.class)))
+				.thenThrow(new PaymentUnavailableException(new IllegalStateException("open")));
+		when(deferredPaymentQueue.offer(any(Payment.class))).thenReturn(true);
+
+		TransactionResponse response = orderService.saveOrder(request());
+
+		ArgumentCaptor<Payment> deferred = ArgumentCaptor.forClass(Payment.class);
+		verify(deferredPaymentQueue).offer(deferred.capture());
+		assertEquals(response.getOrder().getId(), deferred.getValue().getOrderId());
+		assertEquals("PENDING", response.getTransactionId());
+	}
+
+	@Test
+	void failedPaymentCallIsDeferredNotFailed() {
+		// null: the call timed out, payment-service may still take the payment
+		when(paymentClient.doPayment(any(Payment.class))).thenReturn(null);
+		when(deferredPaymentQueue.offer(any(Payment.class))).thenReturn(true);
+
+		TransactionResponse response = orderService.saveOrder(request());
+
+		ArgumentCaptor<Payment> deferred = ArgumentCaptor.forClass(Payment.class);
+		verify(deferredPaymentQueue).offer(deferred.capture());
+		assertEquals(response.getOrder().getId(), deferred.getValue().getOrderId());
+		assertEquals("PENDING", response.getTransactionId());
+	}
+
+	private static TransactionRequest request() {
+		Order order = new Order();
+		order.setName("book");
+		order.setQty(1);
+		order.setPrice(250.0);
+		Payment payment = new Payment();
+		payment.setPaymentMode("CARD");
+		return new TransactionRequest(order, payment);
+	}
+}
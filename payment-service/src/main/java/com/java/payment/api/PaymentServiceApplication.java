@@ -2,10 +2,14 @@ package com.java.payment.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
+import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
 @EnableEurekaClient
+@EnableAsync
+@ConfigurationPropertiesScan
 public class PaymentServiceApplication {
 
 	public static void main(String[] args) {
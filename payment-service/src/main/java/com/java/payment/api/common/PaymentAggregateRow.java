@@ -0,0 +1,10 @@
+package com.java.payment.api.common;
+
+/**
+ * One GROUP BY row (status, mode) used to seed the payment aggregates at startup
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public record PaymentAggregateRow(String paymentStatus, String paymentMode, long count, Double amount) {
+}
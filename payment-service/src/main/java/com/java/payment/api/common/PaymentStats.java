@@ -0,0 +1,42 @@
+package com.java.payment.api.common;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payment Stats - Aggregates served by GET /payment/stats
+ * 
+ * @param count Payments recorded
+ * @param amount Sum of their amounts
+ * @param byStatus Count and amount per payment status (SUCCESS, FAILED)
+ * @param byMode Count and amount per payment mode (CARD, UPI, ...)
+ * @param windows Per-minute windows, oldest first
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public record PaymentStats(
+		long count,
+		double amount,
+		Map<String, Totals> byStatus,
+		Map<String, Totals> byMode,
+		List<Window> windows) {
+
+	/**
+	 * Count and amount of a group of payments
+	 */
+	public record Totals(long count, double amount) {
+	}
+
+	/**
+	 * One minute of payments
+	 * 
+	 * @param start Start of the minute
+	 * @param count Payments in the minute
+	 * @param amount Sum of their amounts
+	 * @param byStatus Payment count per status
+	 */
+	public record Window(Instant start, long count, double amount, Map<String, Long> byStatus) {
+	}
+}
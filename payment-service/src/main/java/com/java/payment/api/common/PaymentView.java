@@ -0,0 +1,26 @@
+package com.java.payment.api.common;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Payment View - Read-only projection of a payment for lookup APIs
+ * 
+ * Spring Data selects only these columns (no entity is loaded into the
+ * persistence context), which keeps index lookups cheap. The payment ID
+ * is written as a JSON string, like Payment.paymentId.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public record PaymentView(
+		@JsonSerialize(using = ToStringSerializer.class) Long paymentId,
+		String orderId,
+		Double amount,
+		String paymentStatus,
+		String transactionId,
+		String paymentMode,
+		LocalDateTime createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.java.payment.api.common;
+
+import java.time.LocalDateTime;
+
+/**
+ * One recent payment used to seed the per-minute windows at startup
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public record PaymentWindowRow(LocalDateTime createdAt, String paymentStatus, Double amount) {
+}
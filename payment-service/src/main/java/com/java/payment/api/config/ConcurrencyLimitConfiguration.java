@@ -0,0 +1,81 @@
+package com.java.payment.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.java.payment.api.limit.ConcurrencyLimitFilter;
+import com.java.payment.api.limit.ConcurrencyLimitWebFilter;
+import com.java.payment.api.limit.GradientConcurrencyLimiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Concurrency Limit Configuration - Adaptive limiter on the payment endpoints
+ * 
+ * Guards payment.concurrency-limit.paths with the ConcurrencyLimitFilter
+ * (Tomcat) or, under the reactive profile, the ConcurrencyLimitWebFilter
+ * (Netty). Both run ahead of the other filters so rejected requests cost as
+ * little as possible. Disabled with payment.concurrency-limit.enabled=false.
+ * 
+ * Metrics (tag limiter=payment-writes):
+ * - concurrency.limit: current limit
+ * - concurrency.limit.inflight: requests holding a permit
+ * - concurrency.limit.requests{outcome}: accepted / rejected requests
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration {
+
+	private static final String LIMITER_NAME = "payment-writes";
+
+	@Bean
+	public GradientConcurrencyLimiter concurrencyLimiter(ConcurrencyLimitProperties properties) {
+		return new GradientConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+				properties.getMaxLimit(), properties.getRttTolerance(), properties.getSmoothing(),
+				properties.getLongWindow());
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(GradientConcurrencyLimiter concurrencyLimiter,
+			ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+				new ConcurrencyLimitFilter(concurrencyLimiter, properties.getRetryAfter(), LIMITER_NAME, meterRegistry));
+		registration.setUrlPatterns(properties.getPaths());
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registration;
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+	public ConcurrencyLimitWebFilter concurrencyLimitWebFilter(GradientConcurrencyLimiter concurrencyLimiter,
+			ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+		return new ConcurrencyLimitWebFilter(concurrencyLimiter, properties.getPaths(), properties.getRetryAfter(),
+				LIMITER_NAME, meterRegistry);
+	}
+
+	@Bean
+	public MeterBinder concurrencyLimiterMetrics(GradientConcurrencyLimiter concurrencyLimiter) {
+		return registry -> {
+			Gauge.builder("concurrency.limit", concurrencyLimiter, GradientConcurrencyLimiter::getLimit)
+					.description("Current adaptive concurrency limit")
+					.tag("limiter", LIMITER_NAME)
+					.register(registry);
+			Gauge.builder("concurrency.limit.inflight", concurrencyLimiter, GradientConcurrencyLimiter::getInFlight)
+					.description("Requests currently holding a concurrency permit")
+					.tag("limiter", LIMITER_NAME)
+					.register(registry);
+		};
+	}
+}
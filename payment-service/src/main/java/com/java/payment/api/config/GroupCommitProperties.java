@@ -0,0 +1,76 @@
+package com.java.payment.api.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Group Commit Properties - Configuration for batched payment writes
+ * 
+ * When enabled, concurrent doPayment calls are collected into micro-batches
+ * that are written with one JDBC batch and one commit. A batch is written
+ * as soon as it reaches max-batch-size or linger has passed since its
+ * first payment, whichever comes first. Bound from the
+ * "payment.group-commit" prefix.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "payment.group-commit")
+public class GroupCommitProperties {
+
+	// Off by default: every doPayment call commits on its own
+	private boolean enabled = false;
+
+	// Maximum payments per commit (keep <= hibernate.jdbc.batch_size for one JDBC batch)
+	private int maxBatchSize = 50;
+
+	// How long the first payment of a batch waits for more payments
+	private Duration linger = Duration.ofMillis(2);
+
+	// Payments waiting for the writer; when full, callers write directly
+	private int queueCapacity = 10000;
+
+	// How long a payment may wait in the queue; one the writer has taken is always waited for
+	private Duration commitTimeout = Duration.ofSeconds(5);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public Duration getLinger() {
+		return linger;
+	}
+
+	public void setLinger(Duration linger) {
+		this.linger = linger;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public Duration getCommitTimeout() {
+		return commitTimeout;
+	}
+
+	public void setCommitTimeout(Duration commitTimeout) {
+		this.commitTimeout = commitTimeout;
+	}
+}
@@ -0,0 +1,54 @@
+package com.java.payment.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.id.SnowflakeIdGenerator;
+
+/**
+ * ID Generator Configuration - Snowflake IDs for payments
+ * 
+ * Creates the IdGenerator bean (replaceable by declaring another one). It is
+ * also injected into Hibernate's SnowflakeIdentifierGenerator for
+ * @SnowflakeId entity IDs.
+ * 
+ * An instance that registers with Eureka may run next to other instances,
+ * so it refuses to start without payment.id.node-id: a node ID derived from
+ * the host name could silently collide. Standalone instances (benchmarks,
+ * eureka.client.enabled=false) use node 0.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+public class IdGeneratorConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(IdGeneratorConfiguration.class);
+
+	@Bean
+	@ConditionalOnMissingBean
+	public IdGenerator idGenerator(IdGeneratorProperties properties, Environment environment) {
+		int nodeId;
+		if (properties.getNodeId() != null) {
+			nodeId = properties.getNodeId();
+		} else if (registersWithEureka(environment)) {
+			throw new IllegalStateException("payment.id.node-id is not set. Every payment-service instance registered "
+					+ "with Eureka needs its own node ID (0-" + SnowflakeIdGenerator.MAX_NODE_ID
+					+ "), e.g. PAYMENT_ID_NODE_ID=1");
+		} else {
+			nodeId = 0;
+			logger.info("No payment.id.node-id configured, standalone instance uses node ID 0");
+		}
+		return new SnowflakeIdGenerator(nodeId);
+	}
+
+	private static boolean registersWithEureka(Environment environment) {
+		return environment.getProperty("eureka.client.enabled", Boolean.class, true)
+				&& environment.getProperty("eureka.client.register-with-eureka", Boolean.class, true);
+	}
+}
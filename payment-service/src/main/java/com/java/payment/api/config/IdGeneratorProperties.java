@@ -0,0 +1,29 @@
+package com.java.payment.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ID Generator Properties - Node identity for Snowflake IDs
+ * 
+ * Every running payment-service instance needs a different node ID (0-1023)
+ * so generated IDs never collide. Bound from the "payment.id" prefix. It is
+ * required when the instance registers with Eureka; standalone instances
+ * default to 0.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "payment.id")
+public class IdGeneratorProperties {
+
+	// Node ID of this instance (0-1023), required when registered with Eureka
+	private Integer nodeId;
+
+	public Integer getNodeId() {
+		return nodeId;
+	}
+
+	public void setNodeId(Integer nodeId) {
+		this.nodeId = nodeId;
+	}
+}
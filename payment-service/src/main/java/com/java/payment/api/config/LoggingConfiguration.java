@@ -0,0 +1,87 @@
+package com.java.payment.api.config;
+
+import java.util.Iterator;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.java.payment.api.logging.DropCountingAsyncAppender;
+import com.java.payment.api.logging.SamplingTurboFilter;
+import com.java.payment.api.logging.SlowRequestLoggingFilter;
+import com.java.payment.api.logging.SlowRequestLoggingWebFilter;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Logging Configuration - Slow request log and logging pipeline metrics
+ * 
+ * The async appender and the sampling filter are created by
+ * logback-spring.xml (see LoggingProperties). This configuration adds:
+ * - SlowRequestLoggingFilter on all requests (SlowRequestLoggingWebFilter
+ *   under the reactive profile)
+ * - logging.events.dropped / logging.queue.size: async appender drops and backlog
+ * - logging.events.sampled: events left out by sampling
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+public class LoggingConfiguration {
+
+	@Bean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+	public FilterRegistrationBean<SlowRequestLoggingFilter> slowRequestLoggingFilter(LoggingProperties properties) {
+		FilterRegistrationBean<SlowRequestLoggingFilter> registration = new FilterRegistrationBean<>(
+				new SlowRequestLoggingFilter(properties.getSlowRequestThreshold()));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+	@Bean
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public SlowRequestLoggingWebFilter slowRequestLoggingWebFilter(LoggingProperties properties) {
+		return new SlowRequestLoggingWebFilter(properties.getSlowRequestThreshold());
+	}
+
+	@Bean
+	public MeterBinder loggingPipelineMetrics() {
+		return registry -> {
+			if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+				return;
+			}
+			Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)
+					.iteratorForAppenders();
+			while (appenders.hasNext()) {
+				if (appenders.next() instanceof DropCountingAsyncAppender appender) {
+					FunctionCounter.builder("logging.events.dropped", appender, DropCountingAsyncAppender::getDroppedCount)
+							.description("Log events dropped because the async queue was full")
+							.tag("appender", appender.getName())
+							.register(registry);
+					Gauge.builder("logging.queue.size", appender, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+							.description("Log events waiting in the async queue")
+							.tag("appender", appender.getName())
+							.register(registry);
+				}
+			}
+			for (TurboFilter filter : context.getTurboFilterList()) {
+				if (filter instanceof SamplingTurboFilter sampling) {
+					FunctionCounter.builder("logging.events.sampled", sampling, SamplingTurboFilter::getSampledOutCount)
+							.description("Log events left out by sampling")
+							.register(registry);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,26 @@
+package com.java.payment.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.java.payment.api.simulator.PaymentGateway;
+import com.java.payment.api.simulator.SimulatedPaymentGateway;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Payment Gateway Configuration - Simulated provider unless another PaymentGateway is declared
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+public class PaymentGatewayConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public PaymentGateway paymentGateway(PaymentSimulatorProperties properties, MeterRegistry meterRegistry) {
+		return new SimulatedPaymentGateway(properties, meterRegistry);
+	}
+}
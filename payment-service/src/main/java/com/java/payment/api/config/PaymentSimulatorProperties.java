@@ -0,0 +1,245 @@
+package com.java.payment.api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Payment Simulator Properties - Latency and failure profiles of the simulated payment gateway
+ * 
+ * profile names the active entry of profiles. Both are re-read on every
+ * payment, so a new profile pushed through Config Server takes effect after
+ * POST /actuator/refresh without a restart. An unknown profile name falls
+ * back to an instant gateway with a 20% failure rate. Bound from the
+ * "payment.simulator" prefix.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "payment.simulator")
+public class PaymentSimulatorProperties {
+
+	// Name of the active profile
+	private String profile = "instant";
+
+	// Available profiles by name
+	private Map<String, Profile> profiles = new LinkedHashMap<>();
+
+	public String getProfile() {
+		return profile;
+	}
+
+	public void setProfile(String profile) {
+		this.profile = profile;
+	}
+
+	public Map<String, Profile> getProfiles() {
+		return profiles;
+	}
+
+	public void setProfiles(Map<String, Profile> profiles) {
+		this.profiles = profiles;
+	}
+
+	/**
+	 * Shape of the gateway response time
+	 */
+	public enum Distribution {
+		FIXED,      // Always mean
+		NORMAL,     // mean +/- stddev (bell curve, cut at 0)
+		LOGNORMAL   // median with a long tail controlled by sigma
+	}
+
+	/**
+	 * One gateway behaviour (payment.simulator.profiles.<name>.*)
+	 */
+	public static class Profile {
+
+		private Latency latency = new Latency();
+
+		// Share of answered payments that are declined (0-1)
+		private double failureRate = 0.2;
+
+		// Share of payments that never get an answer: they hang for timeout and then fail (0-1)
+		private double timeoutRate = 0;
+
+		// How long a timed-out payment hangs
+		private Duration timeout = Duration.ofSeconds(30);
+
+		// Periodic degradation window; none when unset
+		private Burst burst;
+
+		public Latency getLatency() {
+			return latency;
+		}
+
+		public void setLatency(Latency latency) {
+			this.latency = latency;
+		}
+
+		public double getFailureRate() {
+			return failureRate;
+		}
+
+		public void setFailureRate(double failureRate) {
+			this.failureRate = failureRate;
+		}
+
+		public double getTimeoutRate() {
+			return timeoutRate;
+		}
+
+		public void setTimeoutRate(double timeoutRate) {
+			this.timeoutRate = timeoutRate;
+		}
+
+		public Duration getTimeout() {
+			return timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public Burst getBurst() {
+			return burst;
+		}
+
+		public void setBurst(Burst burst) {
+			this.burst = burst;
+		}
+	}
+
+	/**
+	 * Response time distribution (payment.simulator.profiles.<name>.latency.*)
+	 */
+	public static class Latency {
+
+		private Distribution distribution = Distribution.FIXED;
+
+		// FIXED: the latency; NORMAL: the mean
+		private Duration mean = Duration.ZERO;
+
+		// NORMAL: standard deviation
+		private Duration stddev = Duration.ZERO;
+
+		// LOGNORMAL: median (p50) latency
+		private Duration median = Duration.ZERO;
+
+		// LOGNORMAL: shape - 0.5 gives p99 ~3x the median, 1.0 gives p99 ~10x
+		private double sigma = 0.5;
+
+		// Upper bound for any sampled latency
+		private Duration max = Duration.ofSeconds(10);
+
+		public Distribution getDistribution() {
+			return distribution;
+		}
+
+		public void setDistribution(Distribution distribution) {
+			this.distribution = distribution;
+		}
+
+		public Duration getMean() {
+			return mean;
+		}
+
+		public void setMean(Duration mean) {
+			this.mean = mean;
+		}
+
+		public Duration getStddev() {
+			return stddev;
+		}
+
+		public void setStddev(Duration stddev) {
+			this.stddev = stddev;
+		}
+
+		public Duration getMedian() {
+			return median;
+		}
+
+		public void setMedian(Duration median) {
+			this.median = median;
+		}
+
+		public double getSigma() {
+			return sigma;
+		}
+
+		public void setSigma(double sigma) {
+			this.sigma = sigma;
+		}
+
+		public Duration getMax() {
+			return max;
+		}
+
+		public void setMax(Duration max) {
+			this.max = max;
+		}
+	}
+
+	/**
+	 * Degradation window that repeats every "every" and lasts "duration"
+	 * (payment.simulator.profiles.<name>.burst.*). Windows are aligned to
+	 * the wall clock, so all instances degrade at the same time.
+	 */
+	public static class Burst {
+
+		private Duration every = Duration.ofMinutes(5);
+
+		private Duration duration = Duration.ZERO;
+
+		// Latency is multiplied by this inside the window
+		private double latencyMultiplier = 1;
+
+		// Failure and timeout rates inside the window; the profile's rates when unset
+		private Double failureRate;
+
+		private Double timeoutRate;
+
+		public Duration getEvery() {
+			return every;
+		}
+
+		public void setEvery(Duration every) {
+			this.every = every;
+		}
+
+		public Duration getDuration() {
+			return duration;
+		}
+
+		public void setDuration(Duration duration) {
+			this.duration = duration;
+		}
+
+		public double getLatencyMultiplier() {
+			return latencyMultiplier;
+		}
+
+		public void setLatencyMultiplier(double latencyMultiplier) {
+			this.latencyMultiplier = latencyMultiplier;
+		}
+
+		public Double getFailureRate() {
+			return failureRate;
+		}
+
+		public void setFailureRate(Double failureRate) {
+			this.failureRate = failureRate;
+		}
+
+		public Double getTimeoutRate() {
+			return timeoutRate;
+		}
+
+		public void setTimeoutRate(Double timeoutRate) {
+			this.timeoutRate = timeoutRate;
+		}
+	}
+}
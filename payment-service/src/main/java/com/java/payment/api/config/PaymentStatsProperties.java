@@ -0,0 +1,27 @@
+package com.java.payment.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Payment Stats Properties - Configuration for the in-memory payment aggregates
+ * 
+ * Bound from the "payment.stats" prefix. GET /payment/stats serves totals
+ * and per-minute windows covering the last window-hours hours.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "payment.stats")
+public class PaymentStatsProperties {
+
+	// Hours of per-minute windows kept in memory (60 windows per hour)
+	private int windowHours = 24;
+
+	public int getWindowHours() {
+		return windowHours;
+	}
+
+	public void setWindowHours(int windowHours) {
+		this.windowHours = windowHours;
+	}
+}
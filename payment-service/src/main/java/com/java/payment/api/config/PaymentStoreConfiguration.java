@@ -0,0 +1,47 @@
+package com.java.payment.api.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.repository.PaymentJdbcRepository;
+import com.java.payment.api.repository.PaymentRepository;
+import com.java.payment.api.store.JournalPaymentStore;
+import com.java.payment.api.store.JpaPaymentStore;
+import com.java.payment.api.store.PaymentStore;
+
+/**
+ * Payment Store Configuration - Creates the PaymentStore selected by payment.store.type
+ * 
+ * - jpa (default): JpaPaymentStore on PAYMENT_TB
+ * - journal: JournalPaymentStore in payment.store.journal.directory, replayed on startup
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Configuration
+@Profile("!reactive")
+public class PaymentStoreConfiguration {
+
+	@Bean
+	@ConditionalOnProperty(name = "payment.store.type", havingValue = "jpa", matchIfMissing = true)
+	public PaymentStore jpaPaymentStore(PaymentRepository repository, PaymentJdbcRepository jdbcRepository) {
+		return new JpaPaymentStore(repository, jdbcRepository);
+	}
+
+	@Bean(initMethod = "open", destroyMethod = "close")
+	@ConditionalOnProperty(name = "payment.store.type", havingValue = "journal")
+	public PaymentStore journalPaymentStore(PaymentStoreProperties properties, IdGenerator idGenerator) {
+		PaymentStoreProperties.Journal journal = properties.getJournal();
+		long segmentSize = journal.getSegmentSize().toBytes();
+		if (segmentSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("payment.store.journal.segment-size must be below 2GB");
+		}
+		return new JournalPaymentStore(Path.of(journal.getDirectory()), (int) segmentSize, journal.isForce(),
+				idGenerator);
+	}
+}
@@ -0,0 +1,75 @@
+package com.java.payment.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Payment Store Properties - Selects where payments are stored
+ * 
+ * type "jpa" (default) stores payments in PAYMENT_TB through Hibernate.
+ * type "journal" appends them to memory-mapped journal segments on local
+ * disk and keeps the lookup indexes in memory; the journal is replayed on
+ * startup. Bound from the "payment.store" prefix.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@ConfigurationProperties(prefix = "payment.store")
+public class PaymentStoreProperties {
+
+	// "jpa" or "journal"
+	private String type = "jpa";
+
+	private final Journal journal = new Journal();
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public Journal getJournal() {
+		return journal;
+	}
+
+	/**
+	 * Journal store settings (payment.store.journal.*)
+	 */
+	public static class Journal {
+
+		// Directory holding the segment files (created if missing)
+		private String directory = "data/payment-journal";
+
+		// Size of one segment file; a new segment is started when the current one is full
+		private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+		// Flush to disk after every write: survives power loss, not only a process crash
+		private boolean force = false;
+
+		public String getDirectory() {
+			return directory;
+		}
+
+		public void setDirectory(String directory) {
+			this.directory = directory;
+		}
+
+		public DataSize getSegmentSize() {
+			return segmentSize;
+		}
+
+		public void setSegmentSize(DataSize segmentSize) {
+			this.segmentSize = segmentSize;
+		}
+
+		public boolean isForce() {
+			return force;
+		}
+
+		public void setForce(boolean force) {
+			this.force = force;
+		}
+	}
+}
@@ -3,13 +3,27 @@ package com.java.payment.api.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.java.payment.api.common.PaymentStats;
+import com.java.payment.api.common.PaymentView;
 import com.java.payment.api.entity.Payment;
 import com.java.payment.api.service.PaymentService;
+import com.java.payment.api.service.PaymentStatistics;
+import com.java.payment.api.simulator.PaymentGatewayTimeoutException;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -28,13 +42,19 @@ import java.util.List;
  * 
  * API Endpoints:
  * - POST /payment/doPayment - Process payment transaction
- * - GET /payment/all - Retrieve all payments (admin only)
+ * - POST /payment/doPayments - Process payment transactions in bulk
+ * - GET /payment/all - Retrieve all payments (admin only), or one keyset page with ?after=&limit=
+ * - GET /payment/all/stream - Stream all payments as NDJSON
  * - GET /payment/{id} - Retrieve specific payment by ID
+ * - GET /payment/by-order/{orderId} - Retrieve payments of an order
+ * - GET /payment/by-transaction/{transactionId} - Retrieve payment by transaction ID
+ * - GET /payment/stats - Payment totals and per-minute windows from in-memory counters
  * 
  * @author Learning Project
  * @version 1.0
  */
 @RestController  // Marks this class as REST controller
+@Profile("!reactive")  // The reactive profile uses ReactivePaymentController / R2DBC instead
 @RequestMapping("/payment")  // Base URL path for all endpoints
 public class PaymentController {
 
@@ -45,6 +65,24 @@ public class PaymentController {
 	@Autowired
 	private PaymentService service;
 
+	// Spring Boot's ObjectMapper - used to write NDJSON rows one at a time
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// In-memory payment aggregates for GET /payment/stats
+	@Autowired
+	private PaymentStatistics statistics;
+
+	// Per-minute windows returned by GET /payment/stats unless ?minutes= is given
+	private static final int DEFAULT_STATS_MINUTES = 60;
+
+	// Keyset pagination limits
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	// Flush the NDJSON stream to the client every N rows
+	private static final int STREAM_FLUSH_ROWS = 100;
+
 	/**
 	 * Process Payment Transaction
 	 * 
@@ -52,7 +90,7 @@ public class PaymentController {
 	 * It validates payment details and processes the transaction.
 	 * 
 	 * @param payment Payment details including amount, order ID, and payment method
-	 * @return ResponseEntity with payment result and status
+	 * @return ResponseEntity with payment result and status (504 if the payment gateway timed out)
 	 */
 	@PostMapping("/doPayment")
 	public ResponseEntity<Payment> doPayment(@RequestBody Payment payment) {
@@ -76,6 +114,10 @@ public class PaymentController {
 			
 			return ResponseEntity.ok(processedPayment);
 			
+		} catch (PaymentGatewayTimeoutException e) {
+			// Gateway did not answer - nothing was saved, the caller may retry
+			logger.warn("Payment gateway timeout for order ID: {}", payment.getOrderId());
+			return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
 		} catch (Exception e) {
 			// Log error without exposing sensitive information
 			logger.error("Payment processing failed for order ID: {}: {}", 
@@ -85,27 +127,109 @@ public class PaymentController {
 		}
 	}
 
+	/**
+	 * Process Payment Transactions in Bulk
+	 * 
+	 * Processes a batch of payments in one call. Used by Order Service
+	 * to book bursts of orders without one round-trip per payment.
+	 * Invalid payments come back with status FAILED instead of failing
+	 * the whole batch.
+	 * 
+	 * @param payments Payment details for each order
+	 * @return ResponseEntity with one processed payment per input, in input order
+	 */
+	@PostMapping("/doPayments")
+	public ResponseEntity<List<Payment>> doPayments(@RequestBody List<Payment> payments) {
+		try {
+			logger.info("Bulk payment processing request received for {} payments", payments.size());
+			
+			List<Payment> processedPayments = service.doPayments(payments);
+			
+			logger.info("Bulk payment processing completed for {} payments", processedPayments.size());
+			return ResponseEntity.ok(processedPayments);
+			
+		} catch (Exception e) {
+			logger.error("Bulk payment processing failed for {} payments: {}", 
+					payments.size(), e.getMessage(), e);
+			
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+
 	/**
 	 * Get All Payments
 	 * 
-	 * Retrieves all payment records from the database.
-	 * Typically used for admin dashboards and financial reporting.
+	 * Without parameters, retrieves all payment records from the database.
+	 * With ?after=&lt;id&gt;&amp;limit=&lt;n&gt;, returns one keyset page instead:
+	 * payments with an ID greater than after, in ID order. When the page is
+	 * full, the X-Next-After header carries the cursor for the next page.
 	 * 
-	 * @return ResponseEntity with list of all payments
+	 * @param after Cursor - last payment ID already seen (optional)
+	 * @param limit Page size, capped at 1000 (optional)
+	 * @return ResponseEntity with list of payments
 	 */
 	@GetMapping("/all")
-	public ResponseEntity<List<Payment>> getAllPayments() {
+	public ResponseEntity<List<Payment>> getAllPayments(@RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer limit) {
 		try {
-			logger.info("Fetching all payments");
-			List<Payment> payments = service.getAllPayments();
+			if (after == null && limit == null) {
+				logger.info("Fetching all payments");
+				List<Payment> payments = service.getAllPayments();
+				logger.info("Retrieved {} payments", payments.size());
+				return ResponseEntity.ok(payments);
+			}
+
+			int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+			List<Payment> payments = service.getPaymentsAfter(after != null ? after : 0L, pageSize);
 			logger.info("Retrieved {} payments", payments.size());
-			return ResponseEntity.ok(payments);
+
+			ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+			if (payments.size() == pageSize) {
+				response.header("X-Next-After", String.valueOf(payments.get(payments.size() - 1).getPaymentId()));
+			}
+			return response.body(payments);
 		} catch (Exception e) {
 			logger.error("Error retrieving payments: {}", e.getMessage(), e);
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
 		}
 	}
 
+	/**
+	 * Stream All Payments (NDJSON)
+	 * 
+	 * Writes every payment as one JSON document per line while rows are
+	 * read from a forward-only JDBC cursor, so heap use stays flat
+	 * regardless of table size.
+	 * 
+	 * @return Streaming response with content type application/x-ndjson
+	 */
+	@GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllPayments() {
+		logger.info("Streaming all payments");
+		StreamingResponseBody body = out -> {
+			// Flushing is done in chunks below rather than after every value
+			ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);  // Lines are separated by the newline written below
+				int[] rows = {0};
+				service.streamAllPayments(payment -> {
+					try {
+						writer.writeValue(generator, payment);
+						generator.writeRaw('\n');
+						if (++rows[0] % STREAM_FLUSH_ROWS == 0) {
+							generator.flush();
+						}
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+				logger.info("Streamed {} payments", rows[0]);
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
 	/**
 	 * Get Payment by ID
 	 * 
@@ -133,4 +257,73 @@ public class PaymentController {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
 		}
 	}
+
+	/**
+	 * Get Payments by Order ID
+	 * 
+	 * Lists the payments made for an order (index lookup on order_id).
+	 * Used by Order Service to reconcile an order with its payments.
+	 * 
+	 * @param orderId Order ID the payments belong to
+	 * @return Payments of the order, oldest first (empty list if none)
+	 */
+	@GetMapping("/by-order/{orderId}")
+	public ResponseEntity<List<PaymentView>> getPaymentsByOrderId(@PathVariable String orderId) {
+		try {
+			logger.info("Fetching payments for order ID: {}", orderId);
+			List<PaymentView> payments = service.getPaymentsByOrderId(orderId);
+			logger.info("Found {} payments for order ID: {}", payments.size(), orderId);
+			return ResponseEntity.ok(payments);
+		} catch (Exception e) {
+			logger.error("Error retrieving payments for order ID {}: {}", orderId, e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+
+	/**
+	 * Get Payment by Transaction ID
+	 * 
+	 * Looks up a payment by its transaction ID (unique index on transaction_id).
+	 * 
+	 * @param transactionId Transaction ID returned by doPayment
+	 * @return Payment or 404 if not found
+	 */
+	@GetMapping("/by-transaction/{transactionId}")
+	public ResponseEntity<PaymentView> getPaymentByTransactionId(@PathVariable String transactionId) {
+		try {
+			logger.info("Fetching payment with transaction ID: {}", transactionId);
+			PaymentView payment = service.getPaymentByTransactionId(transactionId);
+
+			if (payment != null) {
+				return ResponseEntity.ok(payment);
+			} else {
+				logger.warn("Payment not found with transaction ID: {}", transactionId);
+				return ResponseEntity.notFound().build();
+			}
+		} catch (Exception e) {
+			logger.error("Error retrieving payment with transaction ID {}: {}", transactionId, e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
+
+	/**
+	 * Get Payment Statistics
+	 * 
+	 * Totals per payment status and mode, plus per-minute windows.
+	 * Served from in-memory counters - does not query the database.
+	 * 
+	 * @param minutes Number of most recent per-minute windows (clamped to the configured window hours)
+	 * @return Payment statistics
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<PaymentStats> getPaymentStats(@RequestParam(required = false) Integer minutes) {
+		try {
+			int windows = minutes == null ? DEFAULT_STATS_MINUTES : minutes;
+			windows = Math.max(1, Math.min(windows, statistics.windowCount()));
+			return ResponseEntity.ok(statistics.snapshot(windows));
+		} catch (Exception e) {
+			logger.error("Error retrieving payment statistics: {}", e.getMessage(), e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+		}
+	}
 }
@@ -0,0 +1,225 @@
+package com.java.payment.api.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.java.payment.api.common.PaymentStats;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.service.PaymentStatistics;
+import com.java.payment.api.service.ReactivePaymentService;
+import com.java.payment.api.simulator.PaymentGatewayTimeoutException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Payment Controller - PaymentController's API on Spring WebFlux
+ * 
+ * Active with the "reactive" profile, which runs payment-service on Netty
+ * instead of Tomcat. Paths, request and response bodies and status codes
+ * are the same as PaymentController, so Order Service and the gateway do
+ * not notice which stack is running.
+ * 
+ * API Endpoints:
+ * - POST /payment/doPayment - Process payment transaction
+ * - POST /payment/doPayments - Process payment transactions in bulk
+ * - GET /payment/all - Retrieve all payments, or one keyset page with ?after=&limit=
+ * - GET /payment/all/stream - Stream all payments as NDJSON
+ * - GET /payment/{id} - Retrieve specific payment by ID
+ * - GET /payment/by-order/{orderId} - Retrieve payments of an order
+ * - GET /payment/by-transaction/{transactionId} - Retrieve payment by transaction ID
+ * - GET /payment/stats - Payment totals and per-minute windows from in-memory counters
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/payment")
+@Profile("reactive")
+public class ReactivePaymentController {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentController.class);
+
+	// Per-minute windows returned by GET /payment/stats unless ?minutes= is given
+	private static final int DEFAULT_STATS_MINUTES = 60;
+
+	// Keyset pagination limits
+	private static final int DEFAULT_PAGE_SIZE = 100;
+	private static final int MAX_PAGE_SIZE = 1000;
+
+	private final ReactivePaymentService service;
+
+	private final PaymentStatistics statistics;
+
+	public ReactivePaymentController(ReactivePaymentService service, PaymentStatistics statistics) {
+		this.service = service;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Process Payment Transaction
+	 * 
+	 * @param payment Payment details including amount, order ID, and payment method
+	 * @return Payment result (400 for an invalid amount, 504 if the payment gateway timed out)
+	 */
+	@PostMapping("/doPayment")
+	public Mono<ResponseEntity<Payment>> doPayment(@RequestBody Payment payment) {
+		logger.info("Payment processing request received for order ID: {}, amount: {}",
+				payment.getOrderId(), payment.getAmount());
+
+		if (payment.getAmount() == null || payment.getAmount() <= 0) {
+			logger.warn("Invalid payment amount: {}", payment.getAmount());
+			return Mono.just(ResponseEntity.badRequest().build());
+		}
+
+		return service.doPayment(payment)
+				.map(processedPayment -> {
+					logger.info("Payment processed successfully with ID: {}, status: {}",
+							processedPayment.getPaymentId(), processedPayment.getPaymentStatus());
+					return ResponseEntity.ok(processedPayment);
+				})
+				.onErrorResume(PaymentGatewayTimeoutException.class, e -> {
+					logger.warn("Payment gateway timeout for order ID: {}", payment.getOrderId());
+					return Mono.just(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build());
+				})
+				.onErrorResume(e -> {
+					logger.error("Payment processing failed for order ID: {}: {}", payment.getOrderId(), e.getMessage(), e);
+					return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+				});
+	}
+
+	/**
+	 * Process Payment Transactions in Bulk
+	 * 
+	 * @param payments Payments to process
+	 * @return One processed payment per input, in input order
+	 */
+	@PostMapping("/doPayments")
+	public Mono<ResponseEntity<List<Payment>>> doPayments(@RequestBody List<Payment> payments) {
+		logger.info("Bulk payment processing request received for {} payments", payments.size());
+		return service.doPayments(payments)
+				.map(processedPayments -> {
+					logger.info("Bulk payment processing completed for {} payments", processedPayments.size());
+					return ResponseEntity.ok(processedPayments);
+				})
+				.onErrorResume(e -> {
+					logger.error("Bulk payment processing failed for {} payments: {}", payments.size(), e.getMessage(), e);
+					return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+				});
+	}
+
+	/**
+	 * Get All Payments, or one keyset page with ?after=&limit=
+	 * 
+	 * @return Payments in ID order; X-Next-After carries the cursor of the next page when the page is full
+	 */
+	@GetMapping("/all")
+	public Mono<ResponseEntity<List<Payment>>> getAllPayments(@RequestParam(required = false) Long after,
+			@RequestParam(required = false) Integer limit) {
+		if (after == null && limit == null) {
+			logger.info("Fetching all payments");
+			return service.getAllPayments()
+					.collectList()
+					.map(ResponseEntity::ok)
+					.onErrorResume(this::serverError);
+		}
+
+		int pageSize = Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+		return service.getPaymentsAfter(after != null ? after : 0L, pageSize)
+				.collectList()
+				.map(payments -> {
+					logger.info("Retrieved {} payments", payments.size());
+					ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+					if (payments.size() == pageSize) {
+						response.header("X-Next-After", String.valueOf(payments.get(payments.size() - 1).getPaymentId()));
+					}
+					return response.body(payments);
+				})
+				.onErrorResume(this::serverError);
+	}
+
+	/**
+	 * Stream All Payments as NDJSON
+	 * 
+	 * Rows are written as they come from the database, with backpressure
+	 * from the client connection.
+	 */
+	@GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<Payment> streamAllPayments() {
+		logger.info("Streaming all payments");
+		return service.getAllPayments();
+	}
+
+	/**
+	 * Get Payment by ID
+	 * 
+	 * @return Payment or 404 if not found
+	 */
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<Payment>> getPaymentById(@PathVariable Long id) {
+		logger.info("Fetching payment with ID: {}", id);
+		return service.getPaymentById(id)
+				.map(ResponseEntity::ok)
+				.switchIfEmpty(Mono.fromSupplier(() -> {
+					logger.warn("Payment not found with ID: {}", id);
+					return ResponseEntity.notFound().build();
+				}))
+				.onErrorResume(this::serverError);
+	}
+
+	/**
+	 * Get Payments by Order ID
+	 * 
+	 * @return Payments of the order, oldest first (empty list if none)
+	 */
+	@GetMapping("/by-order/{orderId}")
+	public Mono<ResponseEntity<List<PaymentView>>> getPaymentsByOrderId(@PathVariable String orderId) {
+		logger.info("Fetching payments for order ID: {}", orderId);
+		return service.getPaymentsByOrderId(orderId)
+				.collectList()
+				.map(ResponseEntity::ok)
+				.onErrorResume(this::serverError);
+	}
+
+	/**
+	 * Get Payment by Transaction ID
+	 * 
+	 * @return Payment or 404 if not found
+	 */
+	@GetMapping("/by-transaction/{transactionId}")
+	public Mono<ResponseEntity<PaymentView>> getPaymentByTransactionId(@PathVariable String transactionId) {
+		logger.info("Fetching payment with transaction ID: {}", transactionId);
+		return service.getPaymentByTransactionId(transactionId)
+				.map(ResponseEntity::ok)
+				.switchIfEmpty(Mono.fromSupplier(() -> {
+					logger.warn("Payment not found with transaction ID: {}", transactionId);
+					return ResponseEntity.notFound().build();
+				}))
+				.onErrorResume(this::serverError);
+	}
+
+	/**
+	 * Get Payment Statistics (in-memory counters, no database access)
+	 * 
+	 * @param minutes Number of most recent per-minute windows (clamped to the configured window hours)
+	 */
+	@GetMapping("/stats")
+	public ResponseEntity<PaymentStats> getPaymentStats(@RequestParam(required = false) Integer minutes) {
+		int windows = minutes == null ? DEFAULT_STATS_MINUTES : minutes;
+		windows = Math.max(1, Math.min(windows, statistics.windowCount()));
+		return ResponseEntity.ok(statistics.snapshot(windows));
+	}
+
+	private <T> Mono<ResponseEntity<T>> serverError(Throwable e) {
+		logger.error("Error retrieving payments: {}", e.getMessage(), e);
+		return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+	}
+}
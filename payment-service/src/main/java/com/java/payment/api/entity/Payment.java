@@ -8,6 +8,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.java.payment.api.id.SnowflakeId;
+
 /**
  * Payment Entity - Database model for Payment transactions
  * 
@@ -18,10 +22,11 @@ import java.time.LocalDateTime;
  * Database Table: PAYMENT_TB
  * 
  * Key Features:
- * - Auto-generated primary key
- * - Transaction tracking with unique transaction ID
+ * - Snowflake primary key (time-ordered, unique across instances, JDBC-batchable),
+ *   written to JSON as a string because it exceeds JavaScript's 2^53 safe integers
+ * - Transaction tracking with unique, time-ordered transaction ID
  * - Payment status management
- * - Order association for transaction correlation
+ * - Order association for transaction correlation (indexed lookups by order and transaction ID)
  * - Audit timestamps for tracking
  * - Input validation for data integrity
  * 
@@ -29,13 +34,19 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity  // JPA entity annotation
-@Table(name = "PAYMENT_TB")  // Database table name
+@Table(name = "PAYMENT_TB", indexes = {  // Database table name
+	@Index(name = "IDX_PAYMENT_ORDER_ID", columnList = "order_id"),  // GET /payment/by-order/{orderId}
+	@Index(name = "IDX_PAYMENT_CREATED_AT", columnList = "created_at"),  // Seeding the per-minute stats windows
+	@Index(name = "UX_PAYMENT_TRANSACTION_ID", columnList = "transaction_id", unique = true)  // GET /payment/by-transaction/{id}
+})
 @AllArgsConstructor  // Lombok: generates constructor with all fields
 @NoArgsConstructor   // Lombok: generates no-args constructor
 public class Payment {
-	// Primary key with auto-generation
+	// Primary key from the Snowflake IdGenerator - time-ordered, unique across instances,
+	// assigned before insert so JDBC batching still works
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@SnowflakeId
+	@JsonSerialize(using = ToStringSerializer.class)  // JSON string - too large for JavaScript numbers
 	private Long paymentId;
 	
 	// Payment status (SUCCESS, FAILED, PENDING)
@@ -53,8 +64,8 @@ public class Payment {
 	@Column(name = "amount", nullable = false)
 	private Double amount;
 	
-	// Unique transaction ID for tracking
-	@Column(name = "transaction_id", unique = true)
+	// Unique transaction ID for tracking (unique index UX_PAYMENT_TRANSACTION_ID)
+	@Column(name = "transaction_id")
 	private String transactionId;
 	
 	// Payment method (CARD, UPI, WALLET, etc.)
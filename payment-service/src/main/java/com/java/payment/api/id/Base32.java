@@ -0,0 +1,30 @@
+package com.java.payment.api.id;
+
+/**
+ * Base32 - Fixed-width Crockford base32 encoding of positive longs
+ * 
+ * Produces 13 characters from 0-9 and A-Z (without I, L, O, U). The
+ * alphabet is in ASCII order, so encoded IDs sort the same way as the
+ * numbers they encode.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+final class Base32 {
+
+	private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+	private static final int LENGTH = 13;
+
+	private Base32() {
+	}
+
+	static String encode(long value) {
+		char[] chars = new char[LENGTH];
+		for (int i = LENGTH - 1; i >= 0; i--) {
+			chars[i] = ALPHABET[(int) (value & 31)];
+			value >>>= 5;
+		}
+		return new String(chars);
+	}
+}
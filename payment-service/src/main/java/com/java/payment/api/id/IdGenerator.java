@@ -0,0 +1,26 @@
+package com.java.payment.api.id;
+
+/**
+ * ID Generator - Source of unique, time-ordered IDs
+ * 
+ * Used for entity primary keys (see @SnowflakeId) and for string IDs such as
+ * payment transaction IDs. The default implementation is
+ * SnowflakeIdGenerator; declaring another IdGenerator bean replaces it.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public interface IdGenerator {
+
+	/**
+	 * @return A new positive ID, unique across all nodes
+	 */
+	long nextId();
+
+	/**
+	 * @return A new ID as a fixed-width string that sorts in creation order
+	 */
+	default String nextIdString() {
+		return Base32.encode(nextId());
+	}
+}
@@ -0,0 +1,104 @@
+package com.java.payment.api.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake ID Generator - Lock-free, node-aware, time-ordered 64-bit IDs
+ * 
+ * ID layout (63 bits, always positive):
+ * - 41 bits: milliseconds since 2024-01-01 (about 69 years)
+ * - 10 bits: node ID (0-1023), unique per service instance
+ * - 5 bits: stripe (0-31)
+ * - 7 bits: sequence within the millisecond (0-127)
+ * 
+ * Each thread is pinned to one of 32 stripes, and each stripe keeps its own
+ * (millisecond, sequence) state in one atomic long updated with
+ * compare-and-set. Threads on different stripes never touch the same
+ * state, and no locks or SecureRandom are used.
+ * 
+ * IDs are strictly increasing per stripe and ordered by millisecond across
+ * stripes and nodes. When a stripe uses up its 128 IDs in a millisecond, or
+ * the system clock moves backwards, it continues on the next logical
+ * millisecond instead of waiting for the clock.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+	static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+	static final int NODE_BITS = 10;
+
+	static final int STRIPE_BITS = 5;
+
+	static final int SEQUENCE_BITS = 7;
+
+	public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+	private static final int STRIPES = 1 << STRIPE_BITS;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	// Stripe states are 8 longs (64 bytes) apart so they sit on separate cache lines
+	private static final int PADDING = 8;
+
+	private static final AtomicInteger nextStripe = new AtomicInteger();
+
+	private static final ThreadLocal<Integer> threadStripe = ThreadLocal
+			.withInitial(() -> nextStripe.getAndIncrement() & (STRIPES - 1));
+
+	// Per stripe: (milliseconds since epoch << SEQUENCE_BITS) | sequence of the last ID
+	private final AtomicLongArray stripeState = new AtomicLongArray(STRIPES * PADDING);
+
+	private final long nodeBits;
+
+	private final LongSupplier clock;
+
+	public SnowflakeIdGenerator(int nodeId) {
+		this(nodeId, System::currentTimeMillis);
+	}
+
+	SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+		}
+		this.nodeBits = (long) nodeId << (STRIPE_BITS + SEQUENCE_BITS);
+		this.clock = clock;
+	}
+
+	@Override
+	public long nextId() {
+		int stripe = threadStripe.get();
+		int slot = stripe * PADDING;
+		while (true) {
+			long last = stripeState.get(slot);
+			long lastMillis = last >>> SEQUENCE_BITS;
+			long now = clock.getAsLong() - EPOCH_MILLIS;
+			long next;
+			if (now > lastMillis) {
+				next = now << SEQUENCE_BITS;
+			} else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+				next = last + 1;
+			} else {
+				next = (lastMillis + 1) << SEQUENCE_BITS;  // Sequence used up: borrow the next millisecond
+			}
+			if (stripeState.compareAndSet(slot, last, next)) {
+				long millis = next >>> SEQUENCE_BITS;
+				long sequence = next & SEQUENCE_MASK;
+				return (millis << (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS)) | nodeBits
+						| ((long) stripe << SEQUENCE_BITS) | sequence;
+			}
+		}
+	}
+
+	/**
+	 * Creation time encoded in an ID
+	 */
+	public static Instant timestampOf(long id) {
+		return Instant.ofEpochMilli((id >>> (NODE_BITS + STRIPE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+	}
+}
@@ -0,0 +1,37 @@
+package com.java.payment.api.id;
+
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Hibernate generator behind @SnowflakeId
+ * 
+ * Hibernate creates generators through Spring's bean container, so the
+ * application's IdGenerator bean is injected through the constructor.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+	private final IdGenerator idGenerator;
+
+	public SnowflakeIdentifierGenerator(IdGenerator idGenerator) {
+		this.idGenerator = idGenerator;
+	}
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+			EventType eventType) {
+		return idGenerator.nextId();
+	}
+
+	@Override
+	public EnumSet<EventType> getEventTypes() {
+		return EventTypeSets.INSERT_ONLY;
+	}
+}
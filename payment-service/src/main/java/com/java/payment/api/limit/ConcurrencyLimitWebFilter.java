@@ -0,0 +1,95 @@
+package com.java.payment.api.limit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Concurrency Limit WebFilter - Load shedding for the reactive profile
+ * 
+ * Same behaviour as ConcurrencyLimitFilter on WebFlux: requests to the
+ * guarded paths take a permit or are answered with 503 and Retry-After.
+ * The permit is completed when the response publisher terminates:
+ * - error or 5xx status: dropped
+ * - cancelled (client disconnected): ignored, no response time sample
+ * - anything else: success
+ * 
+ * Metrics: concurrency.limit.requests{limiter, outcome=accepted|rejected}
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class ConcurrencyLimitWebFilter implements WebFilter {
+
+	private final GradientConcurrencyLimiter limiter;
+
+	private final List<PathPattern> paths;
+
+	private final String retryAfterSeconds;
+
+	private final Counter accepted;
+
+	private final Counter rejected;
+
+	public ConcurrencyLimitWebFilter(GradientConcurrencyLimiter limiter, List<String> paths, Duration retryAfter,
+			String limiterName, MeterRegistry meterRegistry) {
+		this.limiter = limiter;
+		this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+		this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+		this.accepted = requestCounter(limiterName, "accepted", meterRegistry);
+		this.rejected = requestCounter(limiterName, "rejected", meterRegistry);
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		if (paths.stream().noneMatch(path -> path.matches(exchange.getRequest().getPath().pathWithinApplication()))) {
+			return chain.filter(exchange);
+		}
+
+		GradientConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+		if (permit == null) {
+			rejected.increment();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+			return response.setComplete();
+		}
+		accepted.increment();
+
+		return chain.filter(exchange).doFinally(signal -> {
+			if (signal == SignalType.CANCEL) {
+				permit.onIgnore();
+			} else if (signal == SignalType.ON_ERROR) {
+				permit.onDropped();
+			} else {
+				HttpStatusCode status = exchange.getResponse().getStatusCode();
+				if (status != null && status.is5xxServerError()) {
+					permit.onDropped();
+				} else {
+					permit.onSuccess();
+				}
+			}
+		});
+	}
+
+	private static Counter requestCounter(String limiterName, String outcome, MeterRegistry meterRegistry) {
+		return Counter.builder("concurrency.limit.requests")
+				.description("Requests admitted or rejected by the concurrency limiter")
+				.tags("limiter", limiterName, "outcome", outcome)
+				.register(meterRegistry);
+	}
+}
@@ -0,0 +1,182 @@
+package com.java.payment.api.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Gradient Concurrency Limiter - Adaptive limit on requests in flight
+ * 
+ * Learns how many requests can run at once without queueing (gradient
+ * algorithm, as in Netflix concurrency-limits Gradient2):
+ * - longRtt: slow moving average of response times (the "no queue" baseline)
+ * - shortRtt: the latest response time
+ * - gradient = clamp(0.5, 1.0, rttTolerance * longRtt / shortRtt)
+ * - newLimit = limit * gradient + sqrt(limit), smoothed and kept in [minLimit, maxLimit]
+ * While response times stay near the baseline, the limit grows by about
+ * sqrt(limit) per sample. When they rise (requests queue behind a saturated
+ * database or downstream), the gradient drops below 1 and the limit shrinks.
+ * Failed requests (5xx, timeouts) cut the limit by 10%.
+ * 
+ * Requests over the limit are rejected at once instead of queueing, so
+ * the accepted ones keep their normal latency.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class GradientConcurrencyLimiter {
+
+	// Multiplier applied to the limit when a request fails
+	private static final double BACKOFF_RATIO = 0.9;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double rttTolerance;
+
+	private final double smoothing;
+
+	// EWMA factor of the long RTT average (window of longWindow samples)
+	private final double longRttFactor;
+
+	private final LongSupplier nanoClock;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private volatile double limit;
+
+	// Guarded by this
+	private double longRtt;
+
+	public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+			double smoothing, int longWindow) {
+		this(initialLimit, minLimit, maxLimit, rttTolerance, smoothing, longWindow, System::nanoTime);
+	}
+
+	GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing,
+			int longWindow, LongSupplier nanoClock) {
+		if (minLimit < 1 || maxLimit < minLimit) {
+			throw new IllegalArgumentException("Invalid concurrency limits: min " + minLimit + ", max " + maxLimit);
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.rttTolerance = rttTolerance;
+		this.smoothing = smoothing;
+		this.longRttFactor = 2.0 / (longWindow + 1);
+		this.nanoClock = nanoClock;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+
+	/**
+	 * Admit a request if fewer than limit requests are in flight
+	 * 
+	 * @return Permit to complete when the request finishes, or null to reject the request
+	 */
+	public Permit tryAcquire() {
+		int current;
+		do {
+			current = inFlight.get();
+			if (current >= (int) limit) {
+				return null;
+			}
+		} while (!inFlight.compareAndSet(current, current + 1));
+		return new Permit(nanoClock.getAsLong(), current + 1);
+	}
+
+	/**
+	 * Current concurrency limit
+	 */
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	/**
+	 * Requests currently in flight
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+		double shortRtt = Math.max(1, rttNanos);
+		longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * longRttFactor;
+
+		// The baseline drifted far above current response times (e.g. after a slow phase): let it recover faster
+		if (longRtt / shortRtt > 2) {
+			longRtt *= 0.95;
+		}
+
+		// Too little load to tell whether the limit is too high
+		if (inFlightAtStart < limit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+		double newLimit = limit * gradient + Math.sqrt(limit);
+		newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+
+	private synchronized void onDrop() {
+		limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+	}
+
+	/**
+	 * One admitted request; exactly one of the completion methods takes effect
+	 */
+	public final class Permit {
+
+		private final long startNanos;
+
+		private final int inFlightAtStart;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(long startNanos, int inFlightAtStart) {
+			this.startNanos = startNanos;
+			this.inFlightAtStart = inFlightAtStart;
+		}
+
+		/**
+		 * The request completed normally - its response time feeds the limit
+		 */
+		public void onSuccess() {
+			if (release()) {
+				onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart);
+			}
+		}
+
+		/**
+		 * The request failed or timed out - the limit backs off
+		 */
+		public void onDropped() {
+			if (release()) {
+				onDrop();
+			}
+		}
+
+		/**
+		 * The request ended without a meaningful sample (e.g. client went away)
+		 */
+		public void onIgnore() {
+			release();
+		}
+
+		/**
+		 * Time since the request was admitted
+		 */
+		public long elapsed(TimeUnit unit) {
+			return unit.convert(nanoClock.getAsLong() - startNanos, TimeUnit.NANOSECONDS);
+		}
+
+		private boolean release() {
+			if (released.compareAndSet(false, true)) {
+				inFlight.decrementAndGet();
+				return true;
+			}
+			return false;
+		}
+	}
+}
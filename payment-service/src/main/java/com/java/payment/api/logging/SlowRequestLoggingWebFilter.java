@@ -0,0 +1,51 @@
+package com.java.payment.api.logging;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Slow Request Logging WebFilter - SlowRequestLoggingFilter for the reactive profile
+ * 
+ * Logs one WARN line for every request that takes longer than
+ * payment.logging.slow-request-threshold, timed until the response
+ * publisher terminates.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SlowRequestLoggingWebFilter implements WebFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowRequestLoggingWebFilter.class);
+
+	private final long thresholdNanos;
+
+	public SlowRequestLoggingWebFilter(Duration threshold) {
+		this.thresholdNanos = threshold.toNanos();
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		// A zero threshold turns slow request logging off
+		if (thresholdNanos <= 0) {
+			return chain.filter(exchange);
+		}
+		long start = System.nanoTime();
+		return chain.filter(exchange).doFinally(signal -> {
+			long elapsed = System.nanoTime() - start;
+			if (elapsed > thresholdNanos) {
+				HttpStatusCode status = exchange.getResponse().getStatusCode();
+				logger.warn("Slow request: {} {} -> {} in {} ms", exchange.getRequest().getMethod(),
+						exchange.getRequest().getPath().value(), status != null ? status.value() : signal,
+						elapsed / 1_000_000);
+			}
+		});
+	}
+}
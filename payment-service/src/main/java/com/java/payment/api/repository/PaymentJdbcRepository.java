@@ -0,0 +1,71 @@
+package com.java.payment.api.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.java.payment.api.entity.Payment;
+
+/**
+ * Payment JDBC Repository - Forward-only streaming reads of PAYMENT_TB
+ * 
+ * Reads payments through a plain JDBC forward-only cursor with a fixed
+ * fetch size and hands them to the caller one at a time, instead of
+ * materializing the whole table like JPA's findAll().
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Repository
+@Profile("!reactive")
+public class PaymentJdbcRepository {
+
+	// Rows fetched from the database per round-trip while streaming
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SELECT_ALL =
+			"SELECT payment_id, payment_status, order_id, amount, transaction_id, payment_mode, created_at, updated_at "
+			+ "FROM PAYMENT_TB ORDER BY payment_id";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public PaymentJdbcRepository(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+	}
+
+	/**
+	 * Stream all payments in ID order
+	 * 
+	 * Each row is mapped to a detached Payment and passed to the action
+	 * before the next row is read. Call inside a read-only transaction.
+	 * 
+	 * @param action Callback invoked once per payment
+	 */
+	public void forEachPayment(Consumer<Payment> action) {
+		jdbcTemplate.query(SELECT_ALL, (RowCallbackHandler) rs -> action.accept(mapPayment(rs)));
+	}
+
+	private Payment mapPayment(ResultSet rs) throws SQLException {
+		Payment payment = new Payment();
+		payment.setPaymentId(rs.getLong("payment_id"));
+		payment.setPaymentStatus(rs.getString("payment_status"));
+		payment.setOrderId(rs.getString("order_id"));
+		payment.setAmount(rs.getDouble("amount"));
+		payment.setTransactionId(rs.getString("transaction_id"));
+		payment.setPaymentMode(rs.getString("payment_mode"));
+		Timestamp createdAt = rs.getTimestamp("created_at");
+		payment.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+		Timestamp updatedAt = rs.getTimestamp("updated_at");
+		payment.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+		return payment;
+	}
+}
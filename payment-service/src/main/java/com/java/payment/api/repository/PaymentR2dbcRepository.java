@@ -0,0 +1,175 @@
+package com.java.payment.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.IdGenerator;
+
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Payment R2DBC Repository - Non-blocking access to PAYMENT_TB (reactive profile)
+ * 
+ * Same table, columns and indexes as the JPA entity (schema-reactive.sql),
+ * written with plain SQL through DatabaseClient. Like the JPA path, inserts
+ * assign the Snowflake payment ID and the audit timestamps.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Repository
+@Profile("reactive")
+public class PaymentR2dbcRepository {
+
+	private static final String COLUMNS =
+			"payment_id, payment_status, order_id, amount, transaction_id, payment_mode, created_at, updated_at";
+
+	private static final String INSERT =
+			"INSERT INTO PAYMENT_TB (" + COLUMNS + ") VALUES ($1, $2, $3, $4, $5, $6, $7, $8)";
+
+	private static final String SELECT = "SELECT " + COLUMNS + " FROM PAYMENT_TB";
+
+	// Column types for binding nulls, in INSERT order
+	private static final Class<?>[] TYPES = {
+			Long.class, String.class, String.class, Double.class, String.class, String.class,
+			LocalDateTime.class, LocalDateTime.class };
+
+	private final DatabaseClient databaseClient;
+
+	private final IdGenerator idGenerator;
+
+	public PaymentR2dbcRepository(DatabaseClient databaseClient, IdGenerator idGenerator) {
+		this.databaseClient = databaseClient;
+		this.idGenerator = idGenerator;
+	}
+
+	/**
+	 * Insert one payment
+	 * 
+	 * @return The payment with its generated ID
+	 */
+	public Mono<Payment> insert(Payment payment) {
+		prepare(payment);
+		GenericExecuteSpec spec = databaseClient.sql(INSERT);
+		Object[] values = values(payment);
+		for (int i = 0; i < values.length; i++) {
+			spec = values[i] != null ? spec.bind(i, values[i]) : spec.bindNull(i, TYPES[i]);
+		}
+		return spec.fetch().rowsUpdated().thenReturn(payment);
+	}
+
+	/**
+	 * Insert all payments as one batched statement in one transaction
+	 */
+	@Transactional
+	public Mono<Void> insertAll(List<Payment> payments) {
+		if (payments.isEmpty()) {
+			return Mono.empty();
+		}
+		payments.forEach(this::prepare);
+		return databaseClient.inConnectionMany(connection -> {
+			Statement statement = connection.createStatement(INSERT);
+			for (int p = 0; p < payments.size(); p++) {
+				if (p > 0) {
+					statement.add();
+				}
+				Object[] values = values(payments.get(p));
+				for (int i = 0; i < values.length; i++) {
+					if (values[i] != null) {
+						statement.bind(i, values[i]);
+					} else {
+						statement.bindNull(i, TYPES[i]);
+					}
+				}
+			}
+			return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+		}).then();
+	}
+
+	public Flux<Payment> findAll() {
+		return databaseClient.sql(SELECT + " ORDER BY payment_id")
+				.map(PaymentR2dbcRepository::mapPayment)
+				.all();
+	}
+
+	/**
+	 * Keyset page: up to limit payments with an ID greater than after
+	 */
+	public Flux<Payment> findAfter(long after, int limit) {
+		return databaseClient.sql(SELECT + " WHERE payment_id > $1 ORDER BY payment_id LIMIT $2")
+				.bind(0, after)
+				.bind(1, limit)
+				.map(PaymentR2dbcRepository::mapPayment)
+				.all();
+	}
+
+	public Mono<Payment> findById(long paymentId) {
+		return databaseClient.sql(SELECT + " WHERE payment_id = $1")
+				.bind(0, paymentId)
+				.map(PaymentR2dbcRepository::mapPayment)
+				.one();
+	}
+
+	/**
+	 * Payments of an order, oldest first (uses IDX_PAYMENT_ORDER_ID)
+	 */
+	public Flux<PaymentView> findByOrderId(String orderId) {
+		return databaseClient.sql(SELECT + " WHERE order_id = $1 ORDER BY payment_id")
+				.bind(0, orderId)
+				.map(row -> view(mapPayment(row)))
+				.all();
+	}
+
+	/**
+	 * Payment by transaction ID (uses UX_PAYMENT_TRANSACTION_ID)
+	 */
+	public Mono<PaymentView> findByTransactionId(String transactionId) {
+		return databaseClient.sql(SELECT + " WHERE transaction_id = $1")
+				.bind(0, transactionId)
+				.map(row -> view(mapPayment(row)))
+				.one();
+	}
+
+	private void prepare(Payment payment) {
+		LocalDateTime now = LocalDateTime.now();
+		payment.setPaymentId(idGenerator.nextId());
+		payment.setCreatedAt(now);
+		payment.setUpdatedAt(now);
+	}
+
+	private static Object[] values(Payment payment) {
+		return new Object[] { payment.getPaymentId(), payment.getPaymentStatus(), payment.getOrderId(),
+				payment.getAmount(), payment.getTransactionId(), payment.getPaymentMode(), payment.getCreatedAt(),
+				payment.getUpdatedAt() };
+	}
+
+	private static Payment mapPayment(Readable row) {
+		Payment payment = new Payment();
+		payment.setPaymentId(row.get("payment_id", Long.class));
+		payment.setPaymentStatus(row.get("payment_status", String.class));
+		payment.setOrderId(row.get("order_id", String.class));
+		payment.setAmount(row.get("amount", Double.class));
+		payment.setTransactionId(row.get("transaction_id", String.class));
+		payment.setPaymentMode(row.get("payment_mode", String.class));
+		payment.setCreatedAt(row.get("created_at", LocalDateTime.class));
+		payment.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+		return payment;
+	}
+
+	private static PaymentView view(Payment payment) {
+		return new PaymentView(payment.getPaymentId(), payment.getOrderId(), payment.getAmount(),
+				payment.getPaymentStatus(), payment.getTransactionId(), payment.getPaymentMode(), payment.getCreatedAt());
+	}
+}
@@ -1,11 +1,51 @@
 package com.java.payment.api.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.common.PaymentWindowRow;
 import com.java.payment.api.entity.Payment;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
 	
+	/**
+	 * Keyset page: payments with an ID greater than the cursor, in ID order.
+	 * Uses the primary key index, so the cost does not grow with the page number.
+	 */
+	List<Payment> findByPaymentIdGreaterThanOrderByPaymentIdAsc(Long after, Limit limit);
+
+	/**
+	 * All payments of one order, oldest first. Uses IDX_PAYMENT_ORDER_ID.
+	 */
+	List<PaymentView> findByOrderIdOrderByPaymentIdAsc(String orderId);
+
+	/**
+	 * Payment with the given transaction ID. Uses UX_PAYMENT_TRANSACTION_ID.
+	 */
+	Optional<PaymentView> findByTransactionId(String transactionId);
+
+	/**
+	 * Count and amount per (status, mode) - seeds PaymentStatistics once at startup.
+	 */
+	@Query("select new com.java.payment.api.common.PaymentAggregateRow(p.paymentStatus, p.paymentMode, count(p), sum(p.amount))"
+			+ " from Payment p group by p.paymentStatus, p.paymentMode")
+	List<PaymentAggregateRow> aggregateByStatusAndMode();
+
+	/**
+	 * Payments created since the given time - seeds the per-minute windows at startup.
+	 * Uses IDX_PAYMENT_CREATED_AT.
+	 */
+	@Query("select new com.java.payment.api.common.PaymentWindowRow(p.createdAt, p.paymentStatus, p.amount)"
+			+ " from Payment p where p.createdAt >= :since")
+	List<PaymentWindowRow> findWindowRowsSince(LocalDateTime since);
+
 }
@@ -0,0 +1,281 @@
+package com.java.payment.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import com.java.payment.api.config.GroupCommitProperties;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.store.PaymentStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Payment Group Committer - Batches concurrent payment writes into one commit
+ * 
+ * Callers hand their payment to save() and block until it is stored. A
+ * single writer thread takes payments from the queue, collects up to
+ * payment.group-commit.max-batch-size of them (waiting at most
+ * payment.group-commit.linger after the first one), writes them with
+ * one PaymentStore.saveAll (one transaction, or one journal append and
+ * flush) and completes every caller with its own saved payment.
+ * 
+ * If a batch fails, its payments are written again one by one, so a single
+ * bad payment only fails its own caller. A payment still in the queue after
+ * payment.group-commit.commit-timeout is withdrawn and its caller gets a
+ * QueryTimeoutException. A payment the writer has already taken may still
+ * be committed, so its caller keeps waiting for the writer's result instead
+ * of reporting a failure for a payment that exists.
+ * 
+ * Metrics:
+ * - payment.group.commit.batch.size: payments per commit
+ * - payment.group.commit.queue.delay: time from save() until the batch write starts
+ * - payment.group.commit.write: time to write and commit one batch
+ * - payment.group.commit.queue.depth: payments waiting for the writer
+ * - payment.group.commit.bypassed: payments written directly because the queue was full
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+@Profile("!reactive")
+public class PaymentGroupCommitter implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaymentGroupCommitter.class);
+
+	private final PaymentStore store;
+
+	private final GroupCommitProperties properties;
+
+	private final BlockingQueue<PendingPayment> queue;
+
+	private final DistributionSummary batchSize;
+
+	private final Timer queueDelay;
+
+	private final Timer writeTime;
+
+	private final Counter bypassed;
+
+	private volatile boolean running;
+
+	private Thread writer;
+
+	public PaymentGroupCommitter(PaymentStore store, GroupCommitProperties properties, MeterRegistry meterRegistry) {
+		this.store = store;
+		this.properties = properties;
+		this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+		this.batchSize = DistributionSummary.builder("payment.group.commit.batch.size")
+				.description("Payments written per group commit")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		this.queueDelay = Timer.builder("payment.group.commit.queue.delay")
+				.description("Time a payment waits before its batch is written")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		this.writeTime = Timer.builder("payment.group.commit.write")
+				.description("Time to write and commit one batch")
+				.register(meterRegistry);
+		this.bypassed = Counter.builder("payment.group.commit.bypassed")
+				.description("Payments written directly because the group commit queue was full")
+				.register(meterRegistry);
+		Gauge.builder("payment.group.commit.queue.depth", queue, BlockingQueue::size)
+				.description("Payments waiting for the group commit writer")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Whether doPayment should go through the group commit writer
+	 */
+	public boolean isEnabled() {
+		return properties.isEnabled();
+	}
+
+	/**
+	 * Save a payment as part of the next batch and wait until it is committed
+	 * 
+	 * @param payment Payment to save
+	 * @return Saved payment with its generated ID
+	 */
+	public Payment save(Payment payment) {
+		if (!running) {
+			return store.save(payment);
+		}
+		PendingPayment pending = new PendingPayment(payment, System.nanoTime());
+		if (!queue.offer(pending)) {
+			bypassed.increment();
+			return store.save(payment);
+		}
+		// stop() may have run between the check and the offer; if nobody took the payment, write it here
+		if (!running && queue.remove(pending)) {
+			return store.save(payment);
+		}
+		long timeoutNanos = properties.getCommitTimeout().toNanos();
+		try {
+			return pending.future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (ExecutionException e) {
+			throw failure(e.getCause());
+		} catch (TimeoutException e) {
+			return withdrawOrAwait(pending);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return withdrawOrAwait(pending);
+		}
+	}
+
+	/**
+	 * Withdraw a payment that is still queued, or wait for the writer's
+	 * result if it has already taken the payment (it may be committed)
+	 */
+	private Payment withdrawOrAwait(PendingPayment pending) {
+		if (queue.remove(pending)) {
+			throw new QueryTimeoutException("Payment not written: group commit queue did not drain within "
+					+ properties.getCommitTimeout());
+		}
+		logger.warn("Group commit did not finish within {}, waiting for the writer", properties.getCommitTimeout());
+		try {
+			return pending.future.join();
+		} catch (CompletionException e) {
+			throw failure(e.getCause());
+		}
+	}
+
+	private static RuntimeException failure(Throwable cause) {
+		return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+	}
+
+	@Override
+	public void start() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		running = true;
+		writer = Thread.ofPlatform().name("payment-group-commit").daemon().start(this::writeLoop);
+		logger.info("Payment group commit enabled: max batch size {}, linger {}",
+				properties.getMaxBatchSize(), properties.getLinger());
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.join(5000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// Payments queued after the writer exited are written one by one
+		List<PendingPayment> leftovers = new ArrayList<>();
+		queue.drainTo(leftovers);
+		if (!leftovers.isEmpty()) {
+			writeOneByOne(leftovers);
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void writeLoop() {
+		int maxBatchSize = properties.getMaxBatchSize();
+		long lingerNanos = properties.getLinger().toNanos();
+		List<PendingPayment> batch = new ArrayList<>(maxBatchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingPayment first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + lingerNanos;
+				while (batch.size() < maxBatchSize) {
+					long remaining = deadline - System.nanoTime();
+					PendingPayment next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+			}
+			if (!batch.isEmpty()) {
+				writeBatch(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private void writeBatch(List<PendingPayment> batch) {
+		long start = System.nanoTime();
+		for (PendingPayment pending : batch) {
+			queueDelay.record(start - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+		}
+		batchSize.record(batch.size());
+
+		List<Payment> payments = new ArrayList<>(batch.size());
+		for (PendingPayment pending : batch) {
+			payments.add(pending.payment);
+		}
+		try {
+			List<Payment> saved = store.saveAll(payments);
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).future.complete(saved.get(i));
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Group commit of {} payments failed, writing them one by one", batch.size(), e);
+			writeOneByOne(batch);
+		} finally {
+			writeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void writeOneByOne(List<PendingPayment> batch) {
+		for (PendingPayment pending : batch) {
+			try {
+				pending.payment.setPaymentId(null);  // Discard an ID assigned by the failed batch
+				pending.future.complete(store.save(pending.payment));
+			} catch (RuntimeException e) {
+				pending.future.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * A payment waiting for the writer, with the future its caller blocks on
+	 */
+	private static final class PendingPayment {
+
+		private final Payment payment;
+
+		private final long enqueuedAt;
+
+		private final CompletableFuture<Payment> future = new CompletableFuture<>();
+
+		private PendingPayment(Payment payment, long enqueuedAt) {
+			this.payment = payment;
+			this.enqueuedAt = enqueuedAt;
+		}
+	}
+}
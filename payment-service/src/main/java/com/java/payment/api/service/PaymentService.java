@@ -1,17 +1,28 @@
 package com.java.payment.api.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import com.java.payment.api.common.PaymentView;
 import com.java.payment.api.entity.Payment;
-import com.java.payment.api.repository.PaymentRepository;
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.simulator.PaymentGateway;
+import com.java.payment.api.simulator.PaymentGatewayTimeoutException;
+import com.java.payment.api.store.PaymentStore;
 
 /**
  * Payment Service - Business Logic for Payment Processing
@@ -23,24 +34,53 @@ import com.java.payment.api.repository.PaymentRepository;
  * - Payment history retrieval
  * 
  * Key Features:
- * - Secure payment processing simulation
+ * - Payment gateway simulation with configurable latency and failure profiles
  * - Unique transaction ID generation
  * - Payment status tracking
  * - Comprehensive logging for audit trails
  * - Error handling and validation
+ * - One payment per order: repeated requests get the existing payment
+ * 
+ * Payment creation is idempotent per orderId, so order-service can resend
+ * a payment whose response was lost (time limiter, deferred and outbox
+ * retries) without charging the order again. A request for an order that
+ * already has a payment returns that payment without calling the gateway,
+ * and a request for an order whose payment is still being processed by
+ * this instance waits for it. Two instances processing the same order at
+ * the same moment are not deduplicated.
  * 
  * @author Learning Project
  * @version 1.0
  */
 @Service  // Marks this class as a Spring service component
+@Profile("!reactive")  // Replaced by ReactivePaymentService in the reactive profile
 public class PaymentService {
 
 	// Logger for structured logging and audit trails
 	private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
 
-	// Dependency injection for Payment Repository
+	// Payment storage - PAYMENT_TB or the append-only journal (payment.store.type)
+	@Autowired
+	private PaymentStore store;
+
+	// Payment provider - SimulatedPaymentGateway unless a real one is configured
+	@Autowired
+	private PaymentGateway paymentGateway;
+
+	// Time-ordered transaction IDs (13-character base32 Snowflake IDs)
+	@Autowired
+	private IdGenerator idGenerator;
+
+	// Batches concurrent payment writes into one commit (payment.group-commit.enabled)
 	@Autowired
-	private PaymentRepository repository;
+	private PaymentGroupCommitter groupCommitter;
+
+	// In-memory rolling aggregates served by GET /payment/stats
+	@Autowired
+	private PaymentStatistics statistics;
+
+	// Payments being processed, per order ID - a repeated request waits for the running one
+	private final Map<String, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
 
 	/**
 	 * Process Payment Transaction
@@ -50,42 +90,195 @@ public class PaymentService {
 	 * 2. Simulating payment processing
 	 * 3. Generating unique transaction ID
 	 * 4. Saving payment record to database
+	 * 5. Updating the in-memory payment statistics
+	 * 
+	 * If the order already has a payment, that payment is returned instead
+	 * and the gateway is not called again.
 	 * 
 	 * @param payment Payment object containing payment details
 	 * @return Processed payment with transaction ID and status
+	 * @throws PaymentGatewayTimeoutException when the gateway does not answer (nothing is saved)
 	 */
 	public Payment doPayment(Payment payment) {
 		logger.info("Processing payment for order ID: {}, amount: {}", 
 				payment.getOrderId(), payment.getAmount());
 		
-		// Simulate payment processing and set status
-		String paymentStatus = processPaymentTransaction();
+		String orderId = payment.getOrderId();
+		if (orderId == null) {
+			return process(payment);
+		}
+		CompletableFuture<Payment> claim = new CompletableFuture<>();
+		CompletableFuture<Payment> running = inFlight.putIfAbsent(orderId, claim);
+		if (running != null) {
+			logger.info("Payment for order ID: {} is already being processed, waiting for it", orderId);
+			return await(running);
+		}
+		try {
+			Payment result = findExisting(orderId).orElseGet(() -> process(payment));
+			claim.complete(result);
+			return result;
+		} catch (RuntimeException e) {
+			claim.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(orderId, claim);
+		}
+	}
+
+	// Authorize, assign the transaction ID and store a new payment
+	private Payment process(Payment payment) {
+		// Always a new record - order-service sends paymentId 0, which must not overwrite payment 0
+		payment.setPaymentId(null);
+		
+		// Authorize with the payment gateway and set status
+		String paymentStatus = paymentGateway.authorize(payment);
 		payment.setPaymentStatus(paymentStatus);
 		
-		// Generate unique transaction ID for tracking
-		String transactionId = UUID.randomUUID().toString();
+		// Generate unique, time-ordered transaction ID for tracking
+		String transactionId = idGenerator.nextIdString();
 		payment.setTransactionId(transactionId);
 		
 		logger.info("Payment processed with transaction ID: {}, status: {}", 
 				transactionId, paymentStatus);
 		
-		// Save payment record to database
-		return repository.save(payment);
+		// Save payment record to database - in the next group commit when enabled
+		Payment saved = groupCommitter.isEnabled() ? groupCommitter.save(payment) : store.save(payment);
+		statistics.record(saved);
+		return saved;
+	}
+
+	/**
+	 * Process Payment Transactions in Bulk
+	 * 
+	 * Bulk variant of doPayment used by Order Service for bursts of bookings.
+	 * Valid payments are processed and written with one saveAll, so with the
+	 * JPA store the INSERTs go out as JDBC batches in one transaction. Payments with a missing or non-positive
+	 * amount are marked FAILED and not saved. As in doPayment, an order that
+	 * already has a payment gets it back instead of a new one, so a resent
+	 * batch is not charged twice.
+	 * 
+	 * @param payments Payments to process
+	 * @return Processed payments in the same order as the input
+	 */
+	public List<Payment> doPayments(List<Payment> payments) {
+		logger.info("Processing bulk payment for {} orders", payments.size());
+
+		List<Payment> results = new ArrayList<>(payments);
+		List<Payment> valid = new ArrayList<>(payments.size());
+		// Orders this call processes, and payments another call (or an earlier item) is processing
+		Map<String, CompletableFuture<Payment>> claimed = new HashMap<>();
+		Map<Integer, CompletableFuture<Payment>> waiting = new LinkedHashMap<>();
+		try {
+			for (int i = 0; i < payments.size(); i++) {
+				Payment payment = payments.get(i);
+				if (payment.getAmount() == null || payment.getAmount() <= 0) {
+					logger.warn("Invalid payment amount for order ID: {}", payment.getOrderId());
+					payment.setPaymentStatus("FAILED");
+					continue;
+				}
+				String orderId = payment.getOrderId();
+				if (orderId != null) {
+					CompletableFuture<Payment> claim = new CompletableFuture<>();
+					CompletableFuture<Payment> running = claimed.containsKey(orderId)
+							? claimed.get(orderId)
+							: inFlight.putIfAbsent(orderId, claim);
+					if (running != null) {
+						waiting.put(i, running);
+						continue;
+					}
+					claimed.put(orderId, claim);
+					Optional<Payment> existing = findExisting(orderId);
+					if (existing.isPresent()) {
+						results.set(i, existing.get());
+						claim.complete(existing.get());
+						continue;
+					}
+				}
+				payment.setPaymentId(null);  // Always a new record, so saveAll persists instead of merging
+				payment.setPaymentStatus(authorizeInBulk(payment));
+				payment.setTransactionId(idGenerator.nextIdString());
+				valid.add(payment);
+			}
+
+			// Save all valid payments in one write - Hibernate batches the INSERTs
+			store.saveAll(valid);
+			valid.forEach(statistics::record);
+			for (Payment payment : valid) {
+				if (payment.getOrderId() != null) {
+					claimed.get(payment.getOrderId()).complete(payment);
+				}
+			}
+		} catch (RuntimeException e) {
+			claimed.values().forEach(claim -> claim.completeExceptionally(e));
+			throw e;
+		} finally {
+			claimed.forEach(inFlight::remove);
+		}
+		logger.info("Bulk payment saved {} of {} payments", valid.size(), payments.size());
+
+		// Repeated orders get the payment of the call that processed them
+		waiting.forEach((i, running) -> results.set(i, awaitInBulk(payments.get(i), running)));
+
+		// Entities are persisted in place, so new payments carry their generated IDs
+		return results;
+	}
+
+	/**
+	 * The order's payment, if it already has one (the oldest one, for orders
+	 * paid more than once before payments were idempotent)
+	 */
+	private Optional<Payment> findExisting(String orderId) {
+		List<PaymentView> existing = store.findByOrderId(orderId);
+		if (existing.isEmpty()) {
+			return Optional.empty();
+		}
+		logger.info("Order ID: {} already has payment {}, returning it", orderId, existing.get(0).paymentId());
+		return store.findById(existing.get(0).paymentId());
+	}
+
+	/**
+	 * Wait for a payment another request is processing, with that request's outcome
+	 */
+	private static Payment await(CompletableFuture<Payment> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Wait for a payment of a bulk request that another request is processing.
+	 * If that request failed, only this payment fails.
+	 */
+	private static Payment awaitInBulk(Payment payment, CompletableFuture<Payment> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			logger.warn("Payment for order ID: {} failed in another request: {}", payment.getOrderId(),
+					e.getCause() != null ? e.getCause().toString() : e.toString());
+			payment.setPaymentStatus("FAILED");
+			return payment;
+		}
 	}
 
 	/**
-	 * Simulate Payment Processing
+	 * Authorize one payment of a bulk request
 	 * 
-	 * This method simulates real payment processing by randomly
-	 * determining success or failure. In production, this would
-	 * integrate with actual payment gateways like Stripe, PayPal, etc.
+	 * A gateway timeout only fails its own payment instead of the whole bulk request.
 	 * 
 	 * @return Payment status ("SUCCESS" or "FAILED")
 	 */
-	private String processPaymentTransaction() {
-		// Simulate payment processing with 80% success rate
-		boolean isSuccessful = new Random().nextInt(100) < 80;
-		return isSuccessful ? "SUCCESS" : "FAILED";
+	private String authorizeInBulk(Payment payment) {
+		try {
+			return paymentGateway.authorize(payment);
+		} catch (PaymentGatewayTimeoutException e) {
+			logger.warn("Payment gateway timeout for order ID: {}", payment.getOrderId());
+			return "FAILED";
+		}
 	}
 
 	/**
@@ -98,7 +291,36 @@ public class PaymentService {
 	 */
 	public List<Payment> getAllPayments() {
 		logger.info("Retrieving all payments from database");
-		return repository.findAll();
+		return store.findAll();
+	}
+
+	/**
+	 * Get Payments Page (keyset pagination)
+	 * 
+	 * Returns up to limit payments with an ID greater than the cursor.
+	 * Pass the last payment ID of a page as the cursor for the next page.
+	 * 
+	 * @param after Cursor - last payment ID already seen (0 for the first page)
+	 * @param limit Maximum number of payments to return
+	 * @return Payments in ID order
+	 */
+	public List<Payment> getPaymentsAfter(long after, int limit) {
+		logger.info("Retrieving payments after ID: {}, limit: {}", after, limit);
+		return store.findAfter(after, limit);
+	}
+
+	/**
+	 * Stream All Payments
+	 * 
+	 * Passes each payment to the action as it is read (a forward-only JDBC
+	 * cursor with the JPA store, the journal index with the journal store),
+	 * so the whole table is never held in memory.
+	 * 
+	 * @param action Callback invoked once per payment, in ID order
+	 */
+	public void streamAllPayments(Consumer<Payment> action) {
+		logger.info("Streaming all payments from database");
+		store.forEach(action);
 	}
 
 	/**
@@ -112,7 +334,34 @@ public class PaymentService {
 	 */
 	public Payment getPaymentById(Long id) {
 		logger.info("Retrieving payment with ID: {}", id);
-		Optional<Payment> payment = repository.findById(id);
+		Optional<Payment> payment = store.findById(id);
 		return payment.orElse(null);
 	}
+
+	/**
+	 * Get Payments by Order ID
+	 * 
+	 * Index lookup of all payments made for one order, used to reconcile
+	 * an order with its payments without scanning the payment table.
+	 * 
+	 * @param orderId Order ID the payments belong to
+	 * @return Payments of the order, oldest first (empty if none)
+	 */
+	public List<PaymentView> getPaymentsByOrderId(String orderId) {
+		logger.info("Retrieving payments for order ID: {}", orderId);
+		return store.findByOrderId(orderId);
+	}
+
+	/**
+	 * Get Payment by Transaction ID
+	 * 
+	 * Index lookup of a payment by the transaction ID returned to the caller.
+	 * 
+	 * @param transactionId Transaction ID to look up
+	 * @return Payment or null if not found
+	 */
+	public PaymentView getPaymentByTransactionId(String transactionId) {
+		logger.info("Retrieving payment with transaction ID: {}", transactionId);
+		return store.findByTransactionId(transactionId).orElse(null);
+	}
 }
@@ -0,0 +1,239 @@
+package com.java.payment.api.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentStats;
+import com.java.payment.api.common.PaymentWindowRow;
+import com.java.payment.api.config.PaymentStatsProperties;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.store.PaymentStore;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Payment Statistics - In-memory rolling aggregates of stored payments
+ * 
+ * Keeps running totals (overall, per payment status, per payment mode) and
+ * a ring of per-minute tumbling windows covering payment.stats.window-hours.
+ * PaymentService records every payment after it is committed, so reading
+ * the aggregates never touches PAYMENT_TB.
+ * 
+ * At startup the aggregates are seeded once from the PaymentStore (with
+ * the JPA store: one GROUP BY query for the totals and one indexed range
+ * query on created_at for the windows).
+ * 
+ * Updates use LongAdder/DoubleAdder, so concurrent payments do not
+ * contend on a lock.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Component
+public class PaymentStatistics {
+
+	private static final Logger logger = LoggerFactory.getLogger(PaymentStatistics.class);
+
+	// Group name for payments without a status or mode
+	private static final String UNKNOWN = "UNKNOWN";
+
+	// Absent in the reactive profile, whose in-memory database starts empty
+	private final ObjectProvider<PaymentStore> store;
+
+	private final Totals overall = new Totals();
+
+	private final Map<String, Totals> byStatus = new ConcurrentHashMap<>();
+
+	private final Map<String, Totals> byMode = new ConcurrentHashMap<>();
+
+	// Ring of per-minute windows, indexed by epoch minute modulo its size
+	private final MinuteWindow[] windows;
+
+	public PaymentStatistics(ObjectProvider<PaymentStore> store, PaymentStatsProperties properties) {
+		this.store = store;
+		this.windows = new MinuteWindow[Math.max(1, properties.getWindowHours()) * 60];
+		for (int i = 0; i < windows.length; i++) {
+			windows[i] = new MinuteWindow();
+		}
+	}
+
+	/**
+	 * Seed the aggregates from the payments already stored (runs once, before requests are served)
+	 */
+	@PostConstruct
+	void seed() {
+		PaymentStore store = this.store.getIfAvailable();
+		if (store == null) {
+			return;
+		}
+		for (PaymentAggregateRow row : store.aggregateByStatusAndMode()) {
+			double amount = row.amount() != null ? row.amount() : 0;
+			overall.add(row.count(), amount);
+			totalsFor(byStatus, row.paymentStatus()).add(row.count(), amount);
+			totalsFor(byMode, row.paymentMode()).add(row.count(), amount);
+		}
+		long now = currentMinute();
+		LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochSecond((now - windows.length + 1) * 60),
+				ZoneId.systemDefault());
+		for (PaymentWindowRow row : store.findWindowRowsSince(since)) {
+			long minute = TimeUnit.SECONDS.toMinutes(row.createdAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+			windowFor(minute).add(minute, group(row.paymentStatus()), row.amount() != null ? row.amount() : 0);
+		}
+		logger.info("Payment statistics seeded with {} payments", overall.count.sum());
+	}
+
+	/**
+	 * Record a stored payment
+	 * 
+	 * Inside a transaction the payment is counted after commit, so
+	 * rolled-back payments never show up in the aggregates.
+	 * 
+	 * @param payment Payment that was saved
+	 */
+	public void record(Payment payment) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(payment);
+				}
+			});
+		} else {
+			apply(payment);
+		}
+	}
+
+	/**
+	 * Current aggregates
+	 * 
+	 * @param minutes Number of most recent per-minute windows to include
+	 * @return Totals, groups and windows (oldest first)
+	 */
+	public PaymentStats snapshot(int minutes) {
+		int count = Math.max(0, Math.min(minutes, windows.length));
+		long now = currentMinute();
+		List<PaymentStats.Window> recent = new ArrayList<>(count);
+		for (long minute = now - count + 1; minute <= now; minute++) {
+			recent.add(windowFor(minute).snapshot(minute));
+		}
+		return new PaymentStats(overall.count.sum(), overall.amount.sum(), snapshot(byStatus), snapshot(byMode),
+				recent);
+	}
+
+	/**
+	 * Number of per-minute windows kept
+	 */
+	public int windowCount() {
+		return windows.length;
+	}
+
+	private void apply(Payment payment) {
+		double amount = payment.getAmount() != null ? payment.getAmount() : 0;
+		String status = group(payment.getPaymentStatus());
+		overall.add(1, amount);
+		totalsFor(byStatus, status).add(1, amount);
+		totalsFor(byMode, payment.getPaymentMode()).add(1, amount);
+		long minute = currentMinute();
+		windowFor(minute).add(minute, status, amount);
+	}
+
+	private MinuteWindow windowFor(long minute) {
+		return windows[(int) Math.floorMod(minute, (long) windows.length)];
+	}
+
+	private static Totals totalsFor(Map<String, Totals> groups, String key) {
+		return groups.computeIfAbsent(group(key), k -> new Totals());
+	}
+
+	private static String group(String value) {
+		return value != null ? value : UNKNOWN;
+	}
+
+	private static Map<String, PaymentStats.Totals> snapshot(Map<String, Totals> groups) {
+		Map<String, PaymentStats.Totals> result = new TreeMap<>();
+		groups.forEach((key, totals) -> result.put(key, totals.snapshot()));
+		return result;
+	}
+
+	private static long currentMinute() {
+		return TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis());
+	}
+
+	/**
+	 * Running count and amount
+	 */
+	private static final class Totals {
+
+		private final LongAdder count = new LongAdder();
+
+		private final DoubleAdder amount = new DoubleAdder();
+
+		void add(long payments, double sum) {
+			count.add(payments);
+			amount.add(sum);
+		}
+
+		PaymentStats.Totals snapshot() {
+			return new PaymentStats.Totals(count.sum(), amount.sum());
+		}
+	}
+
+	/**
+	 * One slot of the window ring; reused for a new minute once the ring wraps
+	 */
+	private static final class MinuteWindow {
+
+		// Epoch minute this slot currently holds
+		private volatile long minute = -1;
+
+		private final Totals totals = new Totals();
+
+		private final Map<String, LongAdder> countByStatus = new ConcurrentHashMap<>();
+
+		void add(long paymentMinute, String status, double amount) {
+			if (minute != paymentMinute) {
+				synchronized (this) {
+					if (paymentMinute < minute) {
+						return;  // Older than the minute now held by this slot
+					}
+					if (minute != paymentMinute) {
+						totals.count.reset();
+						totals.amount.reset();
+						countByStatus.clear();
+						minute = paymentMinute;
+					}
+				}
+			}
+			totals.add(1, amount);
+			countByStatus.computeIfAbsent(status, k -> new LongAdder()).increment();
+		}
+
+		PaymentStats.Window snapshot(long expectedMinute) {
+			Instant start = Instant.ofEpochSecond(expectedMinute * 60);
+			if (minute != expectedMinute) {
+				return new PaymentStats.Window(start, 0, 0, Collections.emptyMap());
+			}
+			Map<String, Long> statuses = new TreeMap<>();
+			countByStatus.forEach((status, count) -> statuses.put(status, count.sum()));
+			return new PaymentStats.Window(start, totals.count.sum(), totals.amount.sum(), statuses);
+		}
+	}
+}
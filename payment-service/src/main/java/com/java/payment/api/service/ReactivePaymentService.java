@@ -0,0 +1,266 @@
+package com.java.payment.api.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.repository.PaymentR2dbcRepository;
+import com.java.payment.api.simulator.PaymentGateway;
+import com.java.payment.api.simulator.PaymentGatewayTimeoutException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive Payment Service - Non-blocking PaymentService for the reactive profile
+ * 
+ * Same business rules as PaymentService: authorize with the payment
+ * gateway, assign a transaction ID, store the payment and update the
+ * in-memory statistics, with one payment per order (a repeated request
+ * gets the existing or running payment of its order). Gateway waits and database calls do not hold a
+ * thread, so a few event-loop threads serve all concurrent payments.
+ * 
+ * Differences from the blocking service:
+ * - Bulk payments are authorized concurrently (up to BULK_CONCURRENCY at a time)
+ * - Payments are always stored in PAYMENT_TB through R2DBC
+ *   (payment.store.type and payment.group-commit do not apply)
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+@Service
+@Profile("reactive")
+public class ReactivePaymentService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReactivePaymentService.class);
+
+	// Gateway calls in flight per bulk request
+	private static final int BULK_CONCURRENCY = 32;
+
+	private final PaymentR2dbcRepository repository;
+
+	private final PaymentGateway paymentGateway;
+
+	private final IdGenerator idGenerator;
+
+	private final PaymentStatistics statistics;
+
+	// Payments being processed, per order ID - a repeated request waits for the running one
+	private final Map<String, CompletableFuture<Payment>> inFlight = new ConcurrentHashMap<>();
+
+	public ReactivePaymentService(PaymentR2dbcRepository repository, PaymentGateway paymentGateway,
+			IdGenerator idGenerator, PaymentStatistics statistics) {
+		this.repository = repository;
+		this.paymentGateway = paymentGateway;
+		this.idGenerator = idGenerator;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Process Payment Transaction
+	 * 
+	 * If the order already has a payment, that payment is returned instead
+	 * and the gateway is not called again.
+	 * 
+	 * @param payment Payment object containing payment details
+	 * @return Processed payment with transaction ID and status, or an error
+	 *         with PaymentGatewayTimeoutException when the gateway does not answer (nothing is saved)
+	 */
+	public Mono<Payment> doPayment(Payment payment) {
+		logger.info("Processing payment for order ID: {}, amount: {}", payment.getOrderId(), payment.getAmount());
+		String orderId = payment.getOrderId();
+		if (orderId == null) {
+			return process(payment);
+		}
+		return Mono.defer(() -> {
+			CompletableFuture<Payment> claim = new CompletableFuture<>();
+			CompletableFuture<Payment> running = inFlight.putIfAbsent(orderId, claim);
+			if (running != null) {
+				logger.info("Payment for order ID: {} is already being processed, waiting for it", orderId);
+				return Mono.fromFuture(running, true);
+			}
+			return findExisting(orderId)
+					.switchIfEmpty(Mono.defer(() -> process(payment)))
+					.doOnNext(claim::complete)
+					.doOnError(claim::completeExceptionally)
+					.doFinally(signal -> release(orderId, claim));
+		});
+	}
+
+	// Authorize, assign the transaction ID and store a new payment
+	private Mono<Payment> process(Payment payment) {
+		return paymentGateway.authorizeAsync(payment)
+				.flatMap(paymentStatus -> {
+					payment.setPaymentStatus(paymentStatus);
+					payment.setTransactionId(idGenerator.nextIdString());
+					logger.info("Payment processed with transaction ID: {}, status: {}",
+							payment.getTransactionId(), paymentStatus);
+					return repository.insert(payment);
+				})
+				.doOnNext(statistics::record);
+	}
+
+	/**
+	 * Process Payment Transactions in Bulk
+	 * 
+	 * Payments with a missing or non-positive amount are marked FAILED and
+	 * not saved. The others are authorized concurrently, then written as
+	 * one batched INSERT in one transaction. A gateway timeout only fails
+	 * its own payment. Orders that already have a payment get it back
+	 * instead of a new one.
+	 * 
+	 * @param payments Payments to process
+	 * @return Processed payments in the same order as the input
+	 */
+	public Mono<List<Payment>> doPayments(List<Payment> payments) {
+		return Mono.defer(() -> {
+			logger.info("Processing bulk payment for {} orders", payments.size());
+
+			List<Payment> results = new ArrayList<>(payments);
+			List<Integer> owned = new ArrayList<>(payments.size());
+			// Orders this call processes, and payments another call (or an earlier item) is processing
+			Map<String, CompletableFuture<Payment>> claimed = new HashMap<>();
+			Map<Integer, CompletableFuture<Payment>> waiting = new LinkedHashMap<>();
+			for (int i = 0; i < payments.size(); i++) {
+				Payment payment = payments.get(i);
+				if (payment.getAmount() == null || payment.getAmount() <= 0) {
+					logger.warn("Invalid payment amount for order ID: {}", payment.getOrderId());
+					payment.setPaymentStatus("FAILED");
+					continue;
+				}
+				String orderId = payment.getOrderId();
+				if (orderId != null) {
+					CompletableFuture<Payment> claim = new CompletableFuture<>();
+					CompletableFuture<Payment> running = claimed.containsKey(orderId)
+							? claimed.get(orderId)
+							: inFlight.putIfAbsent(orderId, claim);
+					if (running != null) {
+						waiting.put(i, running);
+						continue;
+					}
+					claimed.put(orderId, claim);
+				}
+				owned.add(i);
+			}
+
+			return Flux.fromIterable(owned)
+					.flatMap(i -> {
+						Payment payment = payments.get(i);
+						Mono<Payment> existing = payment.getOrderId() != null
+								? findExisting(payment.getOrderId())
+								: Mono.empty();
+						return existing
+								.doOnNext(found -> results.set(i, found))
+								.hasElement()
+								.flatMap(found -> found ? Mono.<Payment>empty() : authorizeInBulk(payment));
+					}, BULK_CONCURRENCY)
+					.collectList()
+					.flatMap(valid -> repository.insertAll(valid).then(Mono.fromRunnable(() -> {
+						valid.forEach(statistics::record);
+						logger.info("Bulk payment saved {} of {} payments", valid.size(), payments.size());
+					})))
+					.doOnSuccess(done -> owned.forEach(i -> {
+						CompletableFuture<Payment> claim = claimed.get(payments.get(i).getOrderId());
+						if (claim != null) {
+							claim.complete(results.get(i));
+						}
+					}))
+					.doOnError(error -> claimed.values().forEach(claim -> claim.completeExceptionally(error)))
+					.doFinally(signal -> claimed.forEach(this::release))
+					// Repeated orders get the payment of the call that processed them
+					.then(Flux.fromIterable(waiting.entrySet())
+							.concatMap(entry -> awaitInBulk(payments.get(entry.getKey()), entry.getValue())
+									.doOnNext(payment -> results.set(entry.getKey(), payment)))
+							.then())
+					.thenReturn(results);
+		});
+	}
+
+	// Authorize one payment of a bulk request - a gateway timeout only fails this payment
+	private Mono<Payment> authorizeInBulk(Payment payment) {
+		return paymentGateway.authorizeAsync(payment)
+				.onErrorResume(PaymentGatewayTimeoutException.class, e -> {
+					logger.warn("Payment gateway timeout for order ID: {}", payment.getOrderId());
+					return Mono.just("FAILED");
+				})
+				.map(paymentStatus -> {
+					payment.setPaymentStatus(paymentStatus);
+					payment.setTransactionId(idGenerator.nextIdString());
+					return payment;
+				});
+	}
+
+	/**
+	 * The order's payment, if it already has one (the oldest one)
+	 */
+	private Mono<Payment> findExisting(String orderId) {
+		return repository.findByOrderId(orderId)
+				.next()
+				.doOnNext(existing -> logger.info("Order ID: {} already has payment {}, returning it",
+						orderId, existing.paymentId()))
+				.flatMap(existing -> repository.findById(existing.paymentId()));
+	}
+
+	/**
+	 * Payment of a bulk request that another request is processing.
+	 * If that request failed, only this payment fails.
+	 */
+	private static Mono<Payment> awaitInBulk(Payment payment, CompletableFuture<Payment> running) {
+		return Mono.fromFuture(running, true)
+				.onErrorResume(error -> {
+					logger.warn("Payment for order ID: {} failed in another request: {}", payment.getOrderId(),
+							error.toString());
+					payment.setPaymentStatus("FAILED");
+					return Mono.just(payment);
+				});
+	}
+
+	// A claim given up without a result (e.g. the request was cancelled) fails its waiters
+	private void release(String orderId, CompletableFuture<Payment> claim) {
+		claim.cancel(false);
+		inFlight.remove(orderId, claim);
+	}
+
+	/**
+	 * All payments, streamed from the database in ID order
+	 */
+	public Flux<Payment> getAllPayments() {
+		logger.info("Retrieving all payments from database");
+		return repository.findAll();
+	}
+
+	/**
+	 * Keyset page of payments with an ID greater than after
+	 */
+	public Flux<Payment> getPaymentsAfter(long after, int limit) {
+		logger.info("Retrieving payments after ID: {}, limit: {}", after, limit);
+		return repository.findAfter(after, limit);
+	}
+
+	public Mono<Payment> getPaymentById(long id) {
+		logger.info("Retrieving payment with ID: {}", id);
+		return repository.findById(id);
+	}
+
+	public Flux<PaymentView> getPaymentsByOrderId(String orderId) {
+		logger.info("Retrieving payments for order ID: {}", orderId);
+		return repository.findByOrderId(orderId);
+	}
+
+	public Mono<PaymentView> getPaymentByTransactionId(String transactionId) {
+		logger.info("Retrieving payment with transaction ID: {}", transactionId);
+		return repository.findByTransactionId(transactionId);
+	}
+}
@@ -0,0 +1,41 @@
+package com.java.payment.api.simulator;
+
+import com.java.payment.api.entity.Payment;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Payment Gateway - The external provider that authorizes a payment
+ * 
+ * The service ships with SimulatedPaymentGateway. A real provider
+ * integration (Stripe, PayPal, ...) replaces it by declaring its own
+ * PaymentGateway bean.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public interface PaymentGateway {
+
+	/**
+	 * Authorize a payment, blocking until the provider answers
+	 * 
+	 * @param payment Payment to authorize
+	 * @return Payment status ("SUCCESS" or "FAILED")
+	 * @throws PaymentGatewayTimeoutException when the provider does not answer in time
+	 */
+	String authorize(Payment payment);
+
+	/**
+	 * Non-blocking variant used by the reactive profile
+	 * 
+	 * By default the blocking call runs on the bounded elastic scheduler;
+	 * implementations with a non-blocking client should override it.
+	 * 
+	 * @param payment Payment to authorize
+	 * @return Payment status, or an error with PaymentGatewayTimeoutException
+	 */
+	default Mono<String> authorizeAsync(Payment payment) {
+		return Mono.fromCallable(() -> authorize(payment)).subscribeOn(Schedulers.boundedElastic());
+	}
+}
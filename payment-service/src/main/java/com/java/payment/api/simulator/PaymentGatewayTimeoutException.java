@@ -0,0 +1,16 @@
+package com.java.payment.api.simulator;
+
+/**
+ * Thrown when the payment gateway does not answer in time
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class PaymentGatewayTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PaymentGatewayTimeoutException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,181 @@
+package com.java.payment.api.simulator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.java.payment.api.config.PaymentSimulatorProperties;
+import com.java.payment.api.config.PaymentSimulatorProperties.Burst;
+import com.java.payment.api.config.PaymentSimulatorProperties.Latency;
+import com.java.payment.api.config.PaymentSimulatorProperties.Profile;
+import com.java.payment.api.entity.Payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Simulated Payment Gateway - Provider stand-in with realistic latency and failures
+ * 
+ * Every payment:
+ * 1. Picks up the active profile (payment.simulator.profile) - switching
+ *    profiles through Config Server + /actuator/refresh applies immediately
+ * 2. With probability timeout-rate, hangs for timeout and throws
+ *    PaymentGatewayTimeoutException
+ * 3. Otherwise waits a latency drawn from the profile's distribution
+ *    (fixed, normal or lognormal, capped at max)
+ * 4. Declines with probability failure-rate
+ * Inside a burst window the latency is multiplied and the burst's failure
+ * and timeout rates apply.
+ * 
+ * In authorize() the wait is a plain sleep, so it holds the request thread
+ * like a blocking provider call would. With virtual threads enabled, it only
+ * parks the virtual thread. authorizeAsync() (reactive profile) waits on a
+ * timer without holding a thread.
+ * 
+ * Metric: payment.gateway.latency{profile, outcome=success|failed|timeout, burst}
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+	private static final Logger logger = LoggerFactory.getLogger(SimulatedPaymentGateway.class);
+
+	// Used when payment.simulator.profile names no configured profile: the old instant 80/20 behaviour
+	private static final Profile DEFAULT_PROFILE = new Profile();
+
+	private final PaymentSimulatorProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	// Last profile name seen, to log switches
+	private volatile String activeProfile;
+
+	public SimulatedPaymentGateway(PaymentSimulatorProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public String authorize(Payment payment) {
+		Outcome outcome = decide(payment);
+		sleep(outcome.latencyNanos());
+		return complete(outcome);
+	}
+
+	/**
+	 * Same outcome as authorize(), but the wait is a timer instead of a sleeping thread
+	 */
+	@Override
+	public Mono<String> authorizeAsync(Payment payment) {
+		return Mono.fromSupplier(() -> decide(payment))
+				.flatMap(outcome -> outcome.latencyNanos() <= 0
+						? Mono.fromSupplier(() -> complete(outcome))
+						: Mono.delay(Duration.ofNanos(outcome.latencyNanos())).map(tick -> complete(outcome)));
+	}
+
+	/**
+	 * Draw the outcome of one payment from the active profile
+	 */
+	private Outcome decide(Payment payment) {
+		String name = properties.getProfile();
+		Profile profile = resolve(name);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		Burst burst = profile.getBurst();
+		boolean inBurst = inBurst(burst, System.currentTimeMillis());
+		double timeoutRate = inBurst && burst.getTimeoutRate() != null ? burst.getTimeoutRate() : profile.getTimeoutRate();
+		double failureRate = inBurst && burst.getFailureRate() != null ? burst.getFailureRate() : profile.getFailureRate();
+
+		if (random.nextDouble() < timeoutRate) {
+			return new Outcome(name, inBurst, profile.getTimeout().toNanos(), null,
+					"Payment gateway did not answer within " + profile.getTimeout() + " for order " + payment.getOrderId());
+		}
+
+		long latency = sampleLatency(profile.getLatency(), random);
+		if (inBurst) {
+			latency = (long) Math.min(latency * burst.getLatencyMultiplier(), profile.getLatency().getMax().toNanos());
+		}
+		return new Outcome(name, inBurst, latency, random.nextDouble() < failureRate ? "FAILED" : "SUCCESS", null);
+	}
+
+	/**
+	 * Record the outcome once its latency has passed and return the status (or throw the timeout)
+	 */
+	private String complete(Outcome outcome) {
+		if (outcome.status() == null) {
+			record(outcome.profile(), "timeout", outcome.inBurst(), outcome.latencyNanos());
+			throw new PaymentGatewayTimeoutException(outcome.timeoutMessage());
+		}
+		record(outcome.profile(), outcome.status().toLowerCase(), outcome.inBurst(), outcome.latencyNanos());
+		return outcome.status();
+	}
+
+	/**
+	 * Draw one latency in nanoseconds from the distribution
+	 */
+	static long sampleLatency(Latency latency, ThreadLocalRandom random) {
+		double nanos = switch (latency.getDistribution()) {
+			case FIXED -> latency.getMean().toNanos();
+			case NORMAL -> latency.getMean().toNanos() + random.nextGaussian() * latency.getStddev().toNanos();
+			case LOGNORMAL -> latency.getMedian().toNanos() * Math.exp(latency.getSigma() * random.nextGaussian());
+		};
+		return (long) Math.max(0, Math.min(nanos, latency.getMax().toNanos()));
+	}
+
+	/**
+	 * Whether the wall clock is inside a burst window
+	 */
+	static boolean inBurst(Burst burst, long nowMillis) {
+		if (burst == null || burst.getDuration().isZero() || burst.getEvery().isZero()) {
+			return false;
+		}
+		return nowMillis % burst.getEvery().toMillis() < burst.getDuration().toMillis();
+	}
+
+	private Profile resolve(String name) {
+		Profile profile = properties.getProfiles().get(name);
+		if (!name.equals(activeProfile)) {
+			activeProfile = name;
+			if (profile != null) {
+				logger.info("Payment gateway simulator using profile '{}'", name);
+			} else {
+				logger.warn("Payment gateway simulator profile '{}' is not configured, using an instant gateway", name);
+			}
+		}
+		return profile != null ? profile : DEFAULT_PROFILE;
+	}
+
+	private void record(String profile, String outcome, boolean inBurst, long nanos) {
+		Timer.builder("payment.gateway.latency")
+				.description("Simulated payment gateway response time")
+				.tag("profile", profile)
+				.tag("outcome", outcome)
+				.tag("burst", String.valueOf(inBurst))
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Drawn result of one payment: wait latencyNanos, then answer status (null = time out)
+	 */
+	private record Outcome(String profile, boolean inBurst, long latencyNanos, String status, String timeoutMessage) {
+	}
+
+	private static void sleep(long nanos) {
+		if (nanos <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(Duration.ofNanos(nanos));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PaymentGatewayTimeoutException("Interrupted while waiting for the payment gateway");
+		}
+	}
+}
@@ -0,0 +1,459 @@
+package com.java.payment.api.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.common.PaymentWindowRow;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.IdGenerator;
+
+/**
+ * Journal Payment Store - Append-only, memory-mapped payment journal
+ * 
+ * Payments are appended to fixed-size segment files
+ * (payments-0000000000.journal, payments-0000000001.journal, ...) that are
+ * memory-mapped, so a write is a memory copy rather than a SQL INSERT. When
+ * a segment is full the next one is started. Lookups use in-memory indexes:
+ * - paymentId -> record location (sorted, for keyset pages and streaming)
+ * - transactionId -> paymentId (unique, like UX_PAYMENT_TRANSACTION_ID)
+ * - orderId -> paymentIds
+ * Payments are read back from the mapped segments, so the heap only holds
+ * the indexes.
+ * 
+ * On startup every segment is replayed to rebuild the indexes. A torn
+ * record at the end of a segment (crash mid-write) fails its CRC and is
+ * discarded. Saving a payment ID that already exists appends a new
+ * version; the last version wins. Payments without an ID (null or 0) get
+ * a new one.
+ * 
+ * Durability: written records live in the OS page cache and survive a
+ * crash of the service. With payment.store.journal.force they are also
+ * flushed to disk before save returns, which survives power loss. With
+ * group commit enabled, one flush covers the whole batch.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class JournalPaymentStore implements PaymentStore, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(JournalPaymentStore.class);
+
+	private static final Pattern SEGMENT_NAME = Pattern.compile("payments-(\\d{10})\\.journal");
+
+	// Flag bits of the encoded payment for nullable fields
+	private static final int HAS_AMOUNT = 1;
+	private static final int HAS_CREATED_AT = 2;
+	private static final int HAS_UPDATED_AT = 4;
+
+	private final Path directory;
+
+	private final int segmentSize;
+
+	private final boolean force;
+
+	private final IdGenerator idGenerator;
+
+	// Index in this list is the segment part of a record location
+	private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+
+	// paymentId -> location ((segment index << 32) | offset)
+	private final ConcurrentSkipListMap<Long, Long> byId = new ConcurrentSkipListMap<>();
+
+	private final Map<String, Long> byTransactionId = new ConcurrentHashMap<>();
+
+	private final Map<String, List<Long>> byOrderId = new ConcurrentHashMap<>();
+
+	// Serializes appends; readers never take it
+	private final Object writeLock = new Object();
+
+	private JournalSegment current;
+
+	public JournalPaymentStore(Path directory, int segmentSize, boolean force, IdGenerator idGenerator) {
+		if (JournalSegment.maxPayload(segmentSize) < 1024) {
+			throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+		}
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.force = force;
+		this.idGenerator = idGenerator;
+	}
+
+	/**
+	 * Replay the existing segments and rebuild the indexes
+	 */
+	public void open() {
+		long start = System.nanoTime();
+		try {
+			Files.createDirectories(directory);
+			List<Path> files;
+			try (Stream<Path> listing = Files.list(directory)) {
+				files = listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+						.sorted()
+						.toList();
+			}
+			for (Path file : files) {
+				Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+				matcher.matches();
+				JournalSegment segment = JournalSegment.open(file, Integer.parseInt(matcher.group(1)));
+				int segmentIndex = segments.size();
+				segments.add(segment);
+				int discarded = segment.recover((offset, payload) -> index(location(segmentIndex, offset), decode(payload)));
+				if (discarded > 0) {
+					logger.warn("Discarded a torn record at the end of journal segment {}", file);
+				}
+				current = segment;
+			}
+			if (current == null) {
+				current = newSegment(0);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open payment journal in " + directory, e);
+		}
+		logger.info("Payment journal opened: {} payments in {} segments replayed in {} ms from {}", byId.size(),
+				segments.size(), (System.nanoTime() - start) / 1_000_000, directory.toAbsolutePath());
+	}
+
+	@Override
+	public Payment save(Payment payment) {
+		saveAll(List.of(payment));
+		return payment;
+	}
+
+	/**
+	 * Append all payments under one lock and (with force) one flush
+	 * 
+	 * The batch is checked before anything is written, so a duplicate
+	 * transaction ID or a missing order ID / status rejects the whole
+	 * batch with no payment written.
+	 */
+	@Override
+	public List<Payment> saveAll(List<Payment> payments) {
+		synchronized (writeLock) {
+			validate(payments);
+			LocalDateTime now = LocalDateTime.now();
+			List<ByteBuffer> records = new ArrayList<>(payments.size());
+			for (Payment payment : payments) {
+				// Generated IDs are positive, so 0 (a client's unset primitive long) is a new payment too
+				if (payment.getPaymentId() == null || payment.getPaymentId() <= 0) {
+					payment.setPaymentId(idGenerator.nextId());
+				}
+				if (payment.getCreatedAt() == null) {
+					payment.setCreatedAt(now);
+				}
+				payment.setUpdatedAt(now);
+				ByteBuffer record = encode(payment);
+				if (record.remaining() > JournalSegment.maxPayload(segmentSize)) {
+					throw new IllegalArgumentException("Payment record larger than a journal segment");
+				}
+				records.add(record);
+			}
+
+			long[] locations = new long[payments.size()];
+			Set<JournalSegment> written = new HashSet<>();
+			for (int i = 0; i < records.size(); i++) {
+				ByteBuffer record = records.get(i);
+				if (!current.hasRoom(record.remaining())) {
+					roll();
+				}
+				locations[i] = location(segments.size() - 1, current.append(record));
+				written.add(current);
+			}
+			if (force) {
+				written.forEach(JournalSegment::force);
+			}
+			for (int i = 0; i < locations.length; i++) {
+				index(locations[i], payments.get(i));
+			}
+		}
+		return payments;
+	}
+
+	@Override
+	public Optional<Payment> findById(long paymentId) {
+		Long location = byId.get(paymentId);
+		return location != null ? Optional.of(read(location)) : Optional.empty();
+	}
+
+	@Override
+	public List<Payment> findAll() {
+		List<Payment> payments = new ArrayList<>(byId.size());
+		forEach(payments::add);
+		return payments;
+	}
+
+	@Override
+	public List<Payment> findAfter(long after, int limit) {
+		List<Payment> payments = new ArrayList<>(Math.min(limit, 1024));
+		for (Long location : byId.tailMap(after, false).values()) {
+			if (payments.size() >= limit) {
+				break;
+			}
+			payments.add(read(location));
+		}
+		return payments;
+	}
+
+	@Override
+	public void forEach(Consumer<Payment> action) {
+		for (Long location : byId.values()) {
+			action.accept(read(location));
+		}
+	}
+
+	@Override
+	public List<PaymentView> findByOrderId(String orderId) {
+		List<Long> paymentIds = byOrderId.get(orderId);
+		if (paymentIds == null) {
+			return List.of();
+		}
+		return paymentIds.stream()
+				.sorted()
+				.map(this::findById)
+				.flatMap(Optional::stream)
+				.map(JournalPaymentStore::view)
+				.toList();
+	}
+
+	@Override
+	public Optional<PaymentView> findByTransactionId(String transactionId) {
+		Long paymentId = byTransactionId.get(transactionId);
+		return paymentId != null ? findById(paymentId).map(JournalPaymentStore::view) : Optional.empty();
+	}
+
+	/**
+	 * Computed from the journal (only called at startup, right after the replay)
+	 */
+	@Override
+	public List<PaymentAggregateRow> aggregateByStatusAndMode() {
+		Map<List<String>, PaymentAggregateRow> groups = new HashMap<>();
+		forEach(payment -> groups.merge(
+				Arrays.asList(payment.getPaymentStatus(), payment.getPaymentMode()),
+				new PaymentAggregateRow(payment.getPaymentStatus(), payment.getPaymentMode(), 1,
+						payment.getAmount() != null ? payment.getAmount() : 0),
+				(a, b) -> new PaymentAggregateRow(a.paymentStatus(), a.paymentMode(), a.count() + b.count(),
+						a.amount() + b.amount())));
+		return new ArrayList<>(groups.values());
+	}
+
+	@Override
+	public List<PaymentWindowRow> findWindowRowsSince(LocalDateTime since) {
+		List<PaymentWindowRow> rows = new ArrayList<>();
+		forEach(payment -> {
+			if (payment.getCreatedAt() != null && !payment.getCreatedAt().isBefore(since)) {
+				rows.add(new PaymentWindowRow(payment.getCreatedAt(), payment.getPaymentStatus(), payment.getAmount()));
+			}
+		});
+		return rows;
+	}
+
+	/**
+	 * Flush and unmap all segments
+	 */
+	@Override
+	public void close() {
+		synchronized (writeLock) {
+			for (JournalSegment segment : segments) {
+				try {
+					segment.close();
+				} catch (IOException e) {
+					logger.warn("Failed to close journal segment {}", segment.path(), e);
+				}
+			}
+		}
+	}
+
+	private void validate(List<Payment> payments) {
+		Set<String> batchTransactionIds = new HashSet<>();
+		for (Payment payment : payments) {
+			if (payment.getOrderId() == null || payment.getPaymentStatus() == null) {
+				throw new DataIntegrityViolationException("Payment order ID and status are required");
+			}
+			String transactionId = payment.getTransactionId();
+			if (transactionId == null) {
+				continue;
+			}
+			Long owner = byTransactionId.get(transactionId);
+			if ((owner != null && !owner.equals(payment.getPaymentId())) || !batchTransactionIds.add(transactionId)) {
+				throw new DuplicateKeyException("Duplicate transaction ID: " + transactionId);
+			}
+		}
+	}
+
+	private void roll() {
+		if (force) {
+			current.force();
+		}
+		try {
+			current = newSegment(current.sequence() + 1);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create payment journal segment in " + directory, e);
+		}
+	}
+
+	private JournalSegment newSegment(int sequence) throws IOException {
+		Path path = directory.resolve(String.format("payments-%010d.journal", sequence));
+		JournalSegment segment = JournalSegment.create(path, sequence, segmentSize);
+		segments.add(segment);
+		logger.info("Started payment journal segment {}", path);
+		return segment;
+	}
+
+	/**
+	 * Point the indexes at the newest version of a payment
+	 */
+	private void index(long location, Payment payment) {
+		Long previous = byId.put(payment.getPaymentId(), location);
+		Payment old = previous != null ? read(previous) : null;
+		if (old != null && old.getTransactionId() != null && !old.getTransactionId().equals(payment.getTransactionId())) {
+			byTransactionId.remove(old.getTransactionId());
+		}
+		if (payment.getTransactionId() != null) {
+			byTransactionId.put(payment.getTransactionId(), payment.getPaymentId());
+		}
+		if (old == null || !Objects.equals(old.getOrderId(), payment.getOrderId())) {
+			if (old != null) {
+				List<Long> paymentIds = byOrderId.get(old.getOrderId());
+				if (paymentIds != null) {
+					paymentIds.remove(payment.getPaymentId());
+				}
+			}
+			byOrderId.computeIfAbsent(payment.getOrderId(), key -> new CopyOnWriteArrayList<>()).add(payment.getPaymentId());
+		}
+	}
+
+	private Payment read(long location) {
+		return decode(segments.get((int) (location >>> 32)).read((int) location));
+	}
+
+	private static long location(int segmentIndex, int offset) {
+		return ((long) segmentIndex << 32) | offset;
+	}
+
+	private static PaymentView view(Payment payment) {
+		return new PaymentView(payment.getPaymentId(), payment.getOrderId(), payment.getAmount(),
+				payment.getPaymentStatus(), payment.getTransactionId(), payment.getPaymentMode(), payment.getCreatedAt());
+	}
+
+	// Record payload: paymentId, flags, [amount], [createdAt], [updatedAt], orderId, status, transactionId, mode
+
+	private static ByteBuffer encode(Payment payment) {
+		byte[] orderId = bytes(payment.getOrderId());
+		byte[] status = bytes(payment.getPaymentStatus());
+		byte[] transactionId = bytes(payment.getTransactionId());
+		byte[] mode = bytes(payment.getPaymentMode());
+		int flags = (payment.getAmount() != null ? HAS_AMOUNT : 0)
+				| (payment.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+				| (payment.getUpdatedAt() != null ? HAS_UPDATED_AT : 0);
+		int size = Long.BYTES + 1 + (payment.getAmount() != null ? Double.BYTES : 0)
+				+ (payment.getCreatedAt() != null ? Long.BYTES + Integer.BYTES : 0)
+				+ (payment.getUpdatedAt() != null ? Long.BYTES + Integer.BYTES : 0)
+				+ length(orderId) + length(status) + length(transactionId) + length(mode);
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putLong(payment.getPaymentId());
+		buffer.put((byte) flags);
+		if (payment.getAmount() != null) {
+			buffer.putDouble(payment.getAmount());
+		}
+		putTime(buffer, payment.getCreatedAt());
+		putTime(buffer, payment.getUpdatedAt());
+		putBytes(buffer, orderId);
+		putBytes(buffer, status);
+		putBytes(buffer, transactionId);
+		putBytes(buffer, mode);
+		return buffer.flip();
+	}
+
+	private static Payment decode(ByteBuffer buffer) {
+		Payment payment = new Payment();
+		payment.setPaymentId(buffer.getLong());
+		int flags = buffer.get();
+		if ((flags & HAS_AMOUNT) != 0) {
+			payment.setAmount(buffer.getDouble());
+		}
+		if ((flags & HAS_CREATED_AT) != 0) {
+			payment.setCreatedAt(getTime(buffer));
+		}
+		if ((flags & HAS_UPDATED_AT) != 0) {
+			payment.setUpdatedAt(getTime(buffer));
+		}
+		payment.setOrderId(getString(buffer));
+		payment.setPaymentStatus(getString(buffer));
+		payment.setTransactionId(getString(buffer));
+		payment.setPaymentMode(getString(buffer));
+		return payment;
+	}
+
+	private static void putTime(ByteBuffer buffer, LocalDateTime time) {
+		if (time != null) {
+			buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+			buffer.putInt(time.getNano());
+		}
+	}
+
+	private static LocalDateTime getTime(ByteBuffer buffer) {
+		return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+	}
+
+	private static byte[] bytes(String value) {
+		if (value == null) {
+			return null;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Payment field longer than " + Short.MAX_VALUE + " bytes");
+		}
+		return bytes;
+	}
+
+	private static int length(byte[] bytes) {
+		return Short.BYTES + (bytes != null ? bytes.length : 0);
+	}
+
+	private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+		if (bytes == null) {
+			buffer.putShort((short) -1);
+		} else {
+			buffer.putShort((short) bytes.length);
+			buffer.put(bytes);
+		}
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getShort();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
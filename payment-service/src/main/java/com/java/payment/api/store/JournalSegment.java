@@ -0,0 +1,199 @@
+package com.java.payment.api.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal Segment - One memory-mapped, fixed-size file of the payment journal
+ * 
+ * Layout:
+ * - header: magic (int), version (int)
+ * - records: payload length (int), CRC32C of the payload (int), payload
+ * - zero-filled rest of the file (a length of 0 marks the end)
+ * 
+ * Records are appended by a single writer. Readers take slices of the
+ * mapped buffer at offsets handed out by append(), so reads need no lock.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+final class JournalSegment implements AutoCloseable {
+
+	static final int MAGIC = 0x504A4E4C;  // "PJNL"
+
+	static final int VERSION = 1;
+
+	static final int HEADER_SIZE = 8;
+
+	// Length and CRC in front of every payload
+	static final int RECORD_OVERHEAD = 8;
+
+	/**
+	 * Receives every intact record found while recovering a segment
+	 */
+	@FunctionalInterface
+	interface RecordVisitor {
+		void visit(int offset, ByteBuffer payload);
+	}
+
+	private final int sequence;
+
+	private final Path path;
+
+	private final FileChannel channel;
+
+	private final MappedByteBuffer buffer;
+
+	// Next write offset (only touched by the writer)
+	private int position = HEADER_SIZE;
+
+	private JournalSegment(int sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+		this.sequence = sequence;
+		this.path = path;
+		this.channel = channel;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Create a new, empty segment file of the given size
+	 */
+	static JournalSegment create(Path path, int sequence, int size) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+		return new JournalSegment(sequence, path, channel, buffer);
+	}
+
+	/**
+	 * Map an existing segment file; call recover() before appending to it
+	 */
+	static JournalSegment open(Path path, int sequence) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		long size = channel.size();
+		if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+			channel.close();
+			throw new IOException("Invalid journal segment size " + size + ": " + path);
+		}
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			channel.close();
+			throw new IOException("Not a version " + VERSION + " payment journal segment: " + path);
+		}
+		return new JournalSegment(sequence, path, channel, buffer);
+	}
+
+	/**
+	 * Scan the segment from the start and pass every intact record to the visitor
+	 * 
+	 * Stops at the end marker or at the first torn record (bad length or
+	 * CRC, e.g. after a crash mid-write). Anything after that point is
+	 * zeroed so new appends start from a clean end.
+	 * 
+	 * @return Number of bytes discarded after the last intact record
+	 */
+	int recover(RecordVisitor visitor) {
+		int offset = HEADER_SIZE;
+		int capacity = buffer.capacity();
+		while (offset + RECORD_OVERHEAD <= capacity) {
+			int length = buffer.getInt(offset);
+			if (length <= 0 || length > capacity - offset - RECORD_OVERHEAD) {
+				break;
+			}
+			ByteBuffer payload = buffer.slice(offset + RECORD_OVERHEAD, length);
+			if (crc(payload) != buffer.getInt(offset + 4)) {
+				break;
+			}
+			visitor.visit(offset, payload);
+			offset += RECORD_OVERHEAD + length;
+		}
+		position = offset;
+		int discarded = 0;
+		for (int i = offset; i < capacity && i < offset + RECORD_OVERHEAD; i++) {
+			if (buffer.get(i) != 0) {
+				discarded = capacity - offset;
+				break;
+			}
+		}
+		if (discarded > 0) {
+			for (int i = offset; i < capacity; i++) {
+				buffer.put(i, (byte) 0);
+			}
+		}
+		return discarded;
+	}
+
+	/**
+	 * Whether a payload of the given length still fits
+	 */
+	boolean hasRoom(int payloadLength) {
+		return position + RECORD_OVERHEAD + payloadLength <= buffer.capacity();
+	}
+
+	/**
+	 * Largest payload that fits into an empty segment of the given size
+	 */
+	static int maxPayload(int segmentSize) {
+		return segmentSize - HEADER_SIZE - RECORD_OVERHEAD;
+	}
+
+	/**
+	 * Append one record
+	 * 
+	 * The length is written last, so a reader scanning the file never
+	 * sees a record whose payload is not there yet.
+	 * 
+	 * @param payload Encoded payload (read from position to limit)
+	 * @return Offset of the record, for read()
+	 */
+	int append(ByteBuffer payload) {
+		int offset = position;
+		int length = payload.remaining();
+		buffer.put(offset + RECORD_OVERHEAD, payload, payload.position(), length);
+		buffer.putInt(offset + 4, crc(payload));
+		buffer.putInt(offset, length);
+		position = offset + RECORD_OVERHEAD + length;
+		return offset;
+	}
+
+	/**
+	 * Payload of the record at the given offset (a read-only view of the mapped file)
+	 */
+	ByteBuffer read(int offset) {
+		int length = buffer.getInt(offset);
+		return buffer.slice(offset + RECORD_OVERHEAD, length).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Flush written records to the storage device
+	 */
+	void force() {
+		buffer.force();
+	}
+
+	int sequence() {
+		return sequence;
+	}
+
+	Path path() {
+		return path;
+	}
+
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	private static int crc(ByteBuffer payload) {
+		CRC32C crc = new CRC32C();
+		crc.update(payload.duplicate());
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,95 @@
+package com.java.payment.api.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.common.PaymentWindowRow;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.repository.PaymentJdbcRepository;
+import com.java.payment.api.repository.PaymentRepository;
+
+/**
+ * JPA Payment Store - Payments in PAYMENT_TB (default store)
+ * 
+ * Delegates to PaymentRepository for writes and indexed lookups and to
+ * PaymentJdbcRepository for cursor-based streaming.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public class JpaPaymentStore implements PaymentStore {
+
+	private final PaymentRepository repository;
+
+	private final PaymentJdbcRepository jdbcRepository;
+
+	public JpaPaymentStore(PaymentRepository repository, PaymentJdbcRepository jdbcRepository) {
+		this.repository = repository;
+		this.jdbcRepository = jdbcRepository;
+	}
+
+	@Override
+	public Payment save(Payment payment) {
+		return repository.save(payment);
+	}
+
+	/**
+	 * All payments in one transaction - Hibernate sends the INSERTs as JDBC batches
+	 */
+	@Override
+	@Transactional
+	public List<Payment> saveAll(List<Payment> payments) {
+		return repository.saveAll(payments);
+	}
+
+	@Override
+	public Optional<Payment> findById(long paymentId) {
+		return repository.findById(paymentId);
+	}
+
+	@Override
+	public List<Payment> findAll() {
+		return repository.findAll();
+	}
+
+	@Override
+	public List<Payment> findAfter(long after, int limit) {
+		return repository.findByPaymentIdGreaterThanOrderByPaymentIdAsc(after, Limit.of(limit));
+	}
+
+	/**
+	 * Runs in a read-only transaction so the JDBC cursor stays open for the whole stream
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void forEach(Consumer<Payment> action) {
+		jdbcRepository.forEachPayment(action);
+	}
+
+	@Override
+	public List<PaymentView> findByOrderId(String orderId) {
+		return repository.findByOrderIdOrderByPaymentIdAsc(orderId);
+	}
+
+	@Override
+	public Optional<PaymentView> findByTransactionId(String transactionId) {
+		return repository.findByTransactionId(transactionId);
+	}
+
+	@Override
+	public List<PaymentAggregateRow> aggregateByStatusAndMode() {
+		return repository.aggregateByStatusAndMode();
+	}
+
+	@Override
+	public List<PaymentWindowRow> findWindowRowsSince(LocalDateTime since) {
+		return repository.findWindowRowsSince(since);
+	}
+}
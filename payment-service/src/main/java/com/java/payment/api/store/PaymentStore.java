@@ -0,0 +1,74 @@
+package com.java.payment.api.store;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.common.PaymentWindowRow;
+import com.java.payment.api.entity.Payment;
+
+/**
+ * Payment Store - Storage backend behind PaymentService
+ * 
+ * Implementations (selected by payment.store.type):
+ * - JpaPaymentStore: PAYMENT_TB through Hibernate (default)
+ * - JournalPaymentStore: memory-mapped append-only journal with in-memory indexes
+ * 
+ * Saves assign the payment ID (when missing) and createdAt, like the JPA
+ * entity lifecycle does.
+ * 
+ * @author Learning Project
+ * @version 1.0
+ */
+public interface PaymentStore {
+
+	/**
+	 * Store one payment
+	 * 
+	 * @param payment Payment to store
+	 * @return Stored payment with its ID
+	 */
+	Payment save(Payment payment);
+
+	/**
+	 * Store several payments in one write (one transaction or one journal append)
+	 * 
+	 * @param payments Payments to store
+	 * @return Stored payments in the same order
+	 */
+	List<Payment> saveAll(List<Payment> payments);
+
+	Optional<Payment> findById(long paymentId);
+
+	List<Payment> findAll();
+
+	/**
+	 * Keyset page: up to limit payments with an ID greater than after, in ID order
+	 */
+	List<Payment> findAfter(long after, int limit);
+
+	/**
+	 * Pass every payment to the action, in ID order, without loading them all at once
+	 */
+	void forEach(Consumer<Payment> action);
+
+	/**
+	 * Payments of an order, oldest first
+	 */
+	List<PaymentView> findByOrderId(String orderId);
+
+	Optional<PaymentView> findByTransactionId(String transactionId);
+
+	/**
+	 * Count and amount per (status, mode) - seeds PaymentStatistics at startup
+	 */
+	List<PaymentAggregateRow> aggregateByStatusAndMode();
+
+	/**
+	 * Payments created since the given time - seeds the per-minute statistics windows
+	 */
+	List<PaymentWindowRow> findWindowRowsSince(LocalDateTime since);
+}
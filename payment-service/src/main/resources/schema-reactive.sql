@@ -0,0 +1,15 @@
+-- PAYMENT_TB for the reactive profile (R2DBC has no Hibernate DDL).
+-- Same columns and indexes as the JPA entity com.java.payment.api.entity.Payment.
+CREATE TABLE IF NOT EXISTS PAYMENT_TB (
+	payment_id BIGINT PRIMARY KEY,
+	payment_status VARCHAR(255) NOT NULL,
+	order_id VARCHAR(255) NOT NULL,
+	amount DOUBLE PRECISION NOT NULL,
+	transaction_id VARCHAR(255),
+	payment_mode VARCHAR(255),
+	created_at TIMESTAMP(6),
+	updated_at TIMESTAMP(6)
+);
+CREATE INDEX IF NOT EXISTS IDX_PAYMENT_ORDER_ID ON PAYMENT_TB (order_id);
+CREATE INDEX IF NOT EXISTS IDX_PAYMENT_CREATED_AT ON PAYMENT_TB (created_at);
+CREATE UNIQUE INDEX IF NOT EXISTS UX_PAYMENT_TRANSACTION_ID ON PAYMENT_TB (transaction_id);
@@ -0,0 +1,39 @@
+package com.java.payment.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.java.payment.api.PaymentServiceApplication;
+
+/**
+ * Starts payment-service for benchmarks without Config Server, Eureka, Zipkin
+ * or a web server; H2 and the application defaults are used.
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start(String... extraArgs) {
+		List<String> args = new ArrayList<>(List.of(
+				// application.yml only: skips the configserver: import in application.properties
+				"--spring.config.location=classpath:/application.yml",
+				"--spring.cloud.config.enabled=false",
+				"--spring.cloud.config.import-check.enabled=false",
+				"--spring.cloud.compatibility-verifier.enabled=false",
+				"--eureka.client.enabled=false",
+				"--spring.cloud.discovery.enabled=false",
+				"--management.tracing.enabled=false",
+				"--logging.level.root=WARN",
+				"--logging.level.com.java.payment.api=WARN"));
+		args.addAll(List.of(extraArgs));
+		return new SpringApplicationBuilder(PaymentServiceApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run(args.toArray(String[]::new));
+	}
+}
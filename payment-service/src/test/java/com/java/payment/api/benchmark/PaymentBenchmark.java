@@ -0,0 +1,74 @@
+package com.java.payment.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.service.PaymentService;
+
+/**
+ * PaymentService.doPayment against the in-memory H2 database, with one
+ * commit per payment and with group commit (payment.group-commit.enabled)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean groupCommit;
+
+	private ConfigurableApplicationContext context;
+
+	private PaymentService paymentService;
+
+	private final AtomicInteger orderId = new AtomicInteger();
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkApplication.start("--payment.group-commit.enabled=" + groupCommit);
+		paymentService = context.getBean(PaymentService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Payment doPayment() {
+		return paymentService.doPayment(newPayment());
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Payment doPaymentConcurrent() {
+		return paymentService.doPayment(newPayment());
+	}
+
+	private Payment newPayment() {
+		Payment payment = new Payment();
+		payment.setOrderId(String.valueOf(orderId.incrementAndGet()));
+		payment.setAmount(15000.0);
+		payment.setPaymentMode("UPI");
+		return payment;
+	}
+}
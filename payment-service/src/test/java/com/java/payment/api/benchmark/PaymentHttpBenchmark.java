@@ -0,0 +1,109 @@
+package com.java.payment.api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.java.payment.api.PaymentServiceApplication;
+
+/**
+ * POST /payment/doPayment over HTTP with 400 concurrent clients, comparing the
+ * Tomcat/Hibernate stack (with platform and with virtual threads) against
+ * the reactive profile (Netty/R2DBC). The gateway simulator answers after a
+ * fixed 100 ms, so the service is I/O-bound like it is against a real provider.
+ * 
+ * Each JMH thread is one client that sends its next payment as soon as the
+ * previous one is answered; the score is payments per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+public class PaymentHttpBenchmark {
+
+	@Param({ "servlet", "servlet-virtual", "reactive" })
+	public String stack;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient client;
+
+	private URI doPayment;
+
+	private final AtomicLong orderId = new AtomicLong();
+
+	@Setup
+	public void setUp() {
+		List<String> args = new ArrayList<>(List.of(
+				"--spring.config.location=classpath:/application.yml",
+				"--spring.cloud.config.enabled=false",
+				"--spring.cloud.config.import-check.enabled=false",
+				"--spring.cloud.compatibility-verifier.enabled=false",
+				"--eureka.client.enabled=false",
+				"--spring.cloud.discovery.enabled=false",
+				"--management.tracing.enabled=false",
+				"--logging.level.root=WARN",
+				"--logging.level.com.java.payment.api=WARN",
+				"--server.port=0",
+				// Measures raw stack throughput: 503 load shedding would fail the 400 clients
+				"--payment.concurrency-limit.enabled=false",
+				"--payment.simulator.profile=io",
+				"--payment.simulator.profiles.io.latency.mean=100ms"));
+		if (stack.equals("reactive")) {
+			args.add("--spring.profiles.active=reactive");
+		}
+		if (stack.equals("servlet-virtual")) {
+			args.add("--spring.threads.virtual.enabled=true");
+		}
+		context = new SpringApplicationBuilder(PaymentServiceApplication.class)
+				.logStartupInfo(false)
+				.run(args.toArray(String[]::new));
+		int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+		doPayment = URI.create("http://localhost:" + port + "/payment/doPayment");
+		client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		client.close();
+		context.close();
+	}
+
+	@Benchmark
+	public int doPayment() throws Exception {
+		String body = "{\"orderId\":\"" + orderId.incrementAndGet() + "\",\"amount\":15000.0,\"paymentMode\":\"UPI\"}";
+		HttpRequest request = HttpRequest.newBuilder(doPayment)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("doPayment returned " + response.statusCode());
+		}
+		return response.body().length();
+	}
+}
@@ -0,0 +1,114 @@
+package com.java.payment.api.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.store.PaymentStore;
+
+/**
+ * Write throughput of the payment stores (payment.store.type): JPA on the
+ * in-memory H2 database against the memory-mapped journal, without and
+ * with a flush to disk per write (payment.store.journal.force)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentStoreBenchmark {
+
+	// Payments per saveAll, matches hibernate.jdbc.batch_size and the group commit batch
+	private static final int BATCH_SIZE = 50;
+
+	@Param({ "jpa", "journal", "journal-force" })
+	public String store;
+
+	private ConfigurableApplicationContext context;
+
+	private PaymentStore paymentStore;
+
+	private IdGenerator idGenerator;
+
+	private Path journalDirectory;
+
+	private final AtomicLong orderId = new AtomicLong();
+
+	@Setup
+	public void setUp() throws IOException {
+		journalDirectory = Files.createTempDirectory("payment-journal");
+		context = BenchmarkApplication.start(
+				"--payment.store.type=" + (store.startsWith("journal") ? "journal" : store),
+				"--payment.store.journal.directory=" + journalDirectory,
+				"--payment.store.journal.force=" + store.equals("journal-force"));
+		paymentStore = context.getBean(PaymentStore.class);
+		idGenerator = context.getBean(IdGenerator.class);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		context.close();
+		try (Stream<Path> files = Files.walk(journalDirectory)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Benchmark
+	public Payment save() {
+		return paymentStore.save(newPayment());
+	}
+
+	@Benchmark
+	@Threads(16)
+	public Payment saveConcurrent() {
+		return paymentStore.save(newPayment());
+	}
+
+	/**
+	 * One batch of BATCH_SIZE payments per operation (as written by doPayments and group commit)
+	 */
+	@Benchmark
+	public List<Payment> saveBatch() {
+		List<Payment> payments = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			payments.add(newPayment());
+		}
+		return paymentStore.saveAll(payments);
+	}
+
+	private Payment newPayment() {
+		Payment payment = new Payment();
+		payment.setOrderId(String.valueOf(orderId.incrementAndGet()));
+		payment.setAmount(15000.0);
+		payment.setPaymentMode("UPI");
+		payment.setPaymentStatus("SUCCESS");
+		payment.setTransactionId(idGenerator.nextIdString());
+		return payment;
+	}
+}
@@ -0,0 +1,60 @@
+package com.java.payment.api.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.id.SnowflakeIdGenerator;
+
+/**
+ * Transaction ID generation: the previous UUID.randomUUID() path against
+ * the Snowflake IdGenerator, single threaded and with 8 concurrent callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionIdBenchmark {
+
+	private final IdGenerator snowflake = new SnowflakeIdGenerator(1);
+
+	@Benchmark
+	public String randomUuid() {
+		return UUID.randomUUID().toString();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String randomUuidContended() {
+		return UUID.randomUUID().toString();
+	}
+
+	@Benchmark
+	public String snowflake() {
+		return snowflake.nextIdString();
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String snowflakeContended() {
+		return snowflake.nextIdString();
+	}
+
+	@Benchmark
+	public long snowflakeLong() {
+		return snowflake.nextId();
+	}
+}
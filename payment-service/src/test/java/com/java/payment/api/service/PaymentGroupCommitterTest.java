@@ -0,0 +1,229 @@
+package com.java.payment.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.java.payment.api.common.PaymentAggregateRow;
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.common.PaymentWindowRow;
+import com.java.payment.api.config.GroupCommitProperties;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.store.PaymentStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Drives the group committer against an in-memory store that records every
+ * write, so the tests can see how payments were batched.
+ */
+class PaymentGroupCommitterTest {
+
+	private final RecordingStore store = new RecordingStore();
+
+	private final GroupCommitProperties properties = new GroupCommitProperties();
+
+	private PaymentGroupCommitter committer;
+
+	@AfterEach
+	void stop() {
+		store.release.countDown();
+		if (committer != null) {
+			committer.stop();
+		}
+	}
+
+	@Test
+	void concurrentSavesShareOneCommit() {
+		properties.setMaxBatchSize(5);
+		properties.setLinger(Duration.ofSeconds(5));
+		start();
+
+		List<CompletableFuture<Payment>> callers = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			String orderId = String.valueOf(i);
+			callers.add(CompletableFuture.supplyAsync(() -> committer.save(payment(orderId))));
+		}
+		for (CompletableFuture<Payment> caller : callers) {
+			assertNotNull(caller.join().getPaymentId());
+		}
+
+		assertEquals(List.of(5), store.batches);
+		assertEquals(0, store.singles.size());
+	}
+
+	@Test
+	void failedBatchIsRetriedOneByOneSoOnlyTheBadPaymentFails() {
+		properties.setMaxBatchSize(3);
+		properties.setLinger(Duration.ofSeconds(5));
+		start();
+
+		CompletableFuture<Payment> good1 = CompletableFuture.supplyAsync(() -> committer.save(payment("1")));
+		CompletableFuture<Payment> bad = CompletableFuture.supplyAsync(() -> committer.save(payment(null)));
+		CompletableFuture<Payment> good2 = CompletableFuture.supplyAsync(() -> committer.save(payment("2")));
+
+		assertNotNull(good1.join().getPaymentId());
+		assertNotNull(good2.join().getPaymentId());
+		Throwable error = assertThrows(Exception.class, bad::join).getCause();
+		assertTrue(error instanceof DataIntegrityViolationException, String.valueOf(error));
+		assertEquals(2, store.singles.size());
+	}
+
+	@Test
+	void saveAfterStopIsWrittenDirectly() {
+		start();
+		committer.stop();
+
+		Payment saved = committer.save(payment("1"));
+
+		assertNotNull(saved.getPaymentId());
+		assertEquals(1, store.singles.size());
+		assertTrue(store.batches.isEmpty());
+	}
+
+	@Test
+	void queuedPaymentIsWithdrawnButTakenPaymentIsWaitedFor() throws Exception {
+		properties.setMaxBatchSize(1);
+		properties.setCommitTimeout(Duration.ofMillis(100));
+		store.blockBatches = true;
+		start();
+
+		// The writer takes the first payment and hangs in saveAll
+		CompletableFuture<Payment> stuck = CompletableFuture.supplyAsync(() -> committer.save(payment("1")));
+		assertTrue(store.batchStarted.await(5, TimeUnit.SECONDS));
+
+		// The second one is still queued when its caller gives up
+		assertThrows(QueryTimeoutException.class, () -> committer.save(payment("2")));
+
+		// The first one was taken by the writer, so its caller waits for the commit instead of failing
+		Thread.sleep(100);
+		assertFalse(stuck.isDone());
+		store.release.countDown();
+		assertNotNull(stuck.get(5, TimeUnit.SECONDS).getPaymentId());
+
+		committer.stop();
+		assertEquals(List.of(1), store.batches);
+		assertTrue(store.singles.isEmpty());
+	}
+
+	private void start() {
+		properties.setEnabled(true);
+		committer = new PaymentGroupCommitter(store, properties, new SimpleMeterRegistry());
+		committer.start();
+	}
+
+	private static Payment payment(String orderId) {
+		Payment payment = new Payment();
+		payment.setOrderId(orderId);
+		payment.setAmount(10.0);
+		payment.setPaymentStatus("SUCCESS");
+		return payment;
+	}
+
+	/**
+	 * Assigns IDs and records batch sizes; rejects payments without an order ID
+	 */
+	private static final class RecordingStore implements PaymentStore {
+
+		private final AtomicLong ids = new AtomicLong();
+
+		private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+		private final List<Payment> singles = new CopyOnWriteArrayList<>();
+
+		private final CountDownLatch batchStarted = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private volatile boolean blockBatches;
+
+		@Override
+		public Payment save(Payment payment) {
+			check(payment);
+			payment.setPaymentId(ids.incrementAndGet());
+			singles.add(payment);
+			return payment;
+		}
+
+		@Override
+		public List<Payment> saveAll(List<Payment> payments) {
+			batchStarted.countDown();
+			if (blockBatches) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			payments.forEach(RecordingStore::check);
+			payments.forEach(payment -> payment.setPaymentId(ids.incrementAndGet()));
+			batches.add(payments.size());
+			return payments;
+		}
+
+		private static void check(Payment payment) {
+			if (payment.getOrderId() == null) {
+				throw new DataIntegrityViolationException("Payment order ID is required");
+			}
+		}
+
+		@Override
+		public Optional<Payment> findById(long paymentId) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Payment> findAll() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Payment> findAfter(long after, int limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void forEach(Consumer<Payment> action) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<PaymentView> findByOrderId(String orderId) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<PaymentView> findByTransactionId(String transactionId) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<PaymentAggregateRow> aggregateByStatusAndMode() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<PaymentWindowRow> findWindowRowsSince(LocalDateTime since) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
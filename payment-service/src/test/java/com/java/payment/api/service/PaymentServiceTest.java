@@ -0,0 +1,188 @@
+package com.java.payment.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.java.payment.api.common.PaymentView;
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.IdGenerator;
+import com.java.payment.api.simulator.PaymentGateway;
+import com.java.payment.api.simulator.PaymentGatewayTimeoutException;
+import com.java.payment.api.store.PaymentStore;
+
+/**
+ * Sends repeated payments for the same orders through PaymentService, backed
+ * by an in-memory store, and counts how often the gateway is charged.
+ */
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+	@Mock
+	private PaymentStore store;
+
+	@Mock
+	private PaymentGateway paymentGateway;
+
+	@Mock
+	private IdGenerator idGenerator;
+
+	@Mock
+	private PaymentGroupCommitter groupCommitter;
+
+	@Mock
+	private PaymentStatistics statistics;
+
+	@InjectMocks
+	private PaymentService service;
+
+	// In-memory store: payment ID -> payment
+	private final Map<Long, Payment> payments = new ConcurrentHashMap<>();
+
+	private final AtomicLong ids = new AtomicLong(100);
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(idGenerator.nextIdString()).thenAnswer(invocation -> "TX" + ids.incrementAndGet());
+		lenient().when(paymentGateway.authorize(any(Payment.class))).thenReturn("SUCCESS");
+		lenient().when(store.save(any(Payment.class))).thenAnswer(invocation -> store(invocation.getArgument(0)));
+		lenient().when(store.saveAll(any())).thenAnswer(invocation -> {
+			List<Payment> batch = invocation.getArgument(0);
+			batch.forEach(this::store);
+			return batch;
+		});
+		lenient().when(store.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(
+				payments.get(invocation.<Long>getArgument(0))));
+		lenient().when(store.findByOrderId(anyString())).thenAnswer(invocation -> payments.values().stream()
+				.filter(payment -> payment.getOrderId().equals(invocation.getArgument(0)))
+				.map(payment -> new PaymentView(payment.getPaymentId(), payment.getOrderId(), payment.getAmount(),
+						payment.getPaymentStatus(), payment.getTransactionId(), payment.getPaymentMode(), null))
+				.toList());
+	}
+
+	@Test
+	void repeatedPaymentGetsTheExistingPayment() {
+		Payment first = service.doPayment(payment("1"));
+		Payment repeat = service.doPayment(payment("1"));
+
+		assertEquals(first.getPaymentId(), repeat.getPaymentId());
+		assertEquals(first.getTransactionId(), repeat.getTransactionId());
+		verify(paymentGateway, times(1)).authorize(any(Payment.class));
+		assertEquals(1, payments.size());
+	}
+
+	@Test
+	void otherOrdersAreChargedSeparately() {
+		Payment first = service.doPayment(payment("1"));
+		Payment second = service.doPayment(payment("2"));
+
+		assertNotEquals(first.getPaymentId(), second.getPaymentId());
+		verify(paymentGateway, times(2)).authorize(any(Payment.class));
+	}
+
+	@Test
+	void repeatWhileThePaymentIsRunningWaitsForIt() throws Exception {
+		CountDownLatch authorizing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(paymentGateway.authorize(any(Payment.class))).thenAnswer(invocation -> {
+			authorizing.countDown();
+			release.await();
+			return "SUCCESS";
+		});
+
+		// e.g. order-service's time limiter gave up on the first call and resent the payment
+		CompletableFuture<Payment> first = CompletableFuture.supplyAsync(() -> service.doPayment(payment("1")));
+		assertTrue(authorizing.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Payment> repeat = CompletableFuture.supplyAsync(() -> service.doPayment(payment("1")));
+		Thread.sleep(100);
+		assertFalse(repeat.isDone());
+		release.countDown();
+
+		assertEquals(first.get(5, TimeUnit.SECONDS).getPaymentId(), repeat.get(5, TimeUnit.SECONDS).getPaymentId());
+		verify(paymentGateway, times(1)).authorize(any(Payment.class));
+	}
+
+	@Test
+	void gatewayTimeoutLeavesTheOrderUnpaidSoItCanBeRetried() {
+		when(paymentGateway.authorize(any(Payment.class)))
+				.thenThrow(new PaymentGatewayTimeoutException("no answer"))
+				.thenReturn("SUCCESS");
+
+		assertThrows(PaymentGatewayTimeoutException.class, () -> service.doPayment(payment("1")));
+		Payment retried = service.doPayment(payment("1"));
+
+		assertEquals("SUCCESS", retried.getPaymentStatus());
+		assertEquals(1, payments.size());
+	}
+
+	@Test
+	void resentBatchGetsTheExistingPayments() {
+		List<Payment> first = service.doPayments(List.of(payment("1"), payment("2")));
+		List<Payment> resent = service.doPayments(List.of(payment("1"), payment("2"), payment("3")));
+
+		assertEquals(first.get(0).getPaymentId(), resent.get(0).getPaymentId());
+		assertEquals(first.get(1).getPaymentId(), resent.get(1).getPaymentId());
+		assertEquals("SUCCESS", resent.get(2).getPaymentStatus());
+		verify(paymentGateway, times(3)).authorize(any(Payment.class));
+		assertEquals(3, payments.size());
+	}
+
+	@Test
+	void singlePaymentFollowedByBatchIsChargedOnce() {
+		Payment single = service.doPayment(payment("1"));
+
+		List<Payment> batch = service.doPayments(new ArrayList<>(List.of(payment("1"))));
+
+		assertEquals(single.getPaymentId(), batch.get(0).getPaymentId());
+		verify(paymentGateway, times(1)).authorize(any(Payment.class));
+	}
+
+	@Test
+	void orderRepeatedInOneBatchIsChargedOnce() {
+		List<Payment> results = service.doPayments(List.of(payment("1"), payment("1")));
+
+		assertEquals(results.get(0).getPaymentId(), results.get(1).getPaymentId());
+		verify(paymentGateway, times(1)).authorize(any(Payment.class));
+		assertEquals(1, payments.size());
+	}
+
+	private Payment store(Payment payment) {
+		payment.setPaymentId(ids.incrementAndGet());
+		payments.put(payment.getPaymentId(), payment);
+		return payment;
+	}
+
+	private static Payment payment(String orderId) {
+		Payment payment = new Payment();
+		payment.setOrderId(orderId);
+		payment.setAmount(10.0);
+		payment.setPaymentMode("CARD");
+		return payment;
+	}
+}
@@ -0,0 +1,151 @@
+package com.java.payment.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.java.payment.api.entity.Payment;
+import com.java.payment.api.id.SnowflakeIdGenerator;
+
+/**
+ * Writes payments to a journal in a temporary directory, reopens it and
+ * checks what the replay recovers.
+ */
+class JournalPaymentStoreTest {
+
+	private static final int SEGMENT_SIZE = 64 * 1024;
+
+	@TempDir
+	Path directory;
+
+	private final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1);
+
+	private JournalPaymentStore store;
+
+	@BeforeEach
+	void open() {
+		store = openStore();
+	}
+
+	@AfterEach
+	void close() {
+		store.close();
+	}
+
+	@Test
+	void singlePaymentsWithIdZeroGetTheirOwnIdsAndSurviveReplay() {
+		// order-service sends "paymentId": 0 for every single booking
+		Payment first = store.save(payment(0L, "1", "TX-1"));
+		Payment second = store.save(payment(0L, "2", "TX-2"));
+		assertNotEquals(0L, first.getPaymentId());
+		assertNotEquals(first.getPaymentId(), second.getPaymentId());
+
+		reopen();
+
+		assertEquals(2, store.findAll().size());
+		assertEquals("1", store.findById(first.getPaymentId()).orElseThrow().getOrderId());
+		assertEquals("2", store.findById(second.getPaymentId()).orElseThrow().getOrderId());
+		assertEquals(1, store.findByOrderId("1").size());
+		assertEquals(1, store.findByOrderId("2").size());
+		assertEquals(second.getPaymentId(), store.findByTransactionId("TX-2").orElseThrow().paymentId());
+	}
+
+	@Test
+	void lastVersionOfAPaymentWinsAfterReplay() {
+		Payment payment = store.save(payment(null, "1", "TX-1"));
+		payment.setPaymentStatus("FAILED");
+		store.save(payment);
+
+		reopen();
+
+		assertEquals(1, store.findAll().size());
+		assertEquals("FAILED", store.findById(payment.getPaymentId()).orElseThrow().getPaymentStatus());
+	}
+
+	@Test
+	void duplicateTransactionIdRejectsTheWholeBatch() {
+		store.save(payment(null, "1", "TX-1"));
+
+		assertThrows(DuplicateKeyException.class,
+				() -> store.saveAll(List.of(payment(null, "2", "TX-2"), payment(null, "3", "TX-1"))));
+		assertEquals(1, store.findAll().size());
+	}
+
+	@Test
+	void paymentsRollOverIntoNewSegments() {
+		for (int i = 0; i < 2000; i++) {
+			store.save(payment(null, String.valueOf(i), "TX-" + i));
+		}
+
+		reopen();
+
+		assertEquals(2000, store.findAll().size());
+		assertTrue(directory.resolve("payments-0000000001.journal").toFile().exists());
+	}
+
+	@Test
+	void tornRecordFailsItsCrcAndIsDiscarded() throws IOException {
+		Payment first = store.save(payment(null, "1", "TX-1"));
+		store.save(payment(null, "2", "TX-2"));
+		store.close();
+
+		// Flip one payload byte of the second record, as a crash mid-write would leave it
+		Path segment = directory.resolve("payments-0000000000.journal");
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+			channel.read(length, JournalSegment.HEADER_SIZE);
+			long second = JournalSegment.HEADER_SIZE + JournalSegment.RECORD_OVERHEAD + length.flip().getInt();
+			ByteBuffer value = ByteBuffer.allocate(1);
+			channel.read(value, second + JournalSegment.RECORD_OVERHEAD + 10);
+			channel.write(ByteBuffer.wrap(new byte[] { (byte) (value.get(0) ^ 0xFF) }),
+					second + JournalSegment.RECORD_OVERHEAD + 10);
+		}
+		store = openStore();
+
+		assertEquals(List.of(first.getPaymentId()),
+				store.findAll().stream().map(Payment::getPaymentId).toList());
+		assertTrue(store.findByTransactionId("TX-2").isEmpty());
+
+		// Appends continue after the last intact record and survive the next replay
+		Payment third = store.save(payment(null, "3", "TX-3"));
+		reopen();
+		assertEquals(2, store.findAll().size());
+		assertEquals("3", store.findById(third.getPaymentId()).orElseThrow().getOrderId());
+	}
+
+	private void reopen() {
+		store.close();
+		store = openStore();
+	}
+
+	private JournalPaymentStore openStore() {
+		JournalPaymentStore journal = new JournalPaymentStore(directory, SEGMENT_SIZE, false, idGenerator);
+		journal.open();
+		return journal;
+	}
+
+	private static Payment payment(Long paymentId, String orderId, String transactionId) {
+		Payment payment = new Payment();
+		payment.setPaymentId(paymentId);
+		payment.setOrderId(orderId);
+		payment.setAmount(100.0);
+		payment.setPaymentStatus("SUCCESS");
+		payment.setTransactionId(transactionId);
+		payment.setPaymentMode("CARD");
+		return payment;
+	}
+}
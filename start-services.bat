@@ -16,13 +16,13 @@ timeout /t 20
 echo.
 echo 3. Starting Order Service...
 cd ..\order-service
-start "Order Service" cmd /k "mvn spring-boot:run"
+start "Order Service" cmd /k "set ORDER_ID_NODE_ID=1&& mvn spring-boot:run"
 timeout /t 15
 
 echo.
 echo 4. Starting Payment Service...
 cd ..\payment-service
-start "Payment Service" cmd /k "mvn spring-boot:run"
+start "Payment Service" cmd /k "set PAYMENT_ID_NODE_ID=1&& mvn spring-boot:run"
 timeout /t 15
 
 echo.
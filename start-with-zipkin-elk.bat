@@ -59,7 +59,7 @@ echo ========================================
 echo Starting Order Service (Port 8081)
 echo ========================================
 echo Order Service handles order management and payment integration
-start "Order Service" cmd /k "cd order-service && mvn spring-boot:run"
+start "Order Service" cmd /k "cd order-service && set ORDER_ID_NODE_ID=1&& mvn spring-boot:run"
 echo Waiting 15 seconds for Order Service to start...
 timeout /t 15
 
@@ -68,7 +68,7 @@ echo ========================================
 echo Starting Payment Service (Port 8082)
 echo ========================================
 echo Payment Service processes payments for orders
-start "Payment Service" cmd /k "cd payment-service && mvn spring-boot:run"
+start "Payment Service" cmd /k "cd payment-service && set PAYMENT_ID_NODE_ID=1&& mvn spring-boot:run"
 echo Waiting 15 seconds for Payment Service to start...
 timeout /t 15
 